@@ -0,0 +1,88 @@
+/**
+ * GraphSwarm: GenerationBenchmark.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 4:40:12 PM
+ */
+package edu.marist.csmath.isag.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.marist.csmath.isag.swarm.SwarmEngine;
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * Cost of one full {@link SwarmEngine} generation, evaluate and update, over
+ * every swarm of a graph. Compare worker counts to see how well the engine
+ * scales, and the two modes to see the price of determinism.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark
+{
+	@Param({ "EQUIDISTANT", "ADJACENT" })
+	public String	      objective;
+
+	@Param({ "100", "1000" })
+	public int	        nodes;
+
+	@Param({ "4", "16" })
+	public int	        degree;
+
+	@Param({ "10", "50" })
+	public int	        swarmSize;
+
+	@Param({ "1", "4" })
+	public int	        workers;
+
+	@Param({ "false", "true" })
+	public boolean	    deterministic;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		LayoutFixture fixture = new LayoutFixture(this.nodes, this.degree,
+		    this.swarmSize, LayoutFixture.objective(this.objective),
+		    ObjectiveBenchmark.SEED);
+		this.engine = new SwarmEngine(this.workers);
+		for (Swarmable swarm : fixture.swarms)
+			this.engine.add(swarm);
+		this.engine.setDeterministic(this.deterministic);
+		this.engine.addGenerationListener(fixture.snapshot);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.engine.shutdown();
+	}
+
+	@Benchmark
+	public long step()
+	{
+		this.engine.step();
+		return this.engine.getGeneration();
+	}
+
+	private SwarmEngine	engine;
+}
@@ -0,0 +1,158 @@
+/**
+ * GraphSwarm: LayoutFixture.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 4:22:05 PM
+ */
+package edu.marist.csmath.isag.bench;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.strategy.GraphLayoutProblem;
+import edu.marist.csmath.isag.strategy.LeaderSnapshot;
+import edu.marist.csmath.isag.strategy.PlanarGraphLayoutProblem;
+import edu.marist.csmath.isag.strategy.ProblemSpace;
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * A reproducible random graph with one swarm per node, laid out in the default
+ * view and ready to be driven. Every benchmark builds its state from one of
+ * these so that results are comparable across benchmarks.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class LayoutFixture
+{
+	/**
+	 * Build a random graph and its swarms. Each node is joined to degree/2
+	 * others chosen at random, so the average degree is roughly as specified.
+	 *
+	 * @param nodes
+	 *          number of nodes in the graph
+	 * @param degree
+	 *          average number of neighbours per node
+	 * @param swarmSize
+	 *          number of particles in each node's swarm
+	 * @param objType
+	 *          one of the objective types of {@link PlanarGraphLayoutProblem}
+	 * @param seed
+	 *          seed for the graph and every particle
+	 */
+	public LayoutFixture(int nodes, int degree, int swarmSize, int objType,
+	    long seed)
+	{
+		this(nodes, degree, swarmSize, objType, seed, false);
+	}
+
+	/**
+	 * Build a random graph and its swarms, solving either a
+	 * {@link PlanarGraphLayoutProblem} per node, with its own set of adjacent
+	 * swarms, or a {@link GraphLayoutProblem} sharing the compact graph. The
+	 * graph and the particles are the same either way.
+	 *
+	 * @param nodes
+	 * @param degree
+	 * @param swarmSize
+	 * @param objType
+	 * @param seed
+	 * @param csr
+	 *          true to solve {@link GraphLayoutProblem}s
+	 */
+	public LayoutFixture(int nodes, int degree, int swarmSize, int objType,
+	    long seed, boolean csr)
+	{
+		SplittableRandom random = new SplittableRandom(seed);
+
+		this.swarms = new Swarmable[nodes];
+		for (int i = 0; i < nodes; ++i)
+			this.swarms[i] = new Swarmable(swarmSize);
+
+		Graph.Builder builder = new Graph.Builder();
+		for (int i = 0; i < nodes; ++i)
+			builder.addNode(Integer.toString(i));
+		for (int i = 0; i < nodes; ++i)
+			for (int e = 0; e < Math.max(1, degree / 2); ++e)
+				{
+					int j = random.nextInt(nodes - 1);
+					if (j >= i) ++j; // no self loops
+					builder.addEdge(i, j);
+				}
+		this.graph = builder.build();
+		this.snapshot = new LeaderSnapshot(this.graph, this.swarms);
+
+		this.problems = new ProblemSpace[nodes];
+		for (int i = 0; i < nodes; ++i)
+			{
+				if (csr)
+					this.problems[i] = new GraphLayoutProblem(this.graph, this.swarms, i,
+					    objType, this.snapshot);
+				else
+					{
+						Set<Swarmable> adjacent = new HashSet<Swarmable>();
+						for (int e = this.graph.getOffset(i); e < this.graph
+						    .getOffset(i + 1); ++e)
+							adjacent.add(this.swarms[this.graph.getTarget(e)]);
+						this.problems[i] = new PlanarGraphLayoutProblem(adjacent, objType,
+						    this.snapshot);
+					}
+				this.swarms[i].setProblemSpace(this.problems[i]);
+				this.swarms[i].setSeed(random.nextLong());
+			}
+
+		this.particles = new Swarmable[nodes * swarmSize];
+		int k = 0;
+		for (Swarmable swarm : this.swarms)
+			{
+				for (Swarmable p : swarm)
+					{
+						p.randomize(LOWER_BOUNDS, UPPER_BOUNDS);
+						this.particles[k++] = p;
+					}
+				swarm.notifySwarm();
+			}
+		this.snapshot.refresh();
+	}
+
+	/**
+	 * Look up an objective type by name.
+	 *
+	 * @param name
+	 *          e.g. "EQUIDISTANT" or "ADJACENT"
+	 * @return the matching constant of {@link PlanarGraphLayoutProblem}
+	 */
+	public static int objective(String name)
+	{
+		try
+			{
+				return PlanarGraphLayoutProblem.class.getField(name).getInt(null);
+			}
+		catch (ReflectiveOperationException exc)
+			{
+				throw new IllegalArgumentException("no such objective: " + name);
+			}
+	}
+
+	private static final double[]	         LOWER_BOUNDS	= { 0, 0 };
+	private static final double[]	         UPPER_BOUNDS	= { 800, 600 };
+
+	/** The random graph. */
+	public final Graph	                   graph;
+
+	/**
+	 * Best position of every swarm, from which the objectives read their
+	 * neighbours; refreshed once the swarms are placed.
+	 */
+	public final LeaderSnapshot	          snapshot;
+
+	/** One particle from each node's swarm, by node. */
+	public final Swarmable[]	             swarms;
+
+	/** The problem solved by each node's swarm, by node. */
+	public final ProblemSpace[]	           problems;
+
+	/** Every particle of every swarm, swarm by swarm. */
+	public final Swarmable[]	             particles;
+}
@@ -0,0 +1,87 @@
+/**
+ * GraphSwarm: ObjectiveBenchmark.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 4:31:47 PM
+ */
+package edu.marist.csmath.isag.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.marist.csmath.isag.strategy.Objective;
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * Cost of a single fitness evaluation for each of the layout objectives. Each
+ * invocation scores the next particle in turn, so the whole graph is swept
+ * and neighbour lookups miss the cache about as often as in a real run.
+ * EQUICENTER exercises {@code CompositeObjective}. The adjacency parameter
+ * compares neighbours held as a set of swarms per node with neighbours found
+ * in a compact graph shared by all nodes.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectiveBenchmark
+{
+	@Param({ "EQUIDISTANT", "CENTER", "ADJACENT", "EQUICENTER", "EQUIREPULSION",
+	    "EQUICROSSING" })
+	public String	      objective;
+
+	@Param({ "100", "1000" })
+	public int	        nodes;
+
+	@Param({ "4", "16" })
+	public int	        degree;
+
+	@Param({ "10", "50" })
+	public int	        swarmSize;
+
+	@Param({ "set", "csr" })
+	public String	      adjacency;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		LayoutFixture fixture = new LayoutFixture(this.nodes, this.degree,
+		    this.swarmSize, LayoutFixture.objective(this.objective), SEED,
+		    this.adjacency.equals("csr"));
+		this.particles = fixture.particles;
+		this.objectives = new Objective[this.particles.length];
+		for (int k = 0; k < this.particles.length; ++k)
+			this.objectives[k] = fixture.problems[k / this.swarmSize]
+			    .getObjective();
+	}
+
+	@Benchmark
+	public double computeFitness()
+	{
+		int k = this.next;
+		this.next = (k + 1 == this.particles.length ? 0 : k + 1);
+		return this.objectives[k].computeFitness(this.particles[k]);
+	}
+
+	static final long	  SEED	= 20100417L;
+
+	private Swarmable[]	particles;
+	private Objective[]	objectives;
+	private int	        next;
+}
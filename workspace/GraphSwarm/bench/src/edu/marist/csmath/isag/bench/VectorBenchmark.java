@@ -0,0 +1,139 @@
+/**
+ * GraphSwarm: VectorBenchmark.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 5:51:26 AM
+ */
+package edu.marist.csmath.isag.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.marist.csmath.isag.strategy.BatchObjective;
+import edu.marist.csmath.isag.swarm.SwarmEngine;
+import edu.marist.csmath.isag.swarm.Swarmable;
+import edu.marist.csmath.isag.swarm.Vectorization;
+
+/**
+ * The SIMD kernels against their scalar equivalents, see
+ * {@link Vectorization}: scoring a whole swarm with its batch objective, and
+ * a full {@link SwarmEngine} generation on one worker, whose update phase
+ * moves each swarm in one sweep over its columns. The fork adds the Vector
+ * API's module, so both settings of the vector parameter run in the same
+ * JVM; the kernels the JVM picks depend on the machine, and AVX2 can be
+ * compared with AVX-512 on one machine by passing
+ * {@code -jvmArgs -XX:UseAVX=2}, which keeps the module added.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class VectorBenchmark
+{
+	@Param({ "EQUIDISTANT", "ADJACENT", "CENTER" })
+	public String	         objective;
+
+	@Param({ "4", "16" })
+	public int	           degree;
+
+	@Param({ "16", "64", "256" })
+	public int	           swarmSize;
+
+	@Param({ "false", "true" })
+	public boolean	       vector;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		if (this.vector && !Vectorization.isAvailable())
+		  throw new IllegalStateException("Vector API unavailable");
+		Vectorization.setEnabled(this.vector);
+
+		LayoutFixture fixture = new LayoutFixture(NODES, this.degree,
+		    this.swarmSize, LayoutFixture.objective(this.objective),
+		    ObjectiveBenchmark.SEED, true);
+		this.swarms = fixture.swarms;
+		this.objectives = new BatchObjective[NODES];
+		this.positions = new double[NODES][];
+		for (int i = 0; i < NODES; ++i)
+			{
+				this.objectives[i] = (BatchObjective) fixture.problems[i]
+				    .getObjective();
+				double[] columns = new double[2 * this.swarmSize];
+				int k = 0;
+				for (Swarmable p : fixture.swarms[i])
+					{
+						columns[k] = p.getPosition(0);
+						columns[this.swarmSize + k++] = p.getPosition(1);
+					}
+				this.positions[i] = columns;
+			}
+		this.fitness = new double[this.swarmSize];
+
+		this.engine = new SwarmEngine(1);
+		for (Swarmable swarm : fixture.swarms)
+			this.engine.add(swarm);
+		this.engine.setDeterministic(true);
+		this.engine.addGenerationListener(fixture.snapshot);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		this.engine.shutdown();
+		Vectorization.setEnabled(true);
+	}
+
+	/**
+	 * Score every particle of the next swarm in turn.
+	 */
+	@Benchmark
+	public double[] scoreSwarm()
+	{
+		int i = this.next;
+		this.next = (i + 1 == NODES ? 0 : i + 1);
+		this.objectives[i].computeFitness(this.swarms[i], this.positions[i],
+		    this.swarmSize, this.swarmSize, this.fitness);
+		return this.fitness;
+	}
+
+	/**
+	 * Evaluate and update every swarm of the graph once.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long generation()
+	{
+		this.engine.step();
+		return this.engine.getGeneration();
+	}
+
+	/** Nodes of the graph laid out. */
+	static final int	        NODES	= 200;
+
+	private Swarmable[]	      swarms;
+	private BatchObjective[]	objectives;
+
+	/** Positions of each swarm's particles, in columns. */
+	private double[][]	       positions;
+	private double[]	         fitness;
+	private int	              next;
+	private SwarmEngine	      engine;
+}
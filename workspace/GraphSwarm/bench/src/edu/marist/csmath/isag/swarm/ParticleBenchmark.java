@@ -0,0 +1,79 @@
+/**
+ * GraphSwarm: ParticleBenchmark.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 4:48:30 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.marist.csmath.isag.bench.LayoutFixture;
+import edu.marist.csmath.isag.strategy.PlanarGraphLayoutProblem;
+
+/**
+ * Cost of moving a single particle with {@link Swarmable#update()}, and of
+ * scoring it as the engine does. These live in the swarm package because
+ * neither step is public.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleBenchmark
+{
+	@Param({ "100", "1000" })
+	public int	        nodes;
+
+	@Param({ "10", "50" })
+	public int	        swarmSize;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		this.particles = new LayoutFixture(this.nodes, 4, this.swarmSize,
+		    PlanarGraphLayoutProblem.EQUIDISTANT, 20100417L).particles;
+	}
+
+	@Benchmark
+	public void update()
+	{
+		next().update();
+	}
+
+	@Benchmark
+	public boolean score()
+	{
+		return next().score();
+	}
+
+	/**
+	 * @return the next particle in turn, sweeping the whole graph
+	 */
+	private Swarmable next()
+	{
+		int k = this.next;
+		this.next = (k + 1 == this.particles.length ? 0 : k + 1);
+		return this.particles[k];
+	}
+
+	private Swarmable[]	particles;
+	private int	        next;
+}
@@ -0,0 +1,82 @@
+/**
+ * GraphSwarm: ByteScannerTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:27:19 PM
+ */
+package edu.marist.csmath.isag.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the tokens and line numbers a {@link ByteScanner} reads, including
+ * tokens longer than its initial token array and split across refills of its
+ * buffer.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class ByteScannerTest
+{
+	@Test
+	public void wordsAndLines() throws Exception
+	{
+		ByteScanner s = scanner(" \tabé  cd\r\n\n# rest\nef");
+		assertEquals('a', s.skipBlanks());
+		assertEquals(4, s.word()); // é is two bytes
+		assertEquals("abé", s.text());
+		s.skipBlanks();
+		s.word();
+		assertEquals("cd", s.text());
+		assertEquals('\n', s.skipBlanks()); // line feeds are not blanks
+		assertEquals(1, s.line());
+		assertEquals('\n', s.read());
+		assertEquals('\n', s.read());
+		assertEquals(3, s.line());
+		s.skipLine();
+		assertEquals(4, s.line());
+		s.word();
+		assertEquals("ef", s.text());
+		assertEquals(-1, s.skipBlanks());
+		assertEquals(-1, s.read());
+		assertEquals(0, s.word());
+	}
+
+	/** A token longer than the read buffer, starting just before a refill. */
+	@Test
+	public void longTokenAcrossRefills() throws Exception
+	{
+		StringBuilder text = new StringBuilder();
+		for (int k = 0; k < BUFFER - 3; ++k)
+			text.append(k % 64 == 63 ? '\n' : ' ');
+		StringBuilder token = new StringBuilder();
+		for (int k = 0; k < BUFFER + 100; ++k)
+			token.append((char) ('a' + k % 26));
+		text.append(token).append("\nz");
+		ByteScanner s = scanner(text.toString());
+		int c;
+		while ((c = s.skipBlanks()) == '\n')
+			s.read();
+		assertEquals('a', c);
+		assertEquals(1 + (BUFFER - 3) / 64, s.line());
+		assertEquals(token.length(), s.word());
+		assertEquals(token.toString(), s.text());
+		assertEquals('\n', s.read());
+		s.word();
+		assertEquals("z", s.text());
+	}
+
+	private static ByteScanner scanner(String text)
+	{
+		return new ByteScanner(Channels.newChannel(new ByteArrayInputStream(text
+		    .getBytes(StandardCharsets.UTF_8))));
+	}
+
+	/** Size of the scanner's read buffer. */
+	private static final int	BUFFER	= 1 << 16;
+}
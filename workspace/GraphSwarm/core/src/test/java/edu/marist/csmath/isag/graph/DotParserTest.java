@@ -0,0 +1,110 @@
+/**
+ * GraphSwarm: DotParserTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:15:48 PM
+ */
+package edu.marist.csmath.isag.graph;
+
+import static edu.marist.csmath.isag.graph.GraphLoaderTest.assertAdjacent;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+/**
+ * Parses the DOT fixture beside this class, and some smaller inputs, and
+ * checks the nodes and edges read.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class DotParserTest
+{
+	/**
+	 * Quoted and concatenated ids, edge chains, edges to a subgraph, ports
+	 * and attribute lists, in two graphs of one file.
+	 */
+	@Test
+	public void fixture() throws Exception
+	{
+		Graph g = GraphLoader.load(GraphLoaderTest.fixture("graph.dot"));
+		assertEquals(12, g.getNodeCount());
+		assertEquals(7, g.getEdgeCount());
+		assertAdjacent(g, "quoted id", "b");
+		assertAdjacent(g, "b", "c");
+		assertFalse(g.isAdjacent(g.indexOf("quoted id"), g.indexOf("c")));
+		assertAdjacent(g, "e", "f");
+		assertEquals(0, g.getDegree(g.indexOf("d")));
+		assertAdjacent(g, "c", "g");
+		assertAdjacent(g, "c", "h");
+		assertFalse(g.isAdjacent(g.indexOf("g"), g.indexOf("h")));
+		assertAdjacent(g, "multipart", "b");
+		assertEquals(0, g.getDegree(g.indexOf("i")));
+		assertAdjacent(g, "j", "k");
+		for (String attribute : new String[] { "LR", "box", "x", "sub", "2",
+		    "red", "dashed", "port", "n", "cluster0", "named graph", "second" })
+			assertEquals(-1, g.indexOf(attribute), attribute);
+	}
+
+	/** An edge between two subgraphs joins every node of one to the other. */
+	@Test
+	public void subgraphToSubgraph() throws Exception
+	{
+		Graph g = parse("graph { subgraph s { a b } -- { c; d } -- e }");
+		assertEquals(5, g.getNodeCount());
+		assertEquals(6, g.getEdgeCount());
+		for (String u : new String[] { "a", "b" })
+			for (String v : new String[] { "c", "d" })
+				assertAdjacent(g, u, v);
+		assertAdjacent(g, "c", "e");
+		assertAdjacent(g, "d", "e");
+		assertFalse(g.isAdjacent(g.indexOf("a"), g.indexOf("b")));
+	}
+
+	/** Escapes in quoted ids, HTML strings and keywords used as quoted ids. */
+	@Test
+	public void quoting() throws Exception
+	{
+		Graph g = parse("digraph { \"say \\\"hi\\\"\" -> <<b>x</b>>;"
+		    + " \"graph\" -> -1.5 }");
+		assertAdjacent(g, "say \"hi\"", "<b>x</b>");
+		assertAdjacent(g, "graph", "-1.5");
+	}
+
+	@Test
+	public void errors()
+	{
+		assertError("line 1: expected graph or digraph", "node { a }");
+		assertError("line 2: unexpected end of input", "graph {\n a -- b");
+		assertError("line 1: expected node", "graph { a -- ; }");
+		assertError("line 1: unterminated string", "graph { \"a }");
+	}
+
+	private static void assertError(String message, final String text)
+	{
+		IOException exc = assertThrows(IOException.class, new Executable() {
+			public void execute() throws Throwable
+			{
+				parse(text);
+			}
+		});
+		assertEquals(message, exc.getMessage(), text);
+		assertTrue(exc.getMessage().startsWith("line "));
+	}
+
+	private static Graph parse(String text) throws IOException
+	{
+		Graph.Builder b = new Graph.Builder();
+		new DotParser(Channels.newChannel(new ByteArrayInputStream(text
+		    .getBytes(StandardCharsets.UTF_8))), b).parse();
+		return b.build();
+	}
+}
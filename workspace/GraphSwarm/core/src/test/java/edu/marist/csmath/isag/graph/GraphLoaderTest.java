@@ -0,0 +1,143 @@
+/**
+ * GraphSwarm: GraphLoaderTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:02:37 PM
+ */
+package edu.marist.csmath.isag.graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Loads the fixture files beside this class in each format, plain and
+ * compressed, and checks the nodes and edges read.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class GraphLoaderTest
+{
+	/**
+	 * Comments, blank lines and any columns after the second are skipped, and
+	 * a repeated edge is read once.
+	 */
+	@Test
+	public void edgeList() throws Exception
+	{
+		Graph g = GraphLoader.load(fixture("edges.txt"));
+		checkEdgeList(g);
+	}
+
+	/** Nodes and edges of nested graphs are read into one graph. */
+	@Test
+	public void nestedGraphML() throws Exception
+	{
+		Graph g = GraphLoader.load(fixture("nested.graphml"));
+		assertEquals(5, g.getNodeCount());
+		assertEquals(3, g.getEdgeCount());
+		assertAdjacent(g, "n0", "n1");
+		assertAdjacent(g, "n1::n0", "n1::n1");
+		assertAdjacent(g, "n1::n1", "n2");
+		assertFalse(g.isAdjacent(g.indexOf("n1"), g.indexOf("n1::n0")));
+	}
+
+	/** A .gz file is decompressed, and its format guessed from the rest. */
+	@Test
+	public void gzip(@TempDir Path dir) throws Exception
+	{
+		Path file = dir.resolve("edges.txt.gz");
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file)))
+			{
+				Files.copy(fixture("edges.txt"), out);
+			}
+		assertEquals(GraphLoader.Format.EDGELIST, GraphLoader.Format.of(file
+		    .getFileName().toString()));
+		checkEdgeList(GraphLoader.load(file));
+	}
+
+	@Test
+	public void formatOf()
+	{
+		assertEquals(GraphLoader.Format.DOT, GraphLoader.Format.of("a.gv"));
+		assertEquals(GraphLoader.Format.DOT, GraphLoader.Format.of("A.DOT.GZ"));
+		assertEquals(GraphLoader.Format.GRAPHML, GraphLoader.Format.of("a.xml"));
+		assertEquals(GraphLoader.Format.EDGELIST, GraphLoader.Format.of("a.tsv"));
+	}
+
+	/** A line of an edge list naming one node is an error. */
+	@Test
+	public void oneNodeOnALine()
+	{
+		IOException exc = assertThrows(IOException.class, new Executable() {
+			public void execute() throws Throwable
+			{
+				readEdgeList("a b\n# fine\nlonely\nc d\n");
+			}
+		});
+		assertEquals("line 3: expected two nodes", exc.getMessage());
+		exc = assertThrows(IOException.class, new Executable() {
+			public void execute() throws Throwable
+			{
+				readEdgeList("a b\nlonely   ");
+			}
+		});
+		assertEquals("line 2: expected two nodes", exc.getMessage());
+	}
+
+	private static void checkEdgeList(Graph g)
+	{
+		assertEquals(6, g.getNodeCount());
+		assertEquals(5, g.getEdgeCount());
+		assertAdjacent(g, "a", "b");
+		assertAdjacent(g, "b", "c");
+		assertAdjacent(g, "c", "d");
+		assertAdjacent(g, "d", "a");
+		assertAdjacent(g, "e", "f");
+		assertFalse(g.isAdjacent(g.indexOf("a"), g.indexOf("c")));
+		assertEquals(-1, g.indexOf("1.5"));
+	}
+
+	private static Graph readEdgeList(String text) throws IOException
+	{
+		Graph.Builder b = new Graph.Builder();
+		GraphLoader.readEdgeList(Channels.newChannel(new ByteArrayInputStream(
+		    text.getBytes(StandardCharsets.UTF_8))), b);
+		return b.build();
+	}
+
+	/**
+	 * Assert that two named nodes exist and are adjacent, both ways.
+	 */
+	static void assertAdjacent(Graph g, String from, String to)
+	{
+		int u = g.indexOf(from), v = g.indexOf(to);
+		assertTrue(u >= 0, "no node " + from);
+		assertTrue(v >= 0, "no node " + to);
+		assertTrue(g.isAdjacent(u, v), from + " -- " + to);
+		assertTrue(g.isAdjacent(v, u), to + " -- " + from);
+	}
+
+	/**
+	 * @return the path of a fixture file beside this class
+	 */
+	static Path fixture(String name) throws URISyntaxException
+	{
+		return Path.of(GraphLoaderTest.class.getResource(name).toURI());
+	}
+}
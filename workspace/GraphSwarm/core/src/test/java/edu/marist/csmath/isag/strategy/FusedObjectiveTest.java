@@ -0,0 +1,215 @@
+/**
+ * GraphSwarm: FusedObjectiveTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 8:41:06 PM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * Checks that {@link FusedObjective#compile(int, int, LeaderAggregates)}
+ * scores every combined objective type exactly as the tree of
+ * {@link CompositeObjective}s it replaces, on a fixed random layout, whether
+ * particles are scored one at a time or a swarm at once.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class FusedObjectiveTest
+{
+	@Test
+	public void equicenter()
+	{
+		check(PlanarGraphLayoutProblem.EQUICENTER);
+	}
+
+	@Test
+	public void equiviewcenter()
+	{
+		check(PlanarGraphLayoutProblem.EQUIVIEWCENTER);
+	}
+
+	@Test
+	public void centerviewcenter()
+	{
+		check(PlanarGraphLayoutProblem.CENTERVIEWCENTER);
+	}
+
+	@Test
+	public void equirepulsion()
+	{
+		check(PlanarGraphLayoutProblem.EQUIREPULSION);
+	}
+
+	@Test
+	public void equicrossing()
+	{
+		check(PlanarGraphLayoutProblem.EQUICROSSING);
+	}
+
+	/**
+	 * An additive group of two parts is their arithmetic mean, to the last
+	 * bit.
+	 */
+	@Test
+	public void additiveIsMean()
+	{
+		Layout layout = new Layout();
+		SplittableRandom random = new SplittableRandom(SEED + 1);
+		for (int u = 0; u < NODES; ++u)
+			{
+				if (layout.graph.getDegree(u) == 0) continue;
+				Neighbourhood n = layout.neighboursOf(u);
+				Objective f = new PlanarGraphLayoutProblem.EquidistantObjective(n);
+				Objective g = new PlanarGraphLayoutProblem.CenterObjective(n);
+				Objective fused = FusedObjective.compile(
+				    PlanarGraphLayoutProblem.EQUICENTER, u, layout.aggregatesOf(u));
+				for (int k = 0; k < POINTS; ++k)
+					{
+						Swarmable probe = probe(random);
+						assertEquals((f.computeFitness(probe) + g.computeFitness(probe))
+						    / 2, fused.computeFitness(probe), "node " + u);
+					}
+			}
+	}
+
+	/**
+	 * Score random points for every node with neighbours by the fused and the
+	 * composed form of an objective type, and require the same bits.
+	 *
+	 * @param objType
+	 */
+	private static void check(int objType)
+	{
+		Layout layout = new Layout();
+		SplittableRandom random = new SplittableRandom(SEED + objType);
+		double[] positions = new double[2 * POINTS];
+		double[] batch = new double[POINTS];
+		Swarmable[] probes = new Swarmable[POINTS];
+		for (int u = 0; u < NODES; ++u)
+			{
+				if (layout.graph.getDegree(u) == 0) continue;
+				Objective tree = PlanarGraphLayoutProblem.objectiveOf(objType,
+				    layout.neighboursOf(u), layout.snapshot, u);
+				FusedObjective fused = FusedObjective.compile(objType, u,
+				    layout.aggregatesOf(u));
+				for (int k = 0; k < POINTS; ++k)
+					{
+						probes[k] = probe(random);
+						positions[k] = probes[k].getPosition(0);
+						positions[POINTS + k] = probes[k].getPosition(1);
+					}
+				fused.computeFitness(probes[0], positions, POINTS, POINTS, batch);
+				for (int k = 0; k < POINTS; ++k)
+					{
+						double expected = tree.computeFitness(probes[k]);
+						assertEquals(expected, fused.computeFitness(probes[k]), "node "
+						    + u + ", point " + k);
+						assertEquals(expected, batch[k], "node " + u + ", point " + k
+						    + " of batch");
+					}
+			}
+	}
+
+	/**
+	 * @return a particle of a swarm of its own at a random point of the field
+	 */
+	private static Swarmable probe(SplittableRandom random)
+	{
+		return Leaders.at(FIELD * random.nextDouble(), FIELD
+		    * random.nextDouble());
+	}
+
+	/**
+	 * A random graph, with the leader of every node's swarm at a random point,
+	 * the same on every run.
+	 */
+	private static final class Layout
+	{
+		Layout()
+		{
+			SplittableRandom random = new SplittableRandom(SEED);
+			Graph.Builder b = new Graph.Builder();
+			for (int u = 0; u < NODES; ++u)
+				b.addNode("n" + u);
+			for (int e = 0; e < EDGES; ++e)
+				{
+					int u = random.nextInt(NODES), v = random.nextInt(NODES);
+					if (u != v) b.addEdge(u, v);
+				}
+			this.graph = b.build();
+			double[] xs = new double[NODES], ys = new double[NODES];
+			for (int u = 0; u < NODES; ++u)
+				{
+					xs[u] = FIELD * random.nextDouble();
+					ys[u] = FIELD * random.nextDouble();
+				}
+			this.snapshot = Leaders.at(xs, ys, this.graph);
+		}
+
+		/**
+		 * @return a new cache of the positions of a node's neighbours
+		 */
+		LeaderAggregates aggregatesOf(int u)
+		{
+			return new LeaderAggregates(this.snapshot, targetsOf(u));
+		}
+
+		/**
+		 * @return the neighbours of a node read from the snapshot, but without
+		 *         aggregates, so that the objectives are composed
+		 */
+		Neighbourhood neighboursOf(int u)
+		{
+			final int[] ids = targetsOf(u);
+			return new Neighbourhood() {
+				public LeaderAggregates getAggregates()
+				{
+					return null;
+				}
+
+				public double getX(int j)
+				{
+					return snapshot.getX(ids[j]);
+				}
+
+				public double getY(int j)
+				{
+					return snapshot.getY(ids[j]);
+				}
+
+				public int size()
+				{
+					return ids.length;
+				}
+			};
+		}
+
+		private int[] targetsOf(int u)
+		{
+			int[] ids = new int[this.graph.getDegree(u)];
+			for (int k = 0; k < ids.length; ++k)
+				ids[k] = this.graph.getTarget(this.graph.getOffset(u) + k);
+			return ids;
+		}
+
+		final Graph	         graph;
+		final LeaderSnapshot	snapshot;
+	}
+
+	private static final long	  SEED	 = 23;
+
+	/** Width of the square the layout and the points scored are drawn in. */
+	private static final double	FIELD	= 600;
+
+	/** Nodes and edges tried in the graph, and points scored per node. */
+	private static final int	   NODES	= 60, EDGES = 150, POINTS = 24;
+}
@@ -0,0 +1,258 @@
+/**
+ * GraphSwarm: LeaderEdgeGridTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 9:26:53 PM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import edu.marist.csmath.isag.graph.Graph;
+
+/**
+ * Checks {@link LeaderEdgeGrid#crossings()} and
+ * {@link LeaderEdgeGrid#crossings(int, double, double)} against a brute-force
+ * test of every pair of edges, on random layouts. The layouts have edges
+ * spanning the whole grid, crossings near the lines between cells, which
+ * must be counted in one cell only, and many edges sharing an end, which
+ * never cross.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class LeaderEdgeGridTest
+{
+	/**
+	 * Mostly short edges, so the grid has many cells, and a few edges from
+	 * corner to corner across all of them.
+	 */
+	@Test
+	public void shortAndSpanningEdges()
+	{
+		for (long seed = SEED; seed < SEED + 5; ++seed)
+			{
+				SplittableRandom random = new SplittableRandom(seed);
+				int n = 120;
+				double[] xs = new double[n], ys = new double[n];
+				scatter(random, xs, ys);
+				Graph.Builder b = nodes(n);
+				// corners joined across the diagonals and sides
+				xs[0] = 0;
+				ys[0] = 0;
+				xs[1] = FIELD;
+				ys[1] = 0;
+				xs[2] = 0;
+				ys[2] = FIELD;
+				xs[3] = FIELD;
+				ys[3] = FIELD;
+				b.addEdge(0, 3).addEdge(1, 2).addEdge(0, 1).addEdge(2, 3);
+				for (int u = 4; u < n; ++u)
+					for (int k = 0; k < 2; ++k)
+						b.addEdge(u, nearest(xs, ys, u, random.nextInt(3)));
+				check(b.build(), xs, ys, random);
+			}
+	}
+
+	/**
+	 * Every edge runs from one end of a strip to the other, through every
+	 * cell, so that listing each in every cell would cost more than scanning
+	 * them all, and the grid falls back to a single cell.
+	 */
+	@Test
+	public void longEdges()
+	{
+		for (long seed = SEED; seed < SEED + 5; ++seed)
+			{
+				SplittableRandom random = new SplittableRandom(seed);
+				int n = 60;
+				double[] xs = new double[n], ys = new double[n];
+				for (int u = 0; u < n; ++u)
+					{
+						// even nodes at the left end, odd nodes at the right
+						xs[u] = (u % 2 == 0 ? 0 : FIELD - 50) + 50 * random.nextDouble();
+						ys[u] = 50 * random.nextDouble();
+					}
+				Graph.Builder b = nodes(n);
+				for (int u = 0; u < n; u += 2)
+					for (int k = 0; k < 3; ++k)
+						b.addEdge(u, 1 + 2 * random.nextInt(n / 2));
+				check(b.build(), xs, ys, random);
+			}
+	}
+
+	/**
+	 * A hub joined to every node, whose edges all share an end with each
+	 * other and with every other edge at the hub's neighbours.
+	 */
+	@Test
+	public void sharedEnds()
+	{
+		SplittableRandom random = new SplittableRandom(SEED);
+		int n = 80;
+		double[] xs = new double[n], ys = new double[n];
+		scatter(random, xs, ys);
+		Graph.Builder b = nodes(n);
+		for (int u = 1; u < n; ++u)
+			{
+				b.addEdge(0, u);
+				b.addEdge(u, 1 + random.nextInt(n - 1));
+			}
+		check(b.build(), xs, ys, random);
+	}
+
+	/**
+	 * Compare the grid's counts with brute force: all crossings of the
+	 * layout, then those of every node's edges at its own position and at
+	 * random points, some of them outside the grid.
+	 */
+	private static void check(Graph graph, double[] xs, double[] ys,
+	    SplittableRandom random)
+	{
+		LeaderEdgeGrid grid = Leaders.at(xs, ys, graph).getEdgeGrid();
+		int total = bruteForce(graph, xs, ys);
+		assertTrue(total > 0, "layout should have crossings");
+		assertEquals(total, grid.crossings(), "all crossings");
+		for (int u = 0; u < graph.getNodeCount(); ++u)
+			{
+				assertEquals(bruteForce(graph, xs, ys, u, xs[u], ys[u]), grid
+				    .crossings(u, xs[u], ys[u]), "node " + u + " in place");
+				for (int k = 0; k < 3; ++k)
+					{
+						double x = FIELD * (1.2 * random.nextDouble() - 0.1);
+						double y = FIELD * (1.2 * random.nextDouble() - 0.1);
+						assertEquals(bruteForce(graph, xs, ys, u, x, y), grid.crossings(u,
+						    x, y), "node " + u + " at " + x + ", " + y);
+					}
+			}
+	}
+
+	/**
+	 * @return number of pairs of edges of the layout that cross
+	 */
+	private static int bruteForce(Graph graph, double[] xs, double[] ys)
+	{
+		int[][] edges = edgesOf(graph);
+		int count = 0;
+		for (int i = 0; i < edges.length; ++i)
+			for (int j = i + 1; j < edges.length; ++j)
+				{
+					int a = edges[i][0], b = edges[i][1];
+					int c = edges[j][0], d = edges[j][1];
+					if (a == c || a == d || b == c || b == d) continue;
+					if (cross(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c], xs[d], ys[d]))
+					  ++count;
+				}
+		return count;
+	}
+
+	/**
+	 * @return number of crossings of the edges of node u, were it at (x, y),
+	 *         with the edges of the layout that do not share an end with them
+	 */
+	private static int bruteForce(Graph graph, double[] xs, double[] ys, int u,
+	    double x, double y)
+	{
+		int[][] edges = edgesOf(graph);
+		int count = 0;
+		for (int e = graph.getOffset(u); e < graph.getOffset(u + 1); ++e)
+			{
+				int v = graph.getTarget(e);
+				for (int[] edge : edges)
+					{
+						int c = edge[0], d = edge[1];
+						if (c == u || d == u || c == v || d == v) continue;
+						if (cross(x, y, xs[v], ys[v], xs[c], ys[c], xs[d], ys[d]))
+						  ++count;
+					}
+			}
+		return count;
+	}
+
+	/**
+	 * @return whether segments ab and cd meet at a single point inside both
+	 */
+	private static boolean cross(double ax, double ay, double bx, double by,
+	    double cx, double cy, double dx, double dy)
+	{
+		return orient(cx, cy, dx, dy, ax, ay) * orient(cx, cy, dx, dy, bx, by) < 0
+		    && orient(ax, ay, bx, by, cx, cy) * orient(ax, ay, bx, by, dx, dy) < 0;
+	}
+
+	private static double orient(double ax, double ay, double bx, double by,
+	    double cx, double cy)
+	{
+		return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+	}
+
+	/**
+	 * @return the ends of every edge of a graph, once each
+	 */
+	private static int[][] edgesOf(Graph graph)
+	{
+		int[][] edges = new int[graph.getEdgeCount()][];
+		int k = 0;
+		for (int u = 0; u < graph.getNodeCount(); ++u)
+			for (int e = graph.getOffset(u); e < graph.getOffset(u + 1); ++e)
+				if (u < graph.getTarget(e))
+				  edges[k++] = new int[] { u, graph.getTarget(e) };
+		return edges;
+	}
+
+	/**
+	 * @return a builder holding n nodes and no edges
+	 */
+	private static Graph.Builder nodes(int n)
+	{
+		Graph.Builder b = new Graph.Builder();
+		for (int u = 0; u < n; ++u)
+			b.addNode("n" + u);
+		return b;
+	}
+
+	private static void scatter(SplittableRandom random, double[] xs,
+	    double[] ys)
+	{
+		for (int u = 0; u < xs.length; ++u)
+			{
+				xs[u] = FIELD * random.nextDouble();
+				ys[u] = FIELD * random.nextDouble();
+			}
+	}
+
+	/**
+	 * @return the node nearest to u but for the specified number of nearer
+	 *         ones
+	 */
+	private static int nearest(double[] xs, double[] ys, int u, int skip)
+	{
+		int[] best = new int[skip + 1];
+		double[] d = new double[skip + 1];
+		Arrays.fill(d, Double.POSITIVE_INFINITY);
+		for (int v = 0; v < xs.length; ++v)
+			{
+				if (v == u) continue;
+				double dx = xs[v] - xs[u], dy = ys[v] - ys[u], d2 = dx * dx + dy * dy;
+				for (int k = 0; k <= skip; ++k)
+					if (d2 < d[k])
+						{
+							System.arraycopy(d, k, d, k + 1, skip - k);
+							System.arraycopy(best, k, best, k + 1, skip - k);
+							d[k] = d2;
+							best[k] = v;
+							break;
+						}
+			}
+		return best[skip];
+	}
+
+	private static final long	  SEED	= 31;
+
+	/** Width of the square the layouts are drawn in. */
+	private static final double	FIELD	= 1000;
+}
@@ -0,0 +1,133 @@
+/**
+ * GraphSwarm: LeaderQuadtreeTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 7:10:19 PM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link LeaderQuadtree#repulsion(double, double, int)} against a
+ * brute-force sum over every leader, on a random layout with clusters of
+ * leaders just inside and just outside the spacing of each query point.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class LeaderQuadtreeTest
+{
+	/** With θ = 0 every query is exact. */
+	@Test
+	public void exactWithoutApproximation()
+	{
+		check(0, 1e-9, 0);
+	}
+
+	/**
+	 * With θ = 0.5 far cells are approximated, but never one straddling the
+	 * spacing, so clusters near it are neither dropped nor overcounted.
+	 */
+	@Test
+	public void closeWithApproximation()
+	{
+		check(0.5, 1e-9, 0.05);
+	}
+
+	/**
+	 * Query the tree at every leader and at some other points, and compare
+	 * each answer with the brute-force sum.
+	 *
+	 * @param theta
+	 * @param absolute
+	 *          error tolerated regardless of the sum
+	 * @param relative
+	 *          error tolerated as a fraction of the sum
+	 */
+	private static void check(double theta, double absolute, double relative)
+	{
+		SplittableRandom random = new SplittableRandom(SEED);
+		double[] qx = new double[QUERIES], qy = new double[QUERIES];
+		for (int q = 0; q < QUERIES; ++q)
+			{
+				qx[q] = 100 + 800 * random.nextDouble();
+				qy[q] = 100 + 800 * random.nextDouble();
+			}
+
+		// scattered leaders, then a tight cluster around each query point's
+		// cutoff, half of it just inside the spacing and half just outside
+		int n = SCATTERED + QUERIES * CLUSTER;
+		double[] xs = new double[n], ys = new double[n];
+		for (int i = 0; i < SCATTERED; ++i)
+			{
+				xs[i] = 1000 * random.nextDouble();
+				ys[i] = 1000 * random.nextDouble();
+			}
+		for (int q = 0, i = SCATTERED; q < QUERIES; ++q)
+			{
+				double angle = 2 * Math.PI * random.nextDouble();
+				for (int k = 0; k < CLUSTER; ++k, ++i)
+					{
+						double r = SPACING * (k % 2 == 0 ? 0.97 : 1.03)
+						    + random.nextDouble();
+						double a = angle + 0.02 * random.nextDouble();
+						xs[i] = qx[q] + r * Math.cos(a);
+						ys[i] = qy[q] + r * Math.sin(a);
+					}
+			}
+
+		LeaderSnapshot snapshot = Leaders.at(xs, ys, null);
+		LeaderQuadtree tree = snapshot.getQuadtree();
+		tree.setSpacing(SPACING);
+		tree.setTheta(theta);
+		assertEquals(n, tree.size());
+
+		double inside = 0;
+		for (int q = 0; q < QUERIES; ++q)
+			{
+				double exact = bruteForce(xs, ys, qx[q], qy[q], -1);
+				assertClose(exact, tree.repulsion(qx[q], qy[q], -1), absolute,
+				    relative, "point " + q);
+				inside += exact;
+			}
+		assertTrue(inside > 0, "clusters should reach the query points");
+		for (int i = 0; i < n; i += 7)
+			assertClose(bruteForce(xs, ys, xs[i], ys[i], i), tree.repulsion(xs[i],
+			    ys[i], i), absolute, relative, "leader " + i);
+	}
+
+	/**
+	 * @return the repulsion at (x, y) of every leader but the one skipped
+	 */
+	private static double bruteForce(double[] xs, double[] ys, double x,
+	    double y, int skip)
+	{
+		double sum = 0;
+		for (int i = 0; i < xs.length; ++i)
+			{
+				if (i == skip) continue;
+				double dx = xs[i] - x, dy = ys[i] - y;
+				double q = (dx * dx + dy * dy) / (SPACING * SPACING);
+				if (q < 1) sum += (1 - q) * (1 - q);
+			}
+		return sum;
+	}
+
+	private static void assertClose(double expected, double actual,
+	    double absolute, double relative, String what)
+	{
+		assertEquals(expected, actual, absolute + relative * expected, what);
+	}
+
+	private static final long	  SEED	     = 11;
+
+	private static final double	SPACING	  = 80;
+
+	/** Leaders scattered over the field, query points, and leaders per cluster. */
+	private static final int	   SCATTERED	= 600, QUERIES = 40, CLUSTER = 40;
+}
@@ -0,0 +1,71 @@
+/**
+ * GraphSwarm: Leaders.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 7:02:44 PM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * Builds one-particle swarms led from chosen points, for tests of the
+ * structures a {@link LeaderSnapshot} is queried through.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class Leaders
+{
+	/**
+	 * Make a swarm for each point and a refreshed snapshot of them.
+	 *
+	 * @param xs
+	 * @param ys
+	 *          where each swarm leads from
+	 * @param graph
+	 *          the graph laid out, or null
+	 * @return a snapshot of the swarms, indexed as the points
+	 */
+	static LeaderSnapshot at(double[] xs, double[] ys,
+	    edu.marist.csmath.isag.graph.Graph graph)
+	{
+		Swarmable[] swarms = new Swarmable[xs.length];
+		for (int i = 0; i < xs.length; ++i)
+			swarms[i] = at(xs[i], ys[i]);
+		LeaderSnapshot snapshot = new LeaderSnapshot(graph, swarms);
+		snapshot.refresh();
+		return snapshot;
+	}
+
+	/**
+	 * Make a one-particle swarm led from a point.
+	 *
+	 * @param x
+	 * @param y
+	 * @return the particle, at the point
+	 */
+	static Swarmable at(double x, double y)
+	{
+		double[] p = { x, y };
+		Swarmable swarm = new Swarmable(PLANE, 1);
+		swarm.randomize(p, p);
+		swarm.notifySwarm();
+		return swarm;
+	}
+
+	private Leaders()
+	{}
+
+	/** A plane with no objective; the swarms are never scored. */
+	private static final ProblemSpace	PLANE	= new ProblemSpace() {
+		public int getDimension()
+		{
+			return 2;
+		}
+
+		public Objective getObjective()
+		{
+			return null;
+		}
+	};
+}
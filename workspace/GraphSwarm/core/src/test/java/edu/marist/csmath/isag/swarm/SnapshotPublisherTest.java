@@ -0,0 +1,177 @@
+/**
+ * GraphSwarm: SnapshotPublisherTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 11:04:52 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks how a {@link SnapshotPublisher} conflates snapshots, honours demand
+ * and drops a failing subscriber, delivering on the test's own thread so
+ * that every delivery happens at a known point.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class SnapshotPublisherTest
+{
+	/**
+	 * Snapshots published while a delivery is pending replace each other, so
+	 * a request for one receives only the newest.
+	 */
+	@Test
+	public void newestIsDelivered()
+	{
+		Deferred executor = new Deferred();
+		SnapshotPublisher<Integer> publisher = new SnapshotPublisher<Integer>(
+		    executor);
+		Recorder subscriber = new Recorder(false);
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(1);
+		for (int k = 1; k <= 3; ++k)
+			publisher.publish(k);
+		assertEquals(1, executor.tasks.size(), "one delivery run at a time");
+		executor.runAll();
+		assertEquals(List.of(3), subscriber.items);
+
+		// the demand is spent
+		publisher.publish(4);
+		executor.runAll();
+		assertEquals(List.of(3), subscriber.items);
+		subscriber.subscription.request(1);
+		executor.runAll();
+		assertEquals(List.of(3, 4), subscriber.items);
+	}
+
+	/** Nothing is delivered until it is requested, then only the latest. */
+	@Test
+	public void nothingWithoutDemand()
+	{
+		SnapshotPublisher<Integer> publisher = new SnapshotPublisher<Integer>(
+		    DIRECT);
+		Recorder subscriber = new Recorder(false);
+		publisher.subscribe(subscriber);
+		for (int k = 1; k <= 3; ++k)
+			publisher.publish(k);
+		assertTrue(subscriber.items.isEmpty());
+		subscriber.subscription.request(2);
+		assertEquals(List.of(3), subscriber.items);
+		publisher.publish(4);
+		assertEquals(List.of(3, 4), subscriber.items);
+		publisher.publish(5);
+		assertEquals(List.of(3, 4), subscriber.items);
+	}
+
+	/**
+	 * A subscriber that throws from onNext is cancelled and told why, and
+	 * hears of nothing else.
+	 */
+	@Test
+	public void throwingSubscriberIsCancelled()
+	{
+		SnapshotPublisher<Integer> publisher = new SnapshotPublisher<Integer>(
+		    DIRECT);
+		Recorder subscriber = new Recorder(true);
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		publisher.publish(1);
+		assertEquals(List.of(1), subscriber.items);
+		assertSame(Recorder.FAILURE, subscriber.error);
+		assertFalse(publisher.hasSubscribers());
+
+		subscriber.error = null;
+		publisher.publish(2);
+		subscriber.subscription.request(1);
+		assertEquals(List.of(1), subscriber.items);
+		assertNull(subscriber.error);
+	}
+
+	/**
+	 * Records what it is sent, and optionally fails on every snapshot.
+	 */
+	private static final class Recorder implements Flow.Subscriber<Integer>
+	{
+		Recorder(boolean failing)
+		{
+			this.failing = failing;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription)
+		{
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(Integer item)
+		{
+			this.items.add(item);
+			if (this.failing) throw FAILURE;
+		}
+
+		@Override
+		public void onError(Throwable throwable)
+		{
+			this.error = throwable;
+		}
+
+		@Override
+		public void onComplete()
+		{}
+
+		static final RuntimeException	FAILURE	= new IllegalStateException(
+		                                    "subscriber failed");
+
+		final List<Integer>	          items	  = new ArrayList<Integer>();
+
+		private final boolean	         failing;
+
+		Flow.Subscription	             subscription;
+
+		Throwable	                     error;
+	}
+
+	/**
+	 * Queues deliveries until the test runs them, on its own thread.
+	 */
+	private static final class Deferred implements Executor
+	{
+		@Override
+		public void execute(Runnable task)
+		{
+			this.tasks.add(task);
+		}
+
+		void runAll()
+		{
+			Runnable task;
+			while ((task = this.tasks.poll()) != null)
+				task.run();
+		}
+
+		final Queue<Runnable>	tasks	= new ArrayDeque<Runnable>();
+	}
+
+	/** Runs each delivery at once, on the thread that starts it. */
+	private static final Executor	DIRECT	= new Executor() {
+		public void execute(Runnable task)
+		{
+			task.run();
+		}
+	};
+}
@@ -0,0 +1,119 @@
+/**
+ * GraphSwarm: SwarmEngineAllocationTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 2:41:07 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.strategy.GraphLayoutProblem;
+import edu.marist.csmath.isag.strategy.LeaderSnapshot;
+import edu.marist.csmath.isag.strategy.PlanarGraphLayoutProblem;
+
+/**
+ * Checks that a warmed-up {@link SwarmEngine} lays out a graph without
+ * allocating: once the JIT has settled, the bytes allocated by the thread
+ * stepping a single-worker engine must not grow from one generation to the
+ * next, whether the swarms run in lockstep or promote as they go.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class SwarmEngineAllocationTest
+{
+	/** Steady-state generations of a deterministic engine allocate nothing. */
+	@Test
+	public void deterministicStepDoesNotAllocate()
+	{
+		assertSteady(PlanarGraphLayoutProblem.EQUIVIEWCENTER, true);
+		assertSteady(PlanarGraphLayoutProblem.EQUIREPULSION, true);
+	}
+
+	/** Steady-state generations of a free-running engine allocate nothing. */
+	@Test
+	public void freeRunningStepDoesNotAllocate()
+	{
+		assertSteady(PlanarGraphLayoutProblem.EQUIVIEWCENTER, false);
+		assertSteady(PlanarGraphLayoutProblem.EQUIREPULSION, false);
+	}
+
+	/**
+	 * Lay out a random graph as {@link edu.marist.csmath.isag.batch.BatchLayout}
+	 * does, warm the engine up, then measure the bytes allocated by the
+	 * stepping thread over some more generations.
+	 *
+	 * @param objType
+	 *          one of the objective types of {@link PlanarGraphLayoutProblem}
+	 * @param deterministic
+	 *          whether the engine runs in lockstep
+	 */
+	private static void assertSteady(int objType, boolean deterministic)
+	{
+		ThreadMXBean mx = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(mx.isThreadAllocatedMemorySupported()
+		    && mx.isThreadAllocatedMemoryEnabled());
+
+		SplittableRandom random = new SplittableRandom(SEED);
+		Graph.Builder builder = new Graph.Builder();
+		for (int u = 0; u < NODES; ++u)
+			builder.addNode(Integer.toString(u));
+		for (int u = 0; u < NODES; ++u)
+			for (int e = 0; e < DEGREE; ++e)
+				{
+					int v = random.nextInt(NODES - 1);
+					builder.addEdge(u, (v < u ? v : v + 1));
+				}
+		Graph graph = builder.build();
+
+		Swarmable[] swarms = new Swarmable[NODES];
+		for (int u = 0; u < NODES; ++u)
+			swarms[u] = new Swarmable(PARTICLES);
+		LeaderSnapshot snapshot = new LeaderSnapshot(graph, swarms);
+		GraphLayoutProblem.assign(graph, swarms, objType, snapshot);
+
+		SwarmEngine engine = new SwarmEngine(1);
+		engine.setDeterministic(deterministic);
+		engine.setSeed(SEED);
+		for (Swarmable swarm : swarms)
+			engine.add(swarm);
+		engine.addGenerationListener(snapshot);
+		double[] lowerbounds = { 0, 0 }, upperbounds = { 800, 600 };
+		for (Swarmable swarm : swarms)
+			{
+				for (Swarmable p : swarm)
+					p.randomize(lowerbounds, upperbounds);
+				swarm.notifySwarm();
+			}
+
+		for (int g = 0; g < WARMUP; ++g)
+			engine.step();
+		long thread = Thread.currentThread().threadId();
+		long before = mx.getThreadAllocatedBytes(thread);
+		for (int g = 0; g < MEASURED; ++g)
+			engine.step();
+		long allocated = mx.getThreadAllocatedBytes(thread) - before;
+		assertEquals(0, allocated, "bytes allocated over " + MEASURED
+		    + " generations, objective " + objType + ", deterministic "
+		    + deterministic);
+	}
+
+	private static final long	SEED	     = 7;
+
+	/** Size of the graph laid out, and edges added from each node. */
+	private static final int	NODES	    = 60, DEGREE = 2;
+
+	private static final int	PARTICLES	= 16;
+
+	/** Generations run before measuring, to let the JIT settle, and measured. */
+	private static final int	WARMUP	   = 3000, MEASURED = 200;
+}
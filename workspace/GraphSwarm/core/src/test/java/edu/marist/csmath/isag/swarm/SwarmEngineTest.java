@@ -0,0 +1,274 @@
+/**
+ * GraphSwarm: SwarmEngineTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 4:12:36 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import edu.marist.csmath.isag.strategy.Objective;
+import edu.marist.csmath.isag.strategy.ProblemSpace;
+
+/**
+ * Checks how a {@link SwarmEngine} steps swarms that have been built but never
+ * told who leads them, that a deterministic run can be repeated, how it
+ * reports a failing objective, and why it finishes.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class SwarmEngineTest
+{
+	/** A new swarm is led by its first particle. */
+	@Test
+	public void newSwarmHasLeader()
+	{
+		Swarmable swarm = new Swarmable(space(NAN), PARTICLES);
+		assertSame(swarm, swarm.getLeader());
+		assertNotNull(swarm.getSwarmBest());
+	}
+
+	/** A swarm whose particles never improve still moves. */
+	@Test
+	public void unscoredSwarmSteps()
+	{
+		stepRandomized(space(NAN), false);
+		stepRandomized(space(NAN), true);
+	}
+
+	/** Swarms never given a leader by hand still move. */
+	@Test
+	public void randomizedSwarmsStep()
+	{
+		stepRandomized(space(DISTANCE), false);
+		stepRandomized(space(DISTANCE), true);
+	}
+
+	/**
+	 * A deterministic run on several workers ends with every swarm's best in
+	 * the same place each time, and the same as on one worker, even though
+	 * each swarm is scored against another's best.
+	 */
+	@Test
+	public void deterministicRunRepeats()
+	{
+		double[][] first = runDeterministic(4);
+		double[][] second = runDeterministic(4);
+		double[][] single = runDeterministic(1);
+		for (int s = 0; s < SWARMS; ++s)
+			for (int c = 0; c <= 2; ++c)
+				{
+					assertEquals(first[s][c], second[s][c], "swarm " + s + ", " + c);
+					assertEquals(first[s][c], single[s][c], "swarm " + s + ", " + c
+					    + " on one worker");
+				}
+	}
+
+	/** An Error raised on any worker is thrown by step() instead of hanging it. */
+	@Test
+	public void workerErrorIsRethrown()
+	{
+		assertTimeoutPreemptively(Duration.ofSeconds(10), new Executable() {
+			public void execute()
+			{
+				final SwarmEngine engine = new SwarmEngine(4);
+				for (int s = 0; s < 16; ++s)
+					engine.add(new Swarmable(space(FAILING), PARTICLES));
+				Executable step = new Executable() {
+					public void execute()
+					{
+						engine.step();
+					}
+				};
+				assertThrows(AssertionError.class, step);
+				assertThrows(AssertionError.class, step);
+				engine.shutdown();
+			}
+		});
+	}
+
+	/** An engine finishes once its own budget is spent. */
+	@Test
+	public void engineCriterionFinishes()
+	{
+		SwarmEngine engine = new SwarmEngine(1);
+		Swarmable swarm = new Swarmable(space(DISTANCE), PARTICLES);
+		engine.add(swarm);
+		engine.setStoppingCriteria(new StoppingCriteria.Builder().evaluations(
+		    5 * PARTICLES).build());
+		for (int g = 0; g < GENERATIONS; ++g)
+			engine.step();
+		assertEquals(StoppingCriteria.Reason.EVALUATIONS, engine.getStopReason());
+		assertEquals(5, engine.completion().join().longValue());
+		assertEquals(5 * PARTICLES, swarm.getEvaluations());
+	}
+
+	/**
+	 * An engine finishes once every swarm stops, and records so in its own
+	 * progress even while its own criteria are not met.
+	 */
+	@Test
+	public void stoppedSwarmsFinishEngine()
+	{
+		SwarmEngine engine = new SwarmEngine(1);
+		Swarmable[] swarms = new Swarmable[2];
+		for (int s = 0; s < swarms.length; ++s)
+			{
+				swarms[s] = new Swarmable(space(DISTANCE), PARTICLES);
+				swarms[s].setStoppingCriteria(new StoppingCriteria.Builder()
+				    .evaluations((s + 2) * PARTICLES).build());
+				engine.add(swarms[s]);
+			}
+		engine.setStoppingCriteria(new StoppingCriteria.Builder().evaluations(
+		    1000 * PARTICLES).build());
+		for (int g = 0; g < GENERATIONS; ++g)
+			engine.step();
+		assertEquals(StoppingCriteria.Reason.EVALUATIONS, swarms[0]
+		    .getStopReason());
+		assertEquals(StoppingCriteria.Reason.SWARMS, engine.getStopReason());
+		assertEquals(StoppingCriteria.Reason.SWARMS, engine.convergence
+		    .getReason());
+		assertEquals(3, engine.completion().join().longValue());
+	}
+
+	/**
+	 * Randomize two swarms, without calling {@link Swarmable#notifySwarm()},
+	 * and step them on an engine.
+	 *
+	 * @param space
+	 *          problem solved by both swarms
+	 * @param deterministic
+	 *          whether the engine runs in lockstep
+	 */
+	private static void stepRandomized(ProblemSpace space, boolean deterministic)
+	{
+		SwarmEngine engine = new SwarmEngine(1);
+		engine.setDeterministic(deterministic);
+		engine.setSeed(SEED);
+		double[] lowerbounds = { 0, 0 }, upperbounds = { 800, 600 };
+		for (int s = 0; s < 2; ++s)
+			{
+				Swarmable swarm = new Swarmable(space, PARTICLES);
+				for (Swarmable p : swarm)
+					p.randomize(lowerbounds, upperbounds);
+				engine.add(swarm);
+			}
+		for (int g = 0; g < GENERATIONS; ++g)
+			engine.step();
+		engine.shutdown();
+	}
+
+	/**
+	 * Run a ring of swarms, each drawn towards the best of the next, for a
+	 * fixed number of generations in deterministic mode.
+	 *
+	 * @param workers
+	 * @return the best position and fitness of every swarm at the end
+	 */
+	private static double[][] runDeterministic(int workers)
+	{
+		SwarmEngine engine = new SwarmEngine(workers);
+		engine.setDeterministic(true);
+		Swarmable[] swarms = new Swarmable[SWARMS];
+		for (int s = 0; s < SWARMS; ++s)
+			engine.add(swarms[s] = new Swarmable(space(NAN), PARTICLES));
+		for (int s = 0; s < SWARMS; ++s)
+			swarms[s].setProblemSpace(space(following(swarms[(s + 1) % SWARMS])));
+		engine.setSeed(SEED);
+		double[] lowerbounds = { 0, 0 }, upperbounds = { 800, 600 };
+		for (Swarmable swarm : swarms)
+			{
+				for (Swarmable p : swarm)
+					p.randomize(lowerbounds, upperbounds);
+				swarm.notifySwarm();
+			}
+		for (int g = 0; g < GENERATIONS; ++g)
+			engine.step();
+		engine.shutdown();
+
+		double[][] best = new double[SWARMS][];
+		for (int s = 0; s < SWARMS; ++s)
+			{
+				SwarmBest b = swarms[s].getSwarmBest();
+				best[s] = new double[] { b.getPosition(0), b.getPosition(1),
+				    b.getFitness() };
+			}
+		return best;
+	}
+
+	/**
+	 * @param target
+	 *          a particle of another swarm
+	 * @return an objective scoring a particle by its distance from the best of
+	 *         the target's swarm, and a little by its distance from the origin
+	 */
+	private static Objective following(final Swarmable target)
+	{
+		return new Objective() {
+			public double computeFitness(Swarmable agent)
+			{
+				SwarmBest b = target.getSwarmBest();
+				double x = agent.getPosition(0), y = agent.getPosition(1);
+				return Math.hypot(x - b.getPosition(0), y - b.getPosition(1)) + 0.1
+				    * Math.hypot(x, y);
+			}
+		};
+	}
+
+	/**
+	 * @param objective
+	 * @return a two-dimensional problem space with the specified objective
+	 */
+	private static ProblemSpace space(final Objective objective)
+	{
+		return new ProblemSpace() {
+			public int getDimension()
+			{
+				return 2;
+			}
+
+			public Objective getObjective()
+			{
+				return objective;
+			}
+		};
+	}
+
+	/** Never scores a particle, as the layout objectives do for an isolated node. */
+	private static final Objective	NAN	     = new Objective() {
+		public double computeFitness(Swarmable agent)
+		{
+			return Double.NaN;
+		}
+	};
+
+	/** Scores a particle by its distance from the origin. */
+	private static final Objective	DISTANCE	= new Objective() {
+		public double computeFitness(Swarmable agent)
+		{
+			return Math.hypot(agent.getPosition(0), agent.getPosition(1));
+		}
+	};
+
+	/** Fails as a broken objective might, with an Error. */
+	private static final Objective	FAILING	 = new Objective() {
+		public double computeFitness(Swarmable agent)
+		{
+			throw new AssertionError("objective failed");
+		}
+	};
+
+	private static final long	   SEED	     = 7;
+
+	private static final int	   PARTICLES	= 8, GENERATIONS = 20, SWARMS = 16;
+}
@@ -0,0 +1,85 @@
+/**
+ * GraphSwarm: SwarmableTest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 6:21:03 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import edu.marist.csmath.isag.strategy.Objective;
+import edu.marist.csmath.isag.strategy.ProblemSpace;
+
+/**
+ * Checks how a swarm's lead passes on as its particles leave.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class SwarmableTest
+{
+	/** A departing leader is succeeded by the particle with the lowest best. */
+	@Test
+	public void leaderIsSucceededByBest()
+	{
+		Swarmable swarm = new Swarmable(SPACE, POSITIONS.length);
+		Swarmable[] particles = new Swarmable[POSITIONS.length];
+		for (int k = 0; k < particles.length; ++k)
+			{
+				Swarmable p = particles[k] = swarm.state.getParticle(k);
+				p.state.setPosition(p.slot, 0, POSITIONS[k][0]);
+				p.state.setPosition(p.slot, 1, POSITIONS[k][1]);
+				p.evaluate();
+			}
+		assertSame(particles[3], swarm.getLeader());
+
+		particles[3].leave();
+		assertSame(particles[1], swarm.getLeader());
+		assertEquals(5, swarm.getSwarmBest().getFitness());
+		assertEquals(3, swarm.getSwarmBest().getPosition(0));
+
+		particles[2].leave(); // not the leader; the lead stays
+		assertSame(particles[1], swarm.getLeader());
+	}
+
+	/** A swarm left empty has no leader. */
+	@Test
+	public void emptiedSwarmHasNoLeader()
+	{
+		Swarmable swarm = new Swarmable(SPACE, 2);
+		SwarmState state = swarm.state;
+		for (int k = 0; k < 2; ++k)
+			state.getParticle(k).evaluate();
+		state.getParticle(1).leave();
+		state.getParticle(0).leave();
+		assertEquals(0, state.size());
+		assertNull(state.current());
+		assertNull(state.getBest());
+	}
+
+	/** Scores a particle by its distance from the origin. */
+	private static final ProblemSpace	SPACE	    = new ProblemSpace() {
+		public int getDimension()
+		{
+			return 2;
+		}
+
+		public Objective getObjective()
+		{
+			return new Objective() {
+				public double computeFitness(Swarmable agent)
+				{
+					return Math.hypot(agent.getPosition(0), agent.getPosition(1));
+				}
+			};
+		}
+	};
+
+	/** Where each particle stands; its distance is its fitness. */
+	private static final double[][]	  POSITIONS	= { { 30, 40 }, { 3, 4 },
+	    { 6, 8 }, { 0, 1 } };
+}
@@ -0,0 +1,417 @@
+/**
+ * GraphSwarm: BatchLayout.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 3:48:10 PM
+ */
+package edu.marist.csmath.isag.batch;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.graph.GraphLoader;
+import edu.marist.csmath.isag.strategy.GraphLayoutProblem;
+import edu.marist.csmath.isag.strategy.LeaderQuadtree;
+import edu.marist.csmath.isag.strategy.LeaderSnapshot;
+import edu.marist.csmath.isag.strategy.PlanarGraphLayoutProblem;
+import edu.marist.csmath.isag.swarm.StoppingCriteria;
+import edu.marist.csmath.isag.swarm.SwarmBest;
+import edu.marist.csmath.isag.swarm.SwarmEngine;
+import edu.marist.csmath.isag.swarm.Swarmable;
+import edu.marist.csmath.isag.swarm.Vectorization;
+
+/**
+ * Lays out a graph without any user interface: reads the graph, drives one
+ * swarm per node on a {@link SwarmEngine} until a stopping criterion is met,
+ * and writes the final coordinates of every node. Only the swarm and strategy
+ * packages are needed, so no display or SVG library is loaded.
+ *
+ * The input is an edge list, a DOT file or a GraphML file, see
+ * {@link GraphLoader}. The output has one line per node: its name, x and y.
+ *
+ * Run with {@code --add-modules jdk.incubator.vector}, swarms are moved and
+ * scored on SIMD kernels, see {@link Vectorization}; the layout is the same.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class BatchLayout
+{
+	/**
+	 * Create a runner with the default settings.
+	 */
+	public BatchLayout()
+	{
+		this.builder = new Graph.Builder();
+	}
+
+	/**
+	 * Read a graph, adding its nodes and edges to the graph to be laid out.
+	 * Self loops and repeated edges are ignored.
+	 *
+	 * @param in
+	 *          source of the graph, read to the end but not closed
+	 * @param format
+	 *          format of the graph
+	 * @throws IOException
+	 */
+	public void read(ReadableByteChannel in, GraphLoader.Format format)
+	    throws IOException
+	{
+		GraphLoader.read(in, format, this.builder);
+	}
+
+	/**
+	 * Build one swarm per node and drive them until the generation limit, the
+	 * time limit or the evaluation budget is reached, or every swarm has
+	 * stopped on a plateau or having gathered, whichever comes first.
+	 *
+	 * @return number of generations run
+	 */
+	public long run()
+	{
+		final double[] lowerbounds = { 0, 0 };
+		final double[] upperbounds = { this.width, this.height };
+		this.graph = this.builder.build();
+		int n = this.graph.getNodeCount();
+
+		this.swarms = new Swarmable[n];
+		for (int i = 0; i < n; ++i)
+			this.swarms[i] = new Swarmable(this.swarmSize);
+		LeaderSnapshot snapshot = new LeaderSnapshot(this.graph, this.swarms);
+		if (this.objective == PlanarGraphLayoutProblem.REPULSION
+		    || this.objective == PlanarGraphLayoutProblem.EQUIREPULSION)
+		  snapshot.getQuadtree().setTheta(this.theta);
+		GraphLayoutProblem.assign(this.graph, this.swarms, this.objective,
+		    snapshot);
+
+		SwarmEngine engine = (this.workers > 0 ? new SwarmEngine(this.workers)
+		    : new SwarmEngine());
+		for (Swarmable swarm : this.swarms)
+			engine.add(swarm);
+		if (this.window > 0 || this.extent > 0)
+			{
+				StoppingCriteria.Builder b = new StoppingCriteria.Builder();
+				if (this.window > 0) b.plateau(this.window, this.epsilon);
+				StoppingCriteria criteria = b.diversity(this.extent).build();
+				for (Swarmable swarm : this.swarms)
+					swarm.setStoppingCriteria(criteria);
+			}
+		engine.addGenerationListener(snapshot);
+		if (this.seeded)
+			{
+				engine.setDeterministic(true);
+				engine.setSeed(this.seed);
+			}
+		for (Swarmable swarm : this.swarms)
+			{
+				for (Swarmable p : swarm)
+					p.randomize(lowerbounds, upperbounds);
+				swarm.notifySwarm();
+			}
+
+		engine.setStoppingCriteria(new StoppingCriteria.Builder().timeLimit(
+		    this.millis).evaluations(this.evaluations).build());
+		try
+			{
+				while (engine.getGeneration() < this.generations
+				    && !engine.isFinished())
+					engine.step();
+			}
+		finally
+			{
+				engine.shutdown();
+			}
+		this.reason = engine.getStopReason();
+		return engine.getGeneration();
+	}
+
+	/**
+	 * Write the best known position of every node, one per line.
+	 *
+	 * @param out
+	 *          destination for the layout
+	 */
+	public void write(Writer out)
+	{
+		PrintWriter pw = new PrintWriter(out);
+		for (int i = 0; i < this.swarms.length; ++i)
+			{
+				SwarmBest best = this.swarms[i].getSwarmBest();
+				pw.println(this.graph.getName(i) + " " + best.getPosition(0) + " "
+				    + best.getPosition(1));
+			}
+		pw.flush();
+	}
+
+	/**
+	 * Count the crossings between edges drawn between the best positions of
+	 * the nodes, as left by {@link #run()} and written by {@link #write(Writer)}.
+	 *
+	 * @return number of crossing pairs of edges
+	 */
+	public int countCrossings()
+	{
+		LeaderSnapshot snapshot = new LeaderSnapshot(this.graph, this.swarms);
+		snapshot.refresh();
+		return snapshot.getEdgeGrid().crossings();
+	}
+
+	/**
+	 * Stop each swarm once its particles have gathered within a box of the
+	 * specified size.
+	 *
+	 * @param extent
+	 *          greatest extent at which a swarm stops, or 0 to run on
+	 */
+	public void setDiversity(double extent)
+	{
+		this.extent = extent;
+	}
+
+	/**
+	 * @param budget
+	 *          maximum number of evaluations of all swarms, or 0 for no limit
+	 */
+	public void setEvaluations(long budget)
+	{
+		this.evaluations = budget;
+	}
+
+	/**
+	 * @param generations
+	 *          maximum number of generations to run
+	 */
+	public void setGenerations(long generations)
+	{
+		this.generations = generations;
+	}
+
+	/**
+	 * @param objType
+	 *          one of the objective types of {@link PlanarGraphLayoutProblem}
+	 */
+	public void setObjective(int objType)
+	{
+		this.objective = objType;
+	}
+
+	/**
+	 * Stop each swarm once its best fitness has improved by less than epsilon
+	 * over the specified number of generations.
+	 *
+	 * @param window
+	 *          generations looked back over, or 0 to run on
+	 * @param epsilon
+	 *          least improvement for a swarm to go on
+	 */
+	public void setPlateau(int window, double epsilon)
+	{
+		this.window = window;
+		this.epsilon = epsilon;
+	}
+
+	/**
+	 * Make the run reproducible: the engine runs deterministically and every
+	 * swarm is seeded from the specified master seed.
+	 *
+	 * @param seed
+	 */
+	public void setSeed(long seed)
+	{
+		this.seed = seed;
+		this.seeded = true;
+	}
+
+	/**
+	 * @param size
+	 *          number of particles in each node's swarm
+	 */
+	public void setSwarmSize(int size)
+	{
+		this.swarmSize = size;
+	}
+
+	/**
+	 * @param millis
+	 *          maximum wall-clock time to run, or 0 for no limit
+	 */
+	public void setTimeLimit(long millis)
+	{
+		this.millis = millis;
+	}
+
+	/**
+	 * @param theta
+	 *          accuracy of the Barnes-Hut approximation used by the repulsion
+	 *          objectives, see {@link LeaderQuadtree#setTheta(double)}
+	 */
+	public void setTheta(double theta)
+	{
+		this.theta = theta;
+	}
+
+	/**
+	 * @param width
+	 * @param height
+	 *          size of the region in which nodes are initially placed
+	 */
+	public void setViewport(double width, double height)
+	{
+		this.width = width;
+		this.height = height;
+	}
+
+	/**
+	 * @param workers
+	 *          number of engine workers, or 0 for one per processor
+	 */
+	public void setWorkers(int workers)
+	{
+		this.workers = workers;
+	}
+
+	/**
+	 * Command line entry point.
+	 *
+	 * @param args
+	 *          options followed by the graph file, or - for standard input
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		BatchLayout layout = new BatchLayout();
+		String input = null, output = null;
+		GraphLoader.Format format = null;
+		try
+			{
+				for (int i = 0; i < args.length; ++i)
+					{
+						String arg = args[i];
+						if (arg.equals("-g") || arg.equals("--generations"))
+							layout.setGenerations(Long.parseLong(args[++i]));
+						else if (arg.equals("-t") || arg.equals("--time"))
+							layout.setTimeLimit(Long.parseLong(args[++i]));
+						else if (arg.equals("-w") || arg.equals("--workers"))
+							layout.setWorkers(Integer.parseInt(args[++i]));
+						else if (arg.equals("-s") || arg.equals("--seed"))
+							layout.setSeed(Long.parseLong(args[++i]));
+						else if (arg.equals("-n") || arg.equals("--swarm-size"))
+							layout.setSwarmSize(Integer.parseInt(args[++i]));
+						else if (arg.equals("-j") || arg.equals("--objective"))
+							layout.setObjective(PlanarGraphLayoutProblem.class.getField(
+							    args[++i].toUpperCase()).getInt(null));
+						else if (arg.equals("-e") || arg.equals("--evaluations"))
+							layout.setEvaluations(Long.parseLong(args[++i]));
+						else if (arg.equals("--plateau"))
+							layout.setPlateau(Integer.parseInt(args[++i]), Double
+							    .parseDouble(args[++i]));
+						else if (arg.equals("--diversity"))
+							layout.setDiversity(Double.parseDouble(args[++i]));
+						else if (arg.equals("--scalar"))
+							Vectorization.setEnabled(false);
+						else if (arg.equals("--theta"))
+							layout.setTheta(Double.parseDouble(args[++i]));
+						else if (arg.equals("-v") || arg.equals("--viewport"))
+							layout.setViewport(Double.parseDouble(args[++i]), Double
+							    .parseDouble(args[++i]));
+						else if (arg.equals("-f") || arg.equals("--format"))
+							format = GraphLoader.Format.valueOf(args[++i].toUpperCase());
+						else if (arg.equals("-o") || arg.equals("--output"))
+							output = args[++i];
+						else if (input == null && (arg.equals("-") || !arg.startsWith("-")))
+							input = arg;
+						else
+							throw new IllegalArgumentException(arg);
+					}
+				if (input == null) throw new IllegalArgumentException("no input");
+			}
+		catch (Exception exc)
+			{
+				System.err.println("error: " + exc.getMessage());
+				System.err.println(USAGE);
+				System.exit(2);
+			}
+
+		if (format == null) format = GraphLoader.Format.of(input);
+		long start = System.nanoTime();
+		ReadableByteChannel in = (input.equals("-") ? Channels
+		    .newChannel(System.in) : GraphLoader.open(Paths.get(input)));
+		try
+			{
+				layout.read(in, format);
+			}
+		finally
+			{
+				in.close();
+			}
+		System.err.println("read " + layout.builder.getNodeCount() + " nodes in "
+		    + (System.nanoTime() - start) / 1000000 + " ms");
+
+		start = System.nanoTime();
+		long generations = layout.run();
+		System.err.println(layout.graph.getNodeCount() + " nodes, " + generations
+		    + " generations in " + (System.nanoTime() - start) / 1000000 + " ms, "
+		    + layout.countCrossings() + " crossings"
+		    + (layout.reason == null ? "" : ", stopped: " + layout.reason));
+
+		Writer out = (output == null ? new OutputStreamWriter(System.out)
+		    : new FileWriter(output));
+		try
+			{
+				layout.write(out);
+			}
+		finally
+			{
+				out.close();
+			}
+	}
+
+	private static final String	USAGE	      = "usage: BatchLayout [options] <graph|->\n"
+	                                              + "  -g, --generations N   stop after N generations (default 1000)\n"
+	                                              + "  -t, --time MS         stop after MS milliseconds\n"
+	                                              + "  -e, --evaluations N   stop after N evaluations of all swarms\n"
+	                                              + "      --plateau W EPS   stop a swarm improving by less than EPS over W generations\n"
+	                                              + "      --diversity D     stop a swarm gathered within D along every axis\n"
+	                                              + "  -w, --workers N       engine workers (default: one per processor)\n"
+	                                              + "  -s, --seed S          reproducible run from master seed S\n"
+	                                              + "  -n, --swarm-size N    particles per node (default 50)\n"
+	                                              + "  -j, --objective NAME  e.g. EQUIDISTANT, EQUIREPULSION, EQUICROSSING\n"
+	                                              + "      --theta T         Barnes-Hut accuracy for repulsion (default 0.5)\n"
+	                                              + "      --scalar          no SIMD kernels, even with --add-modules jdk.incubator.vector\n"
+	                                              + "  -v, --viewport W H    initial placement region (default 800 600)\n"
+	                                              + "  -f, --format FORMAT   EDGELIST, DOT or GRAPHML (default: from the file name)\n"
+	                                              + "  -o, --output FILE     write coordinates to FILE instead of stdout";
+
+	/** Collects the nodes and edges read. */
+	private final Graph.Builder	         builder;
+
+	/** The graph laid out, once {@link #run()} has been called. */
+	private Graph	                       graph;
+
+	/** One swarm per node, once {@link #run()} has been called. */
+	private Swarmable[]	                 swarms	     = new Swarmable[0];
+
+	private long	                       generations	= 1000;
+	private long	                       millis	     = 0;
+	private long	                       evaluations	= 0;
+	private int	                         window	     = 0;
+	private double	                     epsilon	   = 0;
+	private double	                     extent	     = 0;
+	private int	                         workers	   = 0;
+	private int	                         swarmSize	 = 50;
+	private int	                         objective	 = PlanarGraphLayoutProblem.EQUIDISTANT;
+	private double	                     theta	     = 0.5;
+	private double	                     width	     = 800;
+	private double	                     height	     = 600;
+	private long	                       seed;
+	private boolean	                     seeded	     = false;
+
+	/** Why the last {@link #run()} stopped early, if it did. */
+	private StoppingCriteria.Reason	     reason;
+}
@@ -0,0 +1,186 @@
+/**
+ * GraphSwarm: ByteScanner.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:21:35 PM
+ */
+package edu.marist.csmath.isag.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads a channel one byte at a time through a fixed buffer, counting lines,
+ * and collects the bytes of a token into a reusable array until it is turned
+ * into a string. However large the input, the scanner never holds more than
+ * its buffer and the longest token.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class ByteScanner
+{
+	/**
+	 * @param in
+	 *          source of the bytes, read until it is exhausted
+	 */
+	ByteScanner(ReadableByteChannel in)
+	{
+		this.in = in;
+		this.bytes = new byte[BUFFER_SIZE];
+		this.buffer = ByteBuffer.wrap(this.bytes);
+		this.token = new byte[64];
+	}
+
+	/**
+	 * @return the current line, counting from 1
+	 */
+	int line()
+	{
+		return this.line;
+	}
+
+	/**
+	 * Look at the next byte without consuming it.
+	 *
+	 * @return the next byte, or -1 at the end of the input
+	 * @throws IOException
+	 */
+	int peek() throws IOException
+	{
+		if (this.pos == this.limit && !fill()) return -1;
+		return this.bytes[this.pos] & 0xff;
+	}
+
+	/**
+	 * Consume the next byte.
+	 *
+	 * @return the byte consumed, or -1 at the end of the input
+	 * @throws IOException
+	 */
+	int read() throws IOException
+	{
+		if (this.pos == this.limit && !fill()) return -1;
+		int c = this.bytes[this.pos++] & 0xff;
+		if (c == '\n') ++this.line;
+		return c;
+	}
+
+	/**
+	 * Consume spaces, tabs and carriage returns, but not line feeds.
+	 *
+	 * @return the next byte, or -1 at the end of the input
+	 * @throws IOException
+	 */
+	int skipBlanks() throws IOException
+	{
+		int c;
+		while ((c = peek()) == ' ' || c == '\t' || c == '\r')
+			++this.pos;
+		return c;
+	}
+
+	/**
+	 * Consume everything up to and including the next line feed.
+	 *
+	 * @throws IOException
+	 */
+	void skipLine() throws IOException
+	{
+		int c;
+		while ((c = read()) >= 0 && c != '\n')
+			;
+	}
+
+	/**
+	 * Consume bytes up to the next white space, collecting them as the token.
+	 *
+	 * @return the token's length
+	 * @throws IOException
+	 */
+	int word() throws IOException
+	{
+		int c;
+		this.length = 0;
+		while ((c = peek()) >= 0 && c != ' ' && c != '\t' && c != '\r'
+		    && c != '\n')
+			{
+				append(c);
+				++this.pos;
+			}
+		return this.length;
+	}
+
+	/**
+	 * Add a byte to the token.
+	 *
+	 * @param c
+	 */
+	void append(int c)
+	{
+		if (this.length == this.token.length)
+		  this.token = Arrays.copyOf(this.token, 2 * this.length);
+		this.token[this.length++] = (byte) c;
+	}
+
+	/**
+	 * Forget the token collected so far.
+	 */
+	void clear()
+	{
+		this.length = 0;
+	}
+
+	/**
+	 * @return the token collected so far, decoded as UTF-8
+	 */
+	String text()
+	{
+		return new String(this.token, 0, this.length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Refill the buffer from the channel.
+	 *
+	 * @return false at the end of the input
+	 * @throws IOException
+	 */
+	private boolean fill() throws IOException
+	{
+		if (this.eof) return false;
+		this.buffer.clear();
+		int n;
+		while ((n = this.in.read(this.buffer)) == 0)
+			;
+		if (n < 0)
+			{
+				this.eof = true;
+				return false;
+			}
+		this.pos = 0;
+		this.limit = n;
+		return true;
+	}
+
+	/** Size of the read buffer. */
+	private static final int	          BUFFER_SIZE	= 1 << 16;
+
+	private final ReadableByteChannel	in;
+
+	/** The read buffer, and the same bytes as an array. */
+	private final ByteBuffer	         buffer;
+	private final byte[]	             bytes;
+
+	/** Next byte to be consumed, and the end of the bytes read. */
+	private int	                      pos, limit;
+
+	private boolean	                  eof;
+
+	private int	                      line	       = 1;
+
+	/** The token being collected. */
+	private byte[]	                   token;
+	private int	                      length;
+}
@@ -0,0 +1,373 @@
+/**
+ * GraphSwarm: DotParser.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:37:12 PM
+ */
+package edu.marist.csmath.isag.graph;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Streams the nodes and edges of graphs written in the DOT language into a
+ * {@link Graph.Builder}. Every graph in the input is read, directed or not,
+ * with its subgraphs flattened into it. Node, edge and graph attributes,
+ * ports and compass points are accepted and ignored. An edge to or from a
+ * subgraph stands for edges to or from each of its nodes.
+ *
+ * The parser looks one token ahead and keeps nothing but the node ids of the
+ * current edge statement, so memory does not grow with the input.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class DotParser
+{
+	/**
+	 * @param in
+	 *          the DOT source
+	 * @param into
+	 *          receives every node and edge
+	 */
+	DotParser(ReadableByteChannel in, Graph.Builder into)
+	{
+		this.in = new ByteScanner(in);
+		this.into = into;
+	}
+
+	/**
+	 * Read graphs until the end of the input.
+	 *
+	 * @throws IOException
+	 *           if the input cannot be read or is not DOT
+	 */
+	void parse() throws IOException
+	{
+		next();
+		while (this.tok != EOF)
+			{
+				if (isKeyword("strict")) next();
+				if (!isKeyword("graph") && !isKeyword("digraph"))
+				  throw error("expected graph or digraph");
+				next();
+				if (this.tok == ID) next();
+				expect('{');
+				statements(null);
+				expect('}');
+			}
+	}
+
+	/**
+	 * Read statements up to the closing brace of the current graph or
+	 * subgraph.
+	 *
+	 * @param collect
+	 *          receives every node mentioned, or null
+	 */
+	private void statements(IntList collect) throws IOException
+	{
+		IntList left = new IntList(), right = new IntList();
+		while (this.tok != '}')
+			{
+				if (this.tok == EOF) throw error("unexpected end of input");
+				if (this.tok == ';')
+					{
+						next();
+						continue;
+					}
+				if (isKeyword("graph") || isKeyword("node") || isKeyword("edge"))
+					{
+						next();
+						attributes();
+						continue;
+					}
+				if (!operand(left, collect)) continue;
+				while (this.tok == EDGEOP)
+					{
+						next();
+						if (!operand(right, collect)) throw error("expected node");
+						for (int i = 0; i < left.size; ++i)
+							for (int j = 0; j < right.size; ++j)
+								this.into.addEdge(left.ids[i], right.ids[j]);
+						IntList swap = left;
+						left = right;
+						right = swap;
+					}
+				attributes();
+			}
+	}
+
+	/**
+	 * Read a node id, with any port, or a subgraph, or an assignment to a
+	 * graph attribute.
+	 *
+	 * @param ids
+	 *          cleared, then receives the node, or every node of the subgraph
+	 * @param collect
+	 *          also receives the nodes, or null
+	 * @return false if the statement was an assignment
+	 */
+	private boolean operand(IntList ids, IntList collect) throws IOException
+	{
+		ids.size = 0;
+		if (this.tok == '{' || isKeyword("subgraph"))
+			{
+				if (this.tok != '{')
+					{
+						next();
+						if (this.tok == ID) next();
+					}
+				expect('{');
+				statements(ids);
+				expect('}');
+				if (collect != null) collect.addAll(ids);
+				return true;
+			}
+		if (this.tok != ID) throw error("expected node");
+		String name = this.text;
+		next();
+		if (this.tok == '=')
+			{
+				next();
+				if (this.tok != ID) throw error("expected value");
+				next();
+				return false;
+			}
+		int id = this.into.addNode(name);
+		ids.add(id);
+		if (collect != null) collect.add(id);
+		while (this.tok == ':')
+			{
+				next();
+				if (this.tok != ID) throw error("expected port");
+				next();
+			}
+		return true;
+	}
+
+	/**
+	 * Skip any attribute lists.
+	 */
+	private void attributes() throws IOException
+	{
+		while (this.tok == '[')
+			{
+				do
+					{
+						next();
+						if (this.tok == EOF) throw error("unexpected end of input");
+					}
+				while (this.tok != ']');
+				next();
+			}
+	}
+
+	private void expect(int t) throws IOException
+	{
+		if (this.tok != t) throw error("expected '" + (char) t + "'");
+		next();
+	}
+
+	/**
+	 * Determines whether the current token is the specified keyword, which is
+	 * not case sensitive and never quoted.
+	 */
+	private boolean isKeyword(String keyword)
+	{
+		return this.tok == ID && !this.quoted
+		    && this.text.equalsIgnoreCase(keyword);
+	}
+
+	private IOException error(String message)
+	{
+		return new IOException("line " + this.line + ": " + message);
+	}
+
+	/**
+	 * Read the next token into {@link #tok}, and its text if it is an ID.
+	 */
+	private void next() throws IOException
+	{
+		ByteScanner s = this.in;
+		int c = skipSpace();
+		this.line = s.line();
+		this.quoted = false;
+		if (c < 0)
+			{
+				this.tok = EOF;
+				return;
+			}
+		s.clear();
+		if (c == '"')
+			{
+				s.read();
+				quotedString();
+				// "a" + "b" is a single ID
+				while (skipSpace() == '+')
+					{
+						s.read();
+						if (skipSpace() != '"') throw error("expected string");
+						s.read();
+						quotedString();
+					}
+				this.tok = ID;
+				this.quoted = true;
+				this.text = s.text();
+				return;
+			}
+		if (c == '<')
+			{
+				s.read();
+				for (int depth = 1; depth > 0;)
+					{
+						c = s.read();
+						if (c < 0) throw error("unterminated HTML string");
+						if (c == '<') ++depth;
+						if (c == '>' && --depth == 0) break;
+						s.append(c);
+					}
+				this.tok = ID;
+				this.quoted = true;
+				this.text = s.text();
+				return;
+			}
+		if (c == '-')
+			{
+				s.read();
+				int d = s.peek();
+				if (d == '-' || d == '>')
+					{
+						s.read();
+						this.tok = EDGEOP;
+						return;
+					}
+				if (!isIdByte(d)) throw error("unexpected '-'");
+				s.append(c);
+				c = d;
+			}
+		if (isIdByte(c))
+			{
+				while (isIdByte(c = s.peek()))
+					{
+						s.append(c);
+						s.read();
+					}
+				this.tok = ID;
+				this.text = s.text();
+				return;
+			}
+		s.read();
+		this.tok = c;
+	}
+
+	/**
+	 * Collect the rest of a quoted string, whose opening quote has been
+	 * consumed. Escaped quotes are unescaped and escaped line ends removed;
+	 * other escapes are kept as they are.
+	 */
+	private void quotedString() throws IOException
+	{
+		ByteScanner s = this.in;
+		int c;
+		while ((c = s.read()) != '"')
+			{
+				if (c < 0) throw error("unterminated string");
+				if (c == '\\')
+					{
+						int d = s.read();
+						if (d == '\n') continue;
+						if (d == '\r' && s.peek() == '\n')
+							{
+								s.read();
+								continue;
+							}
+						if (d != '"') s.append(c);
+						if (d >= 0) s.append(d);
+						continue;
+					}
+				s.append(c);
+			}
+	}
+
+	/**
+	 * Skip white space and comments.
+	 *
+	 * @return the next byte, or -1 at the end of the input
+	 */
+	private int skipSpace() throws IOException
+	{
+		ByteScanner s = this.in;
+		int c;
+		while ((c = s.peek()) >= 0)
+			{
+				if (c == ' ' || c == '\t' || c == '\r' || c == '\n')
+					s.read();
+				else if (c == '#')
+					s.skipLine();
+				else if (c == '/')
+					{
+						s.read();
+						int d = s.read();
+						if (d == '/')
+							s.skipLine();
+						else if (d == '*')
+							{
+								int prev = 0;
+								while ((d = s.read()) >= 0 && !(prev == '*' && d == '/'))
+									prev = d;
+							}
+						else
+							throw error("unexpected '/'");
+					}
+				else
+					break;
+			}
+		return c;
+	}
+
+	/**
+	 * Determines whether the byte may be part of an unquoted ID or numeral:
+	 * letters, digits, underscores, points and any byte of a multi-byte UTF-8
+	 * character.
+	 */
+	private static boolean isIdByte(int c)
+	{
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+		    || (c >= '0' && c <= '9') || c == '_' || c == '.' || c >= 0x80;
+	}
+
+	/**
+	 * A growable list of node ids.
+	 */
+	private static final class IntList
+	{
+		void add(int id)
+		{
+			if (this.size == this.ids.length)
+			  this.ids = Arrays.copyOf(this.ids, 2 * this.size);
+			this.ids[this.size++] = id;
+		}
+
+		void addAll(IntList list)
+		{
+			for (int i = 0; i < list.size; ++i)
+				add(list.ids[i]);
+		}
+
+		int[]	ids	= new int[4];
+		int	  size;
+	}
+
+	/** Token types other than single characters. */
+	private static final int	  EOF	   = -1, ID = -2, EDGEOP = -3;
+
+	private final ByteScanner	 in;
+	private final Graph.Builder	into;
+
+	/** The current token, its text if it is an ID, and where it starts. */
+	private int	              tok;
+	private String	           text;
+	private boolean	          quoted;
+	private int	              line;
+}
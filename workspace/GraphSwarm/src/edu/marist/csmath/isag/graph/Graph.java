@@ -0,0 +1,300 @@
+/**
+ * GraphSwarm: Graph.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 9:34:26 PM
+ */
+package edu.marist.csmath.isag.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable undirected graph with dense node ids, 0 to n-1, stored in
+ * compressed sparse row form: the neighbours of node u are
+ * {@code getTarget(e)} for e from {@code getOffset(u)} up to
+ * {@code getOffset(u + 1)}, in increasing order of id. Each edge therefore
+ * appears twice, once from each end. There are no self loops and no repeated
+ * edges.
+ *
+ * Two int arrays hold the whole adjacency, so a graph with 10^5 edges takes
+ * under a megabyte and its neighbours are walked without chasing pointers.
+ * Graphs are made with a {@link Builder}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class Graph
+{
+	/**
+	 * @param names
+	 *          name of each node, by id
+	 * @param offsets
+	 *          start of each node's neighbours in targets, plus the end
+	 * @param targets
+	 *          neighbours of every node, node by node
+	 */
+	private Graph(String[] names, int[] offsets, int[] targets)
+	{
+		this.names = names;
+		this.offsets = offsets;
+		this.targets = targets;
+		this.ids = new HashMap<String, Integer>(2 * names.length);
+		for (int u = 0; u < names.length; ++u)
+			this.ids.put(names[u], u);
+	}
+
+	/**
+	 * Get the number of neighbours of a node.
+	 *
+	 * @param u
+	 *          node id
+	 * @return degree of the node
+	 */
+	public int getDegree(int u)
+	{
+		return this.offsets[u + 1] - this.offsets[u];
+	}
+
+	/**
+	 * Get the number of edges, each counted once.
+	 *
+	 * @return edge count
+	 */
+	public int getEdgeCount()
+	{
+		return this.targets.length / 2;
+	}
+
+	/**
+	 * Get the name of a node.
+	 *
+	 * @param u
+	 *          node id
+	 * @return the node's name
+	 */
+	public String getName(int u)
+	{
+		return this.names[u];
+	}
+
+	/**
+	 * Get the number of nodes.
+	 *
+	 * @return node count
+	 */
+	public int getNodeCount()
+	{
+		return this.names.length;
+	}
+
+	/**
+	 * Get the position of a node's first neighbour among the targets. The
+	 * position just past its last neighbour is the offset of the next node,
+	 * and {@code getOffset(getNodeCount())} is the number of targets.
+	 *
+	 * @param u
+	 *          node id, from 0 to {@link #getNodeCount()} inclusive
+	 * @return offset of the node's neighbours
+	 */
+	public int getOffset(int u)
+	{
+		return this.offsets[u];
+	}
+
+	/**
+	 * Get the node at the far end of an edge.
+	 *
+	 * @param e
+	 *          position among the targets, see {@link #getOffset(int)}
+	 * @return id of the neighbour
+	 */
+	public int getTarget(int e)
+	{
+		return this.targets[e];
+	}
+
+	/**
+	 * Look up a node by name.
+	 *
+	 * @param name
+	 * @return the node's id, or -1 if there is no such node
+	 */
+	public int indexOf(String name)
+	{
+		Integer id = this.ids.get(name);
+		return (id == null ? -1 : id);
+	}
+
+	/**
+	 * Determines whether two nodes are adjacent.
+	 *
+	 * @param u
+	 * @param v
+	 * @return true if there is an edge between the nodes
+	 */
+	public boolean isAdjacent(int u, int v)
+	{
+		return Arrays.binarySearch(this.targets, this.offsets[u],
+		    this.offsets[u + 1], v) >= 0;
+	}
+
+	/** Printable string */
+	@Override
+	public String toString()
+	{
+		return "Graph(" + getNodeCount() + " nodes, " + getEdgeCount() + " edges)";
+	}
+
+	/**
+	 * Collects nodes and edges, in any order, and builds a {@link Graph} from
+	 * them. Nodes are numbered in the order they are first added. Edges are
+	 * undirected; self loops and repeated edges are ignored. A builder is not
+	 * thread-safe.
+	 */
+	public static final class Builder
+	{
+		/**
+		 * Create a builder with no nodes.
+		 */
+		public Builder()
+		{
+			this.names = new ArrayList<String>();
+			this.ids = new HashMap<String, Integer>();
+			this.ends = new int[64];
+		}
+
+		/**
+		 * Add an edge between two nodes, adding either node if it is new.
+		 *
+		 * @param from
+		 *          name of one end
+		 * @param to
+		 *          name of the other end
+		 * @return this builder
+		 */
+		public Builder addEdge(String from, String to)
+		{
+			return addEdge(addNode(from), addNode(to));
+		}
+
+		/**
+		 * Add an edge between two nodes already added.
+		 *
+		 * @param u
+		 *          id of one end
+		 * @param v
+		 *          id of the other end
+		 * @return this builder
+		 */
+		public Builder addEdge(int u, int v)
+		{
+			int n = this.names.size();
+			if (u < 0 || u >= n || v < 0 || v >= n)
+			  throw new IndexOutOfBoundsException("no such node: "
+			      + (u < 0 || u >= n ? u : v));
+			if (u == v) return this;
+			if (this.size + 2 > this.ends.length)
+			  this.ends = Arrays.copyOf(this.ends, 2 * this.ends.length);
+			this.ends[this.size++] = u;
+			this.ends[this.size++] = v;
+			return this;
+		}
+
+		/**
+		 * Add a node, unless one with the same name has already been added.
+		 *
+		 * @param name
+		 * @return the node's id
+		 */
+		public int addNode(String name)
+		{
+			Integer id = this.ids.get(name);
+			if (id == null)
+				{
+					id = this.names.size();
+					this.ids.put(name, id);
+					this.names.add(name);
+				}
+			return id;
+		}
+
+		/**
+		 * Get the number of nodes added so far.
+		 *
+		 * @return node count
+		 */
+		public int getNodeCount()
+		{
+			return this.names.size();
+		}
+
+		/**
+		 * Build a graph of the nodes and edges added so far. The builder may go
+		 * on being used.
+		 *
+		 * @return a new graph
+		 */
+		public Graph build()
+		{
+			int n = this.names.size();
+
+			// count both directions of every edge, then place them by source
+			int[] offsets = new int[n + 1];
+			for (int k = 0; k < this.size; ++k)
+				++offsets[this.ends[k] + 1];
+			for (int u = 0; u < n; ++u)
+				offsets[u + 1] += offsets[u];
+			int[] targets = new int[this.size];
+			int[] fill = Arrays.copyOf(offsets, n);
+			for (int k = 0; k < this.size; k += 2)
+				{
+					int u = this.ends[k], v = this.ends[k + 1];
+					targets[fill[u]++] = v;
+					targets[fill[v]++] = u;
+				}
+
+			// sort each node's neighbours and squeeze out repeats, in place
+			int out = 0;
+			for (int u = 0; u < n; ++u)
+				{
+					int first = offsets[u], last = offsets[u + 1];
+					Arrays.sort(targets, first, last);
+					offsets[u] = out;
+					for (int e = first; e < last; ++e)
+						if (e == first || targets[e] != targets[e - 1])
+						  targets[out++] = targets[e];
+				}
+			offsets[n] = out;
+
+			return new Graph(this.names.toArray(new String[n]), offsets,
+			    (out == targets.length ? targets : Arrays.copyOf(targets, out)));
+		}
+
+		/** Name of each node, by id. */
+		private final List<String>	       names;
+
+		/** Id of each node, by name. */
+		private final Map<String, Integer>	ids;
+
+		/** Ends of every edge added, in pairs. */
+		private int[]	                     ends;
+
+		/** Number of ends used. */
+		private int	                       size;
+	}
+
+	/** Name of each node, by id. */
+	private final String[]	           names;
+
+	/** Id of each node, by name. */
+	private final Map<String, Integer>	ids;
+
+	/** Start of each node's neighbours in targets, then the number of targets. */
+	private final int[]	              offsets;
+
+	/** Neighbours of every node, node by node, each in increasing order. */
+	private final int[]	              targets;
+}
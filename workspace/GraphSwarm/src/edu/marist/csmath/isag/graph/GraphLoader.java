@@ -0,0 +1,268 @@
+/**
+ * GraphSwarm: GraphLoader.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:12:53 PM
+ */
+package edu.marist.csmath.isag.graph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads graph files into a {@link Graph.Builder}. Every format is streamed
+ * through a fixed buffer straight into the builder: no document tree is built
+ * and nothing is kept per edge but the builder's two ints, so graphs with
+ * millions of edges load in seconds, in memory proportional to the graph.
+ *
+ * Three formats are understood:
+ * <ul>
+ * <li>edge lists, one edge per line given as two node names separated by
+ * white space; anything after the second name is ignored, as are blank lines
+ * and lines starting with '#' or '%';</li>
+ * <li>DOT, see {@link DotParser};</li>
+ * <li>GraphML, of which only the ids of nodes and the ends of edges are
+ * read.</li>
+ * </ul>
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class GraphLoader
+{
+	/**
+	 * Formats of graph files.
+	 */
+	public enum Format
+	{
+		EDGELIST, DOT, GRAPHML;
+
+		/**
+		 * Guess the format of a file from its name: .dot and .gv are DOT,
+		 * .graphml and .xml are GraphML and anything else is an edge list. A
+		 * trailing .gz is ignored.
+		 *
+		 * @param fileName
+		 * @return the format
+		 */
+		public static Format of(String fileName)
+		{
+			String name = fileName.toLowerCase();
+			if (name.endsWith(".gz")) name = name.substring(0, name.length() - 3);
+			if (name.endsWith(".dot") || name.endsWith(".gv")) return DOT;
+			if (name.endsWith(".graphml") || name.endsWith(".xml")) return GRAPHML;
+			return EDGELIST;
+		}
+	}
+
+	private GraphLoader()
+	{}
+
+	/**
+	 * Load a graph from a file whose format is guessed from its name; see
+	 * {@link Format#of(String)}. Files whose name ends in .gz are decompressed.
+	 *
+	 * @param file
+	 * @return the graph
+	 * @throws IOException
+	 *           if the file cannot be read or is not in the expected format
+	 */
+	public static Graph load(Path file) throws IOException
+	{
+		return load(file, Format.of(file.getFileName().toString()));
+	}
+
+	/**
+	 * Load a graph from a file in the specified format. Files whose name ends
+	 * in .gz are decompressed.
+	 *
+	 * @param file
+	 * @param format
+	 * @return the graph
+	 * @throws IOException
+	 *           if the file cannot be read or is not in the specified format
+	 */
+	public static Graph load(Path file, Format format) throws IOException
+	{
+		Graph.Builder builder = new Graph.Builder();
+		try (ReadableByteChannel in = open(file))
+			{
+				read(in, format, builder);
+			}
+		return builder.build();
+	}
+
+	/**
+	 * Open a file for reading, decompressing it if its name ends in .gz.
+	 *
+	 * @param file
+	 * @return a channel reading the file's contents
+	 * @throws IOException
+	 */
+	public static ReadableByteChannel open(Path file) throws IOException
+	{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		if (!file.getFileName().toString().toLowerCase().endsWith(".gz"))
+		  return channel;
+		try
+			{
+				return Channels.newChannel(new GZIPInputStream(Channels
+				    .newInputStream(channel), 1 << 16));
+			}
+		catch (IOException exc)
+			{
+				channel.close();
+				throw exc;
+			}
+	}
+
+	/**
+	 * Read a graph in the specified format, adding its nodes and edges to a
+	 * builder.
+	 *
+	 * @param in
+	 *          source of the graph, read to the end but not closed
+	 * @param format
+	 * @param into
+	 *          receives the nodes and edges
+	 * @throws IOException
+	 *           if the input cannot be read or is not in the specified format
+	 */
+	public static void read(ReadableByteChannel in, Format format,
+	    Graph.Builder into) throws IOException
+	{
+		switch (format)
+		{
+		case DOT:
+			readDot(in, into);
+			break;
+		case GRAPHML:
+			readGraphML(in, into);
+			break;
+		default:
+			readEdgeList(in, into);
+			break;
+		}
+	}
+
+	/**
+	 * Read the graphs of a DOT file.
+	 *
+	 * @param in
+	 * @param into
+	 * @throws IOException
+	 */
+	public static void readDot(ReadableByteChannel in, Graph.Builder into)
+	    throws IOException
+	{
+		new DotParser(in, into).parse();
+	}
+
+	/**
+	 * Read an edge list.
+	 *
+	 * @param in
+	 * @param into
+	 * @throws IOException
+	 */
+	public static void readEdgeList(ReadableByteChannel in, Graph.Builder into)
+	    throws IOException
+	{
+		ByteScanner s = new ByteScanner(in);
+		int c;
+		while ((c = s.skipBlanks()) >= 0)
+			{
+				if (c == '\n')
+					{
+						s.read();
+						continue;
+					}
+				if (c == '#' || c == '%')
+					{
+						s.skipLine();
+						continue;
+					}
+				s.word();
+				String from = s.text();
+				c = s.skipBlanks();
+				if (c < 0 || c == '\n')
+				  throw new IOException("line " + s.line() + ": expected two nodes");
+				s.word();
+				into.addEdge(from, s.text());
+				s.skipLine();
+			}
+	}
+
+	/**
+	 * Read the nodes and edges of a GraphML file, including those of nested
+	 * graphs. Hyperedges, ports and data are ignored, and no DTD or external
+	 * entity is ever loaded.
+	 *
+	 * @param in
+	 * @param into
+	 * @throws IOException
+	 */
+	public static void readGraphML(ReadableByteChannel in, Graph.Builder into)
+	    throws IOException
+	{
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		InputStream stream = Channels.newInputStream(in);
+		XMLStreamReader xml = null;
+		try
+			{
+				xml = factory.createXMLStreamReader(stream);
+				while (xml.hasNext())
+					{
+						if (xml.next() != XMLStreamConstants.START_ELEMENT) continue;
+						String element = xml.getLocalName();
+						if (element.equals("node"))
+							{
+								String id = xml.getAttributeValue(null, "id");
+								if (id == null) throw error(xml, "node without an id");
+								into.addNode(id);
+							}
+						else if (element.equals("edge"))
+							{
+								String source = xml.getAttributeValue(null, "source");
+								String target = xml.getAttributeValue(null, "target");
+								if (source == null || target == null)
+								  throw error(xml, "edge without source or target");
+								into.addEdge(source, target);
+							}
+					}
+			}
+		catch (XMLStreamException exc)
+			{
+				throw new IOException(exc.getMessage(), exc);
+			}
+		finally
+			{
+				if (xml != null) try
+					{
+						xml.close();
+					}
+				catch (XMLStreamException exc)
+					{
+						; // nothing was being written
+					}
+			}
+	}
+
+	private static IOException error(XMLStreamReader xml, String message)
+	{
+		return new IOException("line " + xml.getLocation().getLineNumber() + ": "
+		    + message);
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ * GraphSwarm: BatchKernels.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 4:11:36 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import edu.marist.csmath.isag.swarm.Vectorization;
+
+/**
+ * The loops of the planar objectives over a whole swarm, shared by the
+ * {@link BatchObjective}s of {@link PlanarGraphLayoutProblem},
+ * {@link GraphLayoutProblem} and {@link FusedObjective}. Positions arrive in
+ * columns, see {@link BatchObjective}, and neighbours as two packed arrays of
+ * coordinates, so every loop runs over contiguous doubles with no calls or
+ * branches in its body.
+ *
+ * The distance objectives take the least and greatest squared distance and
+ * the square root of only those two; the root being monotonic, the scores are
+ * those of the scalar objectives to the last bit.
+ *
+ * When {@link Vectorization#isEnabled()}, the particles are scored a vector
+ * at a time by {@link VectorBatchKernels}, and only those left over by the
+ * loops here.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class BatchKernels
+{
+	private BatchKernels()
+	{}
+
+	/**
+	 * Score particles as {@link PlanarGraphLayoutProblem#ADJACENT}.
+	 */
+	static void adjacent(double[] positions, int stride, int count, double[] xs,
+	    double[] ys, int n, double[] fitness)
+	{
+		int k = (Vectorization.isEnabled() ? VectorBatchKernels.adjacent(
+		    positions, stride, count, xs, ys, n, fitness) : 0);
+		for (; k < count; ++k)
+			{
+				double x = positions[k], y = positions[stride + k];
+				double min2 = Double.POSITIVE_INFINITY;
+				double max2 = Double.NEGATIVE_INFINITY;
+				for (int j = 0; j < n; ++j)
+					{
+						double dx = x - xs[j], dy = y - ys[j];
+						double d2 = dx * dx + dy * dy;
+						min2 = Math.min(min2, d2);
+						max2 = Math.max(max2, d2);
+					}
+				fitness[k] = adjacent(Math.sqrt(min2), Math.sqrt(max2));
+			}
+	}
+
+	/**
+	 * @return the score of {@link PlanarGraphLayoutProblem#ADJACENT} given the
+	 *         least and greatest distance to a neighbour
+	 */
+	static double adjacent(double min, double max)
+	{
+		double score = (max - min) / max; // compute normalized difference
+		score += (Math.abs(min - 210) / 210) * (Math.abs(max - 250) / 250);
+		return score / 2;
+	}
+
+	/**
+	 * Score particles as {@link PlanarGraphLayoutProblem#CENTER}.
+	 */
+	static void center(double[] positions, int stride, int count, double cx,
+	    double cy, double[] fitness)
+	{
+		int k = (Vectorization.isEnabled() ? VectorBatchKernels.center(
+		    positions, stride, count, cx, cy, fitness) : 0);
+		for (; k < count; ++k)
+			{
+				double dx = positions[k] - cx, dy = positions[stride + k] - cy;
+				fitness[k] = center(Math.sqrt(dx * dx + dy * dy));
+			}
+	}
+
+	/**
+	 * @return the score of {@link PlanarGraphLayoutProblem#CENTER} given the
+	 *         distance to the neighbours' centroid
+	 */
+	static double center(double dist)
+	{
+		return dist / Math.max(300, dist); // normalize difference
+	}
+
+	/**
+	 * Score particles as {@link PlanarGraphLayoutProblem#EQUIDISTANT}.
+	 */
+	static void equidistant(double[] positions, int stride, int count,
+	    double[] xs, double[] ys, int n, double[] fitness)
+	{
+		int k = (Vectorization.isEnabled() ? VectorBatchKernels.equidistant(
+		    positions, stride, count, xs, ys, n, fitness) : 0);
+		for (; k < count; ++k)
+			{
+				double x = positions[k], y = positions[stride + k];
+				double min2 = Double.POSITIVE_INFINITY;
+				double max2 = Double.NEGATIVE_INFINITY;
+				for (int j = 0; j < n; ++j)
+					{
+						double dx = x - xs[j], dy = y - ys[j];
+						double d2 = dx * dx + dy * dy;
+						min2 = Math.min(min2, d2);
+						max2 = Math.max(max2, d2);
+					}
+				fitness[k] = equidistant(Math.sqrt(min2), Math.sqrt(max2));
+			}
+	}
+
+	/**
+	 * @return the score of {@link PlanarGraphLayoutProblem#EQUIDISTANT} given
+	 *         the least and greatest distance to a neighbour
+	 */
+	static double equidistant(double min, double max)
+	{
+		if (max > 320 || min < 80) return 1;
+		return (max - min) / max; // compute normalized difference
+	}
+
+	/**
+	 * Find the least and greatest distance from each particle to the
+	 * neighbours, as both distance objectives need them.
+	 *
+	 * @param min
+	 * @param max
+	 *          receive the distances of the k-th particle at index k
+	 */
+	static void range(double[] positions, int stride, int count, double[] xs,
+	    double[] ys, int n, double[] min, double[] max)
+	{
+		int k = (Vectorization.isEnabled() ? VectorBatchKernels.range(positions,
+		    stride, count, xs, ys, n, min, max) : 0);
+		for (; k < count; ++k)
+			{
+				double x = positions[k], y = positions[stride + k];
+				double min2 = Double.POSITIVE_INFINITY;
+				double max2 = Double.NEGATIVE_INFINITY;
+				for (int j = 0; j < n; ++j)
+					{
+						double dx = x - xs[j], dy = y - ys[j];
+						double d2 = dx * dx + dy * dy;
+						min2 = Math.min(min2, d2);
+						max2 = Math.max(max2, d2);
+					}
+				min[k] = Math.sqrt(min2);
+				max[k] = Math.sqrt(max2);
+			}
+	}
+
+	/**
+	 * Score particles as {@link PlanarGraphLayoutProblem#VIEWCENTER}.
+	 */
+	static void viewCenter(double[] positions, int stride, int count,
+	    double[] fitness)
+	{
+		double cx = PlanarGraphLayoutProblem.VIEW_CENTER[0];
+		double cy = PlanarGraphLayoutProblem.VIEW_CENTER[1];
+		int k = (Vectorization.isEnabled() ? VectorBatchKernels.viewCenter(
+		    positions, stride, count, fitness) : 0);
+		for (; k < count; ++k)
+			{
+				double dx = positions[k] - cx, dy = positions[stride + k] - cy;
+				fitness[k] = viewCenter(Math.sqrt(dx * dx + dy * dy));
+			}
+	}
+
+	/**
+	 * @return the score of {@link PlanarGraphLayoutProblem#VIEWCENTER} given
+	 *         the distance to the center of the view
+	 */
+	static double viewCenter(double dist)
+	{
+		return dist / Math.max(400, dist); // normalize difference
+	}
+}
@@ -0,0 +1,44 @@
+/**
+ * GraphSwarm: BatchObjective.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 4:02:50 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * An objective that can score every particle of a swarm in one call, reading
+ * their positions from the swarm's own columns rather than particle by
+ * particle. Whatever does not change from one particle to the next, such as
+ * the positions of the node's neighbours, is then fetched once per swarm, and
+ * the loop over the particles is left to the compiler to vectorize.
+ *
+ * A swarm engine uses the batch form whenever a swarm's objective offers it,
+ * and otherwise falls back to {@link Objective#computeFitness(Swarmable)}
+ * for each particle, so scalar objectives keep working unchanged. Both forms
+ * must give the same scores.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public interface BatchObjective extends Objective
+{
+	/**
+	 * Calculate fitness scores for several particles of one swarm.
+	 *
+	 * @param swarm
+	 *          any particle of the swarm scored
+	 * @param positions
+	 *          coordinate c of the k-th particle at
+	 *          {@code positions[c * stride + k]}
+	 * @param stride
+	 *          distance between the columns of successive coordinates
+	 * @param count
+	 *          number of particles to score
+	 * @param fitness
+	 *          receives the score of the k-th particle at {@code fitness[k]}
+	 */
+	public void computeFitness(Swarmable swarm, double[] positions, int stride,
+	    int count, double[] fitness);
+}
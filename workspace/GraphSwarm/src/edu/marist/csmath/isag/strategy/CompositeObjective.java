@@ -12,7 +12,7 @@ import edu.marist.csmath.isag.swarm.Swarmable;
  * Provides a convenient means of composing two distinct objective functions.
  * This is useful for testing purposes, but it may be inefficient. Some
  * objectives may have overlapping computations, in which case an specialized
- * implementation can avoid repeating the same work.
+ * implementation can avoid repeating the same work; see {@link FusedObjective}.
  * 
  * @author M Johnson, S Khanal, S Sampath
  */
@@ -69,9 +69,10 @@ public class CompositeObjective implements Objective
 		default: /* fall-through! */
 		case ADDITIVE:
 			score = (f.computeFitness(agent) + g.computeFitness(agent)) / 2;
+			break;
 		case MULTIPLICATIVE:
 			score = Math.sqrt(f.computeFitness(agent) * g.computeFitness(agent));
-
+			break;
 		}
 		return score;
 	}
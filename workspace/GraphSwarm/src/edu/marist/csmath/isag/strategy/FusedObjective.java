@@ -0,0 +1,564 @@
+/**
+ * GraphSwarm: FusedObjective.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 3:07:21 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * A weighted combination of any of the objectives of
+ * {@link PlanarGraphLayoutProblem}, evaluated in a single pass for one node
+ * whose neighbours are read from a {@link LeaderSnapshot}. Where nested
+ * {@link CompositeObjective}s call each of their parts in turn, walking the
+ * neighbours once per part, this computes the quantities the parts share
+ * once: the distances to the neighbours, from which both the equidistant and
+ * the adjacent scores follow, and the neighbours' centroid, from a
+ * {@link LeaderAggregates}. The scores are then combined by walking a flat
+ * table built with a {@link Builder}, rather than by calls through nested
+ * objectives, so that the whole expression is one small method the compiler
+ * can inline. Scoring a whole swarm at once, the neighbours' positions and
+ * centroid are fetched once for all of its particles, and the distances to
+ * them are kept in scratch columns sized to the swarm's capacity and reused
+ * from one call to the next; so an objective scores one swarm at a time, as
+ * a {@link edu.marist.csmath.isag.swarm.SwarmEngine} does.
+ *
+ * Scores are combined by weighted means: a group of parts is either
+ * {@link CompositeObjective#ADDITIVE}, the weighted arithmetic mean, or
+ * {@link CompositeObjective#MULTIPLICATIVE}, the weighted geometric mean.
+ * With equal weights these are what a {@link CompositeObjective} of two
+ * parts computes, to the last bit.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class FusedObjective implements BatchObjective
+{
+	/**
+	 * Builds a {@link FusedObjective} part by part. A group is opened with
+	 * {@link #begin(int, double)} and closed with {@link #end()}; parts added
+	 * in between are combined by the group's operation. The outermost group
+	 * is opened by the constructor.
+	 */
+	public static final class Builder
+	{
+		/**
+		 * Start an expression for the specified node.
+		 *
+		 * @param snapshot
+		 *          positions of every node
+		 * @param node
+		 *          id of the node solved for in the snapshot, or -1 to look it up
+		 *          from the first particle scored
+		 * @param neighbours
+		 *          ids of the node's neighbours in the snapshot
+		 * @param operation
+		 *          how the outermost group combines its parts
+		 */
+		public Builder(LeaderSnapshot snapshot, int node, int[] neighbours,
+		    int operation)
+		{
+			this(aggregate(snapshot, neighbours), node, operation);
+		}
+
+		/**
+		 * Start an expression for the specified node, sharing the cache of its
+		 * neighbours' positions that its {@link Neighbourhood} already keeps.
+		 *
+		 * @param neighbours
+		 *          aggregates of the node's neighbours in the snapshot
+		 * @param node
+		 *          id of the node solved for in the snapshot, or -1 to look it up
+		 *          from the first particle scored
+		 * @param operation
+		 *          how the outermost group combines its parts
+		 */
+		public Builder(LeaderAggregates neighbours, int node, int operation)
+		{
+			this.neighbours = neighbours;
+			this.snapshot = neighbours.getSnapshot();
+			this.node = node;
+			add(GROUP, operation, 1);
+			this.open.add(0);
+		}
+
+		/**
+		 * Open a group within the current one.
+		 *
+		 * @param operation
+		 *          {@link CompositeObjective#ADDITIVE} or
+		 *          {@link CompositeObjective#MULTIPLICATIVE}
+		 * @param weight
+		 *          weight of the group within the current one
+		 * @return this builder
+		 */
+		public Builder begin(int operation, double weight)
+		{
+			this.open.add(add(GROUP, operation, weight));
+			return this;
+		}
+
+		/**
+		 * Close the current group.
+		 *
+		 * @return this builder
+		 */
+		public Builder end()
+		{
+			if (this.open.size() == 1)
+			  throw new IllegalStateException("no group to end");
+			close(this.open.remove(this.open.size() - 1));
+			return this;
+		}
+
+		/**
+		 * Add an objective to the current group.
+		 *
+		 * @param objType
+		 *          {@link PlanarGraphLayoutProblem#EQUIDISTANT},
+		 *          {@link PlanarGraphLayoutProblem#CENTER},
+		 *          {@link PlanarGraphLayoutProblem#VIEWCENTER},
+		 *          {@link PlanarGraphLayoutProblem#ADJACENT},
+		 *          {@link PlanarGraphLayoutProblem#REPULSION} or
+		 *          {@link PlanarGraphLayoutProblem#CROSSING}
+		 * @param weight
+		 *          weight of the objective within the group
+		 * @return this builder
+		 */
+		public Builder term(int objType, double weight)
+		{
+			switch (objType)
+			{
+			case PlanarGraphLayoutProblem.EQUIDISTANT:
+			case PlanarGraphLayoutProblem.CENTER:
+			case PlanarGraphLayoutProblem.VIEWCENTER:
+			case PlanarGraphLayoutProblem.ADJACENT:
+			case PlanarGraphLayoutProblem.REPULSION:
+			case PlanarGraphLayoutProblem.CROSSING:
+				add(objType, 0, weight);
+				return this;
+			default:
+				throw new IllegalArgumentException("not a single objective: "
+				    + objType);
+			}
+		}
+
+		/**
+		 * Close every open group and make the objective.
+		 *
+		 * @return the objective
+		 */
+		public FusedObjective build()
+		{
+			while (this.open.size() > 0)
+				close(this.open.remove(this.open.size() - 1));
+			return new FusedObjective(this);
+		}
+
+		/**
+		 * Append a part to the current group, or make the root.
+		 *
+		 * @return index of the part
+		 */
+		private int add(int kind, int operation, double weight)
+		{
+			if (!(weight > 0))
+			  throw new IllegalArgumentException("weight must be positive: "
+			      + weight);
+			if (kind == GROUP && operation != CompositeObjective.ADDITIVE
+			    && operation != CompositeObjective.MULTIPLICATIVE)
+			  throw new IllegalArgumentException("no such operation: " + operation);
+			int n = this.kinds.size();
+			this.kinds.add(kind);
+			this.operations.add(operation);
+			this.weights.add(weight);
+			this.children.add(-1);
+			this.siblings.add(-1);
+			if (n > 0)
+				{
+					int parent = this.open.get(this.open.size() - 1);
+					int last = this.children.get(parent);
+					if (last < 0)
+						this.children.set(parent, n);
+					else
+						{
+							while (this.siblings.get(last) >= 0)
+								last = this.siblings.get(last);
+							this.siblings.set(last, n);
+						}
+				}
+			return n;
+		}
+
+		private void close(int group)
+		{
+			if (this.children.get(group) < 0)
+			  throw new IllegalStateException("empty group");
+		}
+
+		private final LeaderSnapshot	  snapshot;
+		private final int	             node;
+		private final LeaderAggregates	neighbours;
+
+		/** The parts of the expression, by index; 0 is the outermost group. */
+		private final List<Integer>	 kinds	     = new ArrayList<Integer>();
+		private final List<Integer>	 operations	= new ArrayList<Integer>();
+		private final List<Double>	  weights	   = new ArrayList<Double>();
+		private final List<Integer>	 children	  = new ArrayList<Integer>();
+		private final List<Integer>	 siblings	  = new ArrayList<Integer>();
+
+		/** Groups not yet ended, innermost last. */
+		private final List<Integer>	 open	      = new ArrayList<Integer>();
+	}
+
+	/**
+	 * Make the fused form of an objective type of
+	 * {@link PlanarGraphLayoutProblem}, combining its parts as the problem's
+	 * {@link CompositeObjective}s would.
+	 *
+	 * @param objType
+	 *          one of the objective types; unknown types are
+	 *          {@link PlanarGraphLayoutProblem#EQUIDISTANT}
+	 * @param snapshot
+	 *          positions of every node
+	 * @param node
+	 *          id of the node solved for, or -1 to look it up
+	 * @param neighbours
+	 *          ids of the node's neighbours, in the order they are visited
+	 * @return the objective
+	 */
+	public static FusedObjective compile(int objType, LeaderSnapshot snapshot,
+	    int node, int[] neighbours)
+	{
+		return compile(objType, node, aggregate(snapshot, neighbours));
+	}
+
+	/**
+	 * Make the fused form of an objective type, as
+	 * {@link #compile(int, LeaderSnapshot, int, int[])} does, reading the
+	 * neighbours through an existing cache rather than a new one.
+	 *
+	 * @param objType
+	 * @param node
+	 *          id of the node solved for, or -1 to look it up
+	 * @param neighbours
+	 *          aggregates of the node's neighbours, in the order they are
+	 *          visited
+	 * @return the objective
+	 */
+	public static FusedObjective compile(int objType, int node,
+	    LeaderAggregates neighbours)
+	{
+		final int add = CompositeObjective.ADDITIVE;
+		Builder b = new Builder(neighbours, node,
+		    (objType == PlanarGraphLayoutProblem.CENTERVIEWCENTER
+		        ? CompositeObjective.MULTIPLICATIVE : add));
+		switch (objType)
+		{
+		default: /* fall-through! */
+		case PlanarGraphLayoutProblem.EQUIDISTANT:
+			return b.term(PlanarGraphLayoutProblem.EQUIDISTANT, 1).build();
+		case PlanarGraphLayoutProblem.CENTER:
+		case PlanarGraphLayoutProblem.VIEWCENTER:
+		case PlanarGraphLayoutProblem.ADJACENT:
+		case PlanarGraphLayoutProblem.REPULSION:
+		case PlanarGraphLayoutProblem.CROSSING:
+			return b.term(objType, 1).build();
+		case PlanarGraphLayoutProblem.EQUICENTER:
+			return b.term(PlanarGraphLayoutProblem.EQUIDISTANT, 1)
+			    .term(PlanarGraphLayoutProblem.CENTER, 1).build();
+		case PlanarGraphLayoutProblem.EQUIVIEW:
+			return b.term(PlanarGraphLayoutProblem.EQUIDISTANT, 1)
+			    .term(PlanarGraphLayoutProblem.VIEWCENTER, 1).build();
+		case PlanarGraphLayoutProblem.EQUIVIEWCENTER:
+			return b.begin(add, 1).term(PlanarGraphLayoutProblem.EQUIDISTANT, 1)
+			    .term(PlanarGraphLayoutProblem.VIEWCENTER, 1).end()
+			    .term(PlanarGraphLayoutProblem.CENTER, 1).build();
+		case PlanarGraphLayoutProblem.CENTERVIEWCENTER:
+			return b.begin(add, 1).term(PlanarGraphLayoutProblem.EQUIDISTANT, 1)
+			    .term(PlanarGraphLayoutProblem.VIEWCENTER, 1).end()
+			    .term(PlanarGraphLayoutProblem.CENTER, 1).build();
+		case PlanarGraphLayoutProblem.EQUIREPULSION:
+			return b.term(PlanarGraphLayoutProblem.EQUIDISTANT, 1)
+			    .term(PlanarGraphLayoutProblem.REPULSION, 1).build();
+		case PlanarGraphLayoutProblem.EQUICROSSING:
+			return b.term(PlanarGraphLayoutProblem.EQUIDISTANT, 1)
+			    .term(PlanarGraphLayoutProblem.CROSSING, 1).build();
+		}
+	}
+
+	/**
+	 * Flatten the expression of a builder into this objective's tables.
+	 */
+	private FusedObjective(Builder b)
+	{
+		int n = b.kinds.size();
+		this.snapshot = b.snapshot;
+		this.node = b.node;
+		this.kinds = new int[n];
+		this.operations = new int[n];
+		this.weights = new double[n];
+		this.totals = new double[n];
+		this.children = new int[n];
+		this.siblings = new int[n];
+		this.uniform = new boolean[n];
+		boolean distances = false, center = false, view = false;
+		boolean repulsion = false, crossing = false;
+		for (int k = 0; k < n; ++k)
+			{
+				this.kinds[k] = b.kinds.get(k);
+				this.operations[k] = b.operations.get(k);
+				this.weights[k] = b.weights.get(k);
+				this.children[k] = b.children.get(k);
+				this.siblings[k] = b.siblings.get(k);
+				switch (this.kinds[k])
+				{
+				case PlanarGraphLayoutProblem.EQUIDISTANT:
+				case PlanarGraphLayoutProblem.ADJACENT:
+					distances = true;
+					break;
+				case PlanarGraphLayoutProblem.CENTER:
+					center = true;
+					break;
+				case PlanarGraphLayoutProblem.VIEWCENTER:
+					view = true;
+					break;
+				case PlanarGraphLayoutProblem.REPULSION:
+					repulsion = true;
+					break;
+				case PlanarGraphLayoutProblem.CROSSING:
+					crossing = true;
+					break;
+				}
+			}
+		for (int k = 0; k < n; ++k)
+			if (this.kinds[k] == GROUP)
+				{
+					this.uniform[k] = true;
+					for (int c = this.children[k]; c >= 0; c = this.siblings[c])
+						{
+							this.totals[k] += this.weights[c];
+							if (this.weights[c] != this.weights[this.children[k]])
+							  this.uniform[k] = false;
+						}
+				}
+		this.distances = distances;
+		this.center = center;
+		this.view = view;
+		this.adjacent = (distances || center ? b.neighbours : null);
+		this.leaders = (repulsion ? this.snapshot.getQuadtree() : null);
+		this.edges = (crossing ? this.snapshot.getEdgeGrid() : null);
+	}
+
+	/**
+	 * Aggregate the neighbours of a node for a new expression.
+	 *
+	 * @param snapshot
+	 * @param neighbours
+	 *          ids of the neighbours in the snapshot
+	 * @return a new cache of their positions
+	 */
+	private static LeaderAggregates aggregate(LeaderSnapshot snapshot,
+	    int[] neighbours)
+	{
+		if (snapshot == null)
+		  throw new IllegalArgumentException("no snapshot to read");
+		return new LeaderAggregates(snapshot, neighbours);
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.marist.csmath.isag.strategy.Objective#computeFitness(edu.marist.csmath.isag.swarm.Swarmable)
+	 */
+	@Override
+	public double computeFitness(Swarmable agent)
+	{
+		LeaderAggregates.Values v = (this.adjacent == null ? null : this.adjacent
+		    .current());
+		double x = agent.getPosition(0), y = agent.getPosition(1);
+		double min = 0, max = 0;
+		if (this.distances)
+			{
+				// one pass over the neighbours serves both distance objectives
+				double max2 = Double.NEGATIVE_INFINITY;
+				double min2 = Double.POSITIVE_INFINITY;
+				double[] xs = v.xs, ys = v.ys;
+				for (int j = 0, n = v.count; j < n; ++j)
+					{
+						double dx = x - xs[j], dy = y - ys[j];
+						double d2 = dx * dx + dy * dy;
+						min2 = Math.min(min2, d2);
+						max2 = Math.max(max2, d2);
+					}
+				min = Math.sqrt(min2);
+				max = Math.sqrt(max2);
+			}
+		return score(x, y, agent, v, min, max);
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.marist.csmath.isag.strategy.BatchObjective#computeFitness(edu.marist.csmath.isag.swarm.Swarmable, double[], int, int, double[])
+	 */
+	@Override
+	public void computeFitness(Swarmable swarm, double[] positions, int stride,
+	    int count, double[] fitness)
+	{
+		LeaderAggregates.Values v = (this.adjacent == null ? null : this.adjacent
+		    .current());
+		double[] min = null, max = null;
+		if (this.distances)
+			{
+				if (this.min.length < stride)
+					{
+						this.min = new double[stride];
+						this.max = new double[stride];
+					}
+				min = this.min;
+				max = this.max;
+				BatchKernels.range(positions, stride, count, v.xs, v.ys, v.count, min,
+				    max);
+			}
+		for (int k = 0; k < count; ++k)
+			fitness[k] = score(positions[k], positions[stride + k], swarm, v,
+			    (min == null ? 0 : min[k]), (max == null ? 0 : max[k]));
+	}
+
+	/**
+	 * Score a position of a particle of the node's swarm.
+	 *
+	 * @param x
+	 * @param y
+	 *          the position
+	 * @param agent
+	 *          a particle of the swarm, by which to find the node if need be
+	 * @param v
+	 *          the neighbours' positions and centroid, if the expression needs
+	 *          them
+	 * @param min
+	 * @param max
+	 *          least and greatest distance to a neighbour, if the expression
+	 *          needs them
+	 */
+	private double score(double x, double y, Swarmable agent,
+	    LeaderAggregates.Values v, double min, double max)
+	{
+		double equidistant = 0, adjacent = 0, center = 0, view = 0;
+		double repulsion = 0, crossing = 0;
+
+		if (this.distances)
+			{
+				equidistant = BatchKernels.equidistant(min, max);
+				adjacent = BatchKernels.adjacent(min, max);
+			}
+		if (this.center)
+			{
+				double dx = x - v.centerX, dy = y - v.centerY;
+				center = BatchKernels.center(Math.sqrt(dx * dx + dy * dy));
+			}
+		if (this.view)
+			{
+				double dx = x - PlanarGraphLayoutProblem.VIEW_CENTER[0];
+				double dy = y - PlanarGraphLayoutProblem.VIEW_CENTER[1];
+				view = BatchKernels.viewCenter(Math.sqrt(dx * dx + dy * dy));
+			}
+		if (this.leaders != null || this.edges != null)
+			{
+				int self = this.node;
+				if (self < 0) this.node = self = this.snapshot.indexOf(agent);
+				if (this.leaders != null && self >= 0)
+					{
+						double r = this.leaders.repulsion(x, y, self);
+						repulsion = r / (1 + r);
+					}
+				if (this.edges != null && self >= 0)
+					{
+						int c = this.edges.crossings(self, x, y);
+						crossing = c / (1.0 + c);
+					}
+			}
+		return value(0, equidistant, adjacent, center, view, repulsion, crossing);
+	}
+
+	/**
+	 * Combine the scores of the objectives as the specified part of the
+	 * expression does.
+	 */
+	private double value(int k, double equidistant, double adjacent,
+	    double center, double view, double repulsion, double crossing)
+	{
+		switch (this.kinds[k])
+		{
+		case PlanarGraphLayoutProblem.EQUIDISTANT:
+			return equidistant;
+		case PlanarGraphLayoutProblem.ADJACENT:
+			return adjacent;
+		case PlanarGraphLayoutProblem.CENTER:
+			return center;
+		case PlanarGraphLayoutProblem.VIEWCENTER:
+			return view;
+		case PlanarGraphLayoutProblem.REPULSION:
+			return repulsion;
+		case PlanarGraphLayoutProblem.CROSSING:
+			return crossing;
+		}
+
+		if (this.operations[k] == CompositeObjective.ADDITIVE)
+			{
+				double sum = 0;
+				for (int c = this.children[k]; c >= 0; c = this.siblings[c])
+					sum += this.weights[c]
+					    * value(c, equidistant, adjacent, center, view, repulsion,
+					        crossing);
+				return sum / this.totals[k];
+			}
+		if (this.uniform[k])
+			{
+				// equal weights: the root of the product, as CompositeObjective
+				double product = 1;
+				int count = 0;
+				for (int c = this.children[k]; c >= 0; c = this.siblings[c], ++count)
+					product *= value(c, equidistant, adjacent, center, view, repulsion,
+					    crossing);
+				return (count == 1 ? product : count == 2 ? Math.sqrt(product) : Math
+				    .pow(product, 1.0 / count));
+			}
+		double product = 1;
+		for (int c = this.children[k]; c >= 0; c = this.siblings[c])
+			product *= Math.pow(value(c, equidistant, adjacent, center, view,
+			    repulsion, crossing), this.weights[c] / this.totals[k]);
+		return product;
+	}
+
+	/** Kind of a part that combines other parts. */
+	private static final int	      GROUP	= -1;
+
+	private final LeaderSnapshot	  snapshot;
+
+	/** Id of the node solved for; every particle scored is of its swarm. */
+	private int	                   node;
+
+	/** Which of the shared quantities the expression needs. */
+	private final boolean	         distances, center, view;
+
+	/** Positions and centroid of the neighbours, if needed. */
+	private final LeaderAggregates	adjacent;
+	private final LeaderQuadtree	  leaders;
+	private final LeaderEdgeGrid	  edges;
+
+	/** Least and greatest distances of the last batch, by particle. */
+	private double[]	              min	= new double[0], max = min;
+
+	/**
+	 * Objective type or {@link #GROUP}, operation of a group, weight within its
+	 * group, total weight of a group's parts, whether those weights are all
+	 * equal, first part of a group and next part of the same group, by part;
+	 * part 0 is the whole expression.
+	 */
+	private final int[]	           kinds, operations;
+	private final double[]	        weights, totals;
+	private final boolean[]	       uniform;
+	private final int[]	           children, siblings;
+}
@@ -0,0 +1,252 @@
+/**
+ * GraphSwarm: GraphLayoutProblem.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 9:58:40 PM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * Planar layout of one node of a {@link Graph}, whose swarms are given in an
+ * array indexed by node id. The objectives are those of
+ * {@link PlanarGraphLayoutProblem}, with the same objective types, but they
+ * find the neighbours of their node through a {@link Neighbourhood} that
+ * walks its range of the graph's targets and indexes the array of swarms,
+ * rather than through a set of swarms held per node. Neighbours are visited
+ * in order of node id, so when swarms are created in that order, and read
+ * from the same {@link LeaderSnapshot} if any, the fitness is identical to
+ * that of the equivalent {@link PlanarGraphLayoutProblem}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class GraphLayoutProblem implements ProblemSpace
+{
+	/**
+	 * Lay out the specified node so that its neighbours are equidistant.
+	 *
+	 * @param graph
+	 * @param swarms
+	 *          the swarm of every node, by node id
+	 * @param node
+	 *          id of the node solved for
+	 */
+	public GraphLayoutProblem(Graph graph, Swarmable[] swarms, int node)
+	{
+		this(graph, swarms, node, PlanarGraphLayoutProblem.EQUIDISTANT);
+	}
+
+	/**
+	 * Lay out the specified node.
+	 *
+	 * @param graph
+	 * @param swarms
+	 *          the swarm of every node, by node id
+	 * @param node
+	 *          id of the node solved for
+	 * @param objType
+	 *          one of the objective types of {@link PlanarGraphLayoutProblem}
+	 */
+	public GraphLayoutProblem(Graph graph, Swarmable[] swarms, int node,
+	    int objType)
+	{
+		this(graph, swarms, node, objType, null);
+	}
+
+	/**
+	 * Lay out the specified node with an objective that reads the positions of
+	 * other nodes from a snapshot, and may repel it from every other node or
+	 * count the crossings of its edges.
+	 *
+	 * @param graph
+	 * @param swarms
+	 *          the swarm of every node, by node id
+	 * @param node
+	 *          id of the node solved for
+	 * @param objType
+	 *          one of the objective types of {@link PlanarGraphLayoutProblem}
+	 * @param snapshot
+	 *          best positions of the same swarms, or null to follow their
+	 *          leaders as they move; required by
+	 *          {@link PlanarGraphLayoutProblem#REPULSION},
+	 *          {@link PlanarGraphLayoutProblem#CROSSING} and the objectives
+	 *          combining them
+	 */
+	public GraphLayoutProblem(Graph graph, Swarmable[] swarms, int node,
+	    int objType, LeaderSnapshot snapshot)
+	{
+		if (swarms.length != graph.getNodeCount())
+		  throw new IllegalArgumentException("expected " + graph.getNodeCount()
+		      + " swarms, not " + swarms.length);
+		if (snapshot != null && snapshot.size() != swarms.length)
+		  throw new IllegalArgumentException("expected a snapshot of "
+		      + swarms.length + " swarms, not " + snapshot.size());
+		this.graph = graph;
+		this.node = node;
+		this.objective = PlanarGraphLayoutProblem.objectiveOf(objType,
+		    new GraphNeighbours(graph, swarms, node, snapshot), snapshot, node);
+	}
+
+	/**
+	 * Give every swarm the problem of laying out its node. Isolated nodes,
+	 * having no neighbours to be placed against, are drawn to the center of
+	 * the view instead.
+	 *
+	 * @param graph
+	 * @param swarms
+	 *          the swarm of every node, by node id
+	 * @param objType
+	 *          one of the objective types of {@link PlanarGraphLayoutProblem}
+	 */
+	public static void assign(Graph graph, Swarmable[] swarms, int objType)
+	{
+		assign(graph, swarms, objType, null);
+	}
+
+	/**
+	 * Give every swarm the problem of laying out its node, with an objective
+	 * that reads the positions of other nodes from a snapshot. Isolated nodes
+	 * are drawn to the center of the view, as by
+	 * {@link #assign(Graph, Swarmable[], int)}.
+	 *
+	 * @param graph
+	 * @param swarms
+	 *          the swarm of every node, by node id
+	 * @param objType
+	 *          one of the objective types of {@link PlanarGraphLayoutProblem}
+	 * @param snapshot
+	 *          best positions of the same swarms, or null if the objective
+	 *          type does not need one
+	 */
+	public static void assign(Graph graph, Swarmable[] swarms, int objType,
+	    LeaderSnapshot snapshot)
+	{
+		for (int u = 0; u < swarms.length; ++u)
+			swarms[u].setProblemSpace(new GraphLayoutProblem(graph, swarms, u,
+			    (graph.getDegree(u) == 0 ? PlanarGraphLayoutProblem.VIEWCENTER
+			        : objType), snapshot));
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.marist.csmath.isag.strategy.ProblemSpace#getDimension()
+	 */
+	@Override
+	public int getDimension()
+	{
+		return 2;
+	}
+
+	/**
+	 * @return the graph being laid out
+	 */
+	public Graph getGraph()
+	{
+		return this.graph;
+	}
+
+	/**
+	 * @return id of the node solved for
+	 */
+	public int getNode()
+	{
+		return this.node;
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.marist.csmath.isag.strategy.ProblemSpace#getObjective()
+	 */
+	@Override
+	public Objective getObjective()
+	{
+		return this.objective;
+	}
+
+	/**
+	 * The neighbours of a node of the graph, in order of node id: the range
+	 * of the graph's targets from the node's offset.
+	 */
+	private static final class GraphNeighbours implements Neighbourhood
+	{
+		/**
+		 * @param graph
+		 * @param swarms
+		 *          the swarm of every node, by node id
+		 * @param node
+		 *          id of the node whose neighbours these are
+		 * @param snapshot
+		 *          best positions of the same swarms, or null to read them from
+		 *          the swarms
+		 */
+		GraphNeighbours(Graph graph, Swarmable[] swarms, int node,
+		    LeaderSnapshot snapshot)
+		{
+			this.graph = graph;
+			this.swarms = swarms;
+			this.snapshot = snapshot;
+			this.first = graph.getOffset(node);
+			this.degree = graph.getDegree(node);
+			this.aggregates = (snapshot == null || this.degree == 0 ? null
+			    : new LeaderAggregates(snapshot, targets()));
+		}
+
+		@Override
+		public LeaderAggregates getAggregates()
+		{
+			return this.aggregates;
+		}
+
+		@Override
+		public double getX(int j)
+		{
+			int v = this.graph.getTarget(this.first + j);
+			return (this.snapshot == null ? Neighbourhood.bestOf(this.swarms[v],
+			    0) : this.snapshot.getX(v));
+		}
+
+		@Override
+		public double getY(int j)
+		{
+			int v = this.graph.getTarget(this.first + j);
+			return (this.snapshot == null ? Neighbourhood.bestOf(this.swarms[v],
+			    1) : this.snapshot.getY(v));
+		}
+
+		@Override
+		public int size()
+		{
+			return this.degree;
+		}
+
+		/**
+		 * @return ids of the neighbours, in order
+		 */
+		private int[] targets()
+		{
+			int[] targets = new int[this.degree];
+			for (int k = 0; k < targets.length; ++k)
+				targets[k] = this.graph.getTarget(this.first + k);
+			return targets;
+		}
+
+		private final Graph	           graph;
+		private final Swarmable[]	      swarms;
+		private final LeaderSnapshot	  snapshot;
+
+		/** Index of the first neighbour among the graph's targets. */
+		private final int	             first;
+		private final int	             degree;
+
+		/** Centroid and packed positions of the neighbours, if in the snapshot. */
+		private final LeaderAggregates	aggregates;
+	}
+
+	/** The graph being laid out. */
+	private final Graph	       graph;
+
+	/** Id of the node solved for. */
+	private final int	         node;
+
+	protected Objective	       objective;
+}
@@ -0,0 +1,204 @@
+/**
+ * GraphSwarm: LeaderAggregates.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 2:15:44 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+/**
+ * Quantities derived from the positions of a fixed group of nodes, usually
+ * the neighbours of one node, as held by a {@link LeaderSnapshot}: their
+ * centroid and bounding box. They depend only on the snapshot, not on the
+ * particle being scored, so they are computed once per refresh of the
+ * snapshot, by whichever particle asks first, and then looked up in O(1) by
+ * every other particle of the swarm. A hub node's objective thus walks its
+ * neighbours once per generation rather than once per particle.
+ *
+ * The cache is invalidated by the snapshot's {@link LeaderSnapshot#getVersion()
+ * version}, which changes whenever the leaders are copied again. It keeps two
+ * sets of values and refills the older one in place, so that it allocates
+ * nothing after it is made. Any number of threads may read it; the first to
+ * find it stale recomputes it while the others wait. Values read in one
+ * version stay valid through the next, but not across two refreshes.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class LeaderAggregates
+{
+	/**
+	 * Aggregate the specified nodes of a snapshot.
+	 *
+	 * @param snapshot
+	 * @param nodes
+	 *          ids of the nodes in the snapshot, in the order they are summed
+	 */
+	public LeaderAggregates(LeaderSnapshot snapshot, int[] nodes)
+	{
+		for (int v : nodes)
+			if (v < 0 || v >= snapshot.size())
+			  throw new IllegalArgumentException("no node " + v + " in snapshot");
+		this.snapshot = snapshot;
+		this.nodes = nodes.clone();
+		this.values = new Values(nodes.length);
+		this.stale = new Values(nodes.length);
+	}
+
+	/**
+	 * @return x coordinate of the centroid, or NaN if no node has a leader
+	 */
+	public double getCenterX()
+	{
+		return current().centerX;
+	}
+
+	/**
+	 * @return y coordinate of the centroid, or NaN if no node has a leader
+	 */
+	public double getCenterY()
+	{
+		return current().centerY;
+	}
+
+	/**
+	 * @return number of the nodes that had a leader when the snapshot was
+	 *         refreshed
+	 */
+	public int getCount()
+	{
+		return current().count;
+	}
+
+	/**
+	 * @return greatest x coordinate, or -infinity if no node has a leader
+	 */
+	public double getMaxX()
+	{
+		return current().maxX;
+	}
+
+	/**
+	 * @return greatest y coordinate, or -infinity if no node has a leader
+	 */
+	public double getMaxY()
+	{
+		return current().maxY;
+	}
+
+	/**
+	 * @return least x coordinate, or +infinity if no node has a leader
+	 */
+	public double getMinX()
+	{
+		return current().minX;
+	}
+
+	/**
+	 * @return least y coordinate, or +infinity if no node has a leader
+	 */
+	public double getMinY()
+	{
+		return current().minY;
+	}
+
+	/**
+	 * @return the snapshot aggregated
+	 */
+	public LeaderSnapshot getSnapshot()
+	{
+		return this.snapshot;
+	}
+
+	/**
+	 * Get the aggregates of the snapshot as last refreshed, recomputing them
+	 * into the stale set if the current ones are from an earlier refresh.
+	 */
+	Values current()
+	{
+		Values values = this.values;
+		long version = this.snapshot.getVersion();
+		if (values.version == version) return values;
+		synchronized (this)
+			{
+				values = this.values;
+				if (values.version != version)
+					{
+						Values fresh = this.stale;
+						fresh.fill(version, this.snapshot, this.nodes);
+						this.stale = values;
+						this.values = values = fresh;
+					}
+			}
+		return values;
+	}
+
+	/**
+	 * The aggregates of one version of the snapshot. A set is only refilled
+	 * once it is two versions old, and is published after it is filled, so
+	 * that a reader of the current version sees them all or none. The
+	 * coordinates of the nodes that have a leader are also kept, packed, for
+	 * the loops of {@link BatchKernels}.
+	 */
+	static final class Values
+	{
+		/**
+		 * Make an empty set, of no version, for the specified number of nodes.
+		 */
+		Values(int nodes)
+		{
+			this.xs = new double[nodes];
+			this.ys = new double[nodes];
+		}
+
+		/**
+		 * Aggregate the specified nodes of a version of the snapshot.
+		 */
+		void fill(long version, LeaderSnapshot snapshot, int[] nodes)
+		{
+			double sx = 0, sy = 0;
+			double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+			double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+			int n = 0;
+			for (int v : nodes)
+				{
+					double x = snapshot.getX(v), y = snapshot.getY(v);
+					if (x != x) continue; // no leader
+					sx += x;
+					sy += y;
+					if (x0 > x) x0 = x;
+					if (x1 < x) x1 = x;
+					if (y0 > y) y0 = y;
+					if (y1 < y) y1 = y;
+					this.xs[n] = x;
+					this.ys[n++] = y;
+				}
+			this.version = version;
+			this.count = n;
+			this.centerX = (n == 0 ? Double.NaN : sx / n);
+			this.centerY = (n == 0 ? Double.NaN : sy / n);
+			this.minX = x0;
+			this.minY = y0;
+			this.maxX = x1;
+			this.maxY = y1;
+		}
+
+		/** Version of the snapshot aggregated, or -1 before the first fill. */
+		long	          version	= -1;
+		int	           count;
+		double	         centerX, centerY, minX, minY, maxX, maxY;
+
+		/** Coordinates of the first {@link #count} nodes with a leader. */
+		final double[]	xs, ys;
+	}
+
+	private final LeaderSnapshot	snapshot;
+
+	/** Ids of the nodes aggregated. */
+	private final int[]	         nodes;
+
+	/** Aggregates of the latest version of the snapshot yet computed. */
+	private volatile Values	     values;
+
+	/** Aggregates of the version before, to be refilled by the next. */
+	private Values	              stale;
+}
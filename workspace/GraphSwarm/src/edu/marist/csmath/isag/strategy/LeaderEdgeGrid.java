@@ -0,0 +1,351 @@
+/**
+ * GraphSwarm: LeaderEdgeGrid.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 12:06:48 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import java.util.Arrays;
+
+import edu.marist.csmath.isag.graph.Graph;
+
+/**
+ * A uniform grid over the edges of a {@link Graph} as drawn between the
+ * positions of a {@link LeaderSnapshot}, used to count the crossings a node's
+ * edges would have were the node moved to a given point. Each edge is listed
+ * in every cell it passes through, so a query only tests the edges sharing a
+ * cell with one of the node's edges: O(degree × local edges) rather than
+ * O(edges).
+ *
+ * Like {@link LeaderQuadtree}, the grid is got from the snapshot and rebuilt
+ * whenever the snapshot is refreshed; between refreshes any number of threads
+ * may query it. Cells are about as wide as the average edge is
+ * long, so most edges lie in a handful of cells.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class LeaderEdgeGrid
+{
+	/**
+	 * Create an empty grid over the edges of a graph.
+	 *
+	 * @param graph
+	 * @param snapshot
+	 *          positions of the graph's nodes
+	 */
+	LeaderEdgeGrid(Graph graph, LeaderSnapshot snapshot)
+	{
+		this.graph = graph;
+		this.snapshot = snapshot;
+		int n = snapshot.size(), m = graph.getEdgeCount();
+		this.px = new double[n];
+		this.py = new double[n];
+		this.from = new int[m];
+		this.to = new int[m];
+		int k = 0;
+		for (int u = 0; u < n; ++u)
+			for (int e = graph.getOffset(u); e < graph.getOffset(u + 1); ++e)
+				if (u < graph.getTarget(e))
+					{
+						this.from[k] = u;
+						this.to[k++] = graph.getTarget(e);
+					}
+		this.cellOffsets = new int[2];
+		this.cellEdges = new int[0];
+	}
+
+	/**
+	 * Count the crossings between the edges of the layout as last built. Two
+	 * edges cross if they have no end in common and meet at a single point
+	 * inside both.
+	 *
+	 * @return number of crossing pairs of edges
+	 */
+	public int crossings()
+	{
+		int count = 0;
+		for (int c = 0; c < this.cols * this.rows; ++c)
+			for (int i = this.cellOffsets[c]; i < this.cellOffsets[c + 1]; ++i)
+				{
+					int a = this.cellEdges[i];
+					for (int j = i + 1; j < this.cellOffsets[c + 1]; ++j)
+						{
+							int b = this.cellEdges[j];
+							if (crossesIn(c, this.px[this.from[a]], this.py[this.from[a]],
+							    this.px[this.to[a]], this.py[this.to[a]], b)) ++count;
+						}
+				}
+		return count;
+	}
+
+	/**
+	 * Count the crossings the edges of a node would have if the node were at
+	 * the specified point and every other node at its leader. Edges to
+	 * neighbours that have no leader are left out.
+	 *
+	 * @param node
+	 *          id of the node moved
+	 * @param x
+	 * @param y
+	 *          the point
+	 * @return number of crossings with the edges of other nodes
+	 */
+	public int crossings(int node, double x, double y)
+	{
+		if (this.edges == 0) return 0;
+		Graph g = this.graph;
+		int count = 0;
+		for (int e = g.getOffset(node), last = g.getOffset(node + 1); e < last; ++e)
+			{
+				int v = g.getTarget(e);
+				if (this.px[v] != this.px[v]) continue; // no leader
+				count += walk(x, y, this.px[v], this.py[v], QUERY, node, v);
+			}
+		return count;
+	}
+
+	/**
+	 * Get the graph whose edges are indexed.
+	 *
+	 * @return the graph
+	 */
+	public Graph getGraph()
+	{
+		return this.graph;
+	}
+
+	/**
+	 * Rebuild the grid from the positions of the snapshot. Edges to or from a
+	 * node that had no leader are left out. The grid must not be queried while
+	 * it is being rebuilt.
+	 */
+	void rebuild()
+	{
+		LeaderSnapshot leaders = this.snapshot;
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (int u = 0; u < leaders.size(); ++u)
+			{
+				double x = leaders.getX(u), y = leaders.getY(u);
+				if (x == x)
+					{
+						if (minX > x) minX = x;
+						if (maxX < x) maxX = x;
+						if (minY > y) minY = y;
+						if (maxY < y) maxY = y;
+					}
+				this.px[u] = x;
+				this.py[u] = y;
+			}
+
+		// size cells to the average edge
+		int m = 0;
+		double length = 0;
+		for (int k = 0; k < this.from.length; ++k)
+			{
+				double dx = this.px[this.to[k]] - this.px[this.from[k]];
+				double dy = this.py[this.to[k]] - this.py[this.from[k]];
+				double d = Math.sqrt(dx * dx + dy * dy);
+				if (d != d) continue;
+				length += d;
+				++m;
+			}
+		this.edges = m;
+		this.cols = this.rows = 1;
+		this.left = (m == 0 ? 0 : minX);
+		this.top = (m == 0 ? 0 : minY);
+		double side = (m == 0 ? 0 : Math.max(maxX - minX, maxY - minY));
+		double cell = Math.max(length / Math.max(m, 1), side / MAX_CELLS);
+		if (cell > 0)
+			{
+				this.scale = 1 / cell;
+				this.cols = Math.min(MAX_CELLS, 1 + (int) ((maxX - minX) * this.scale));
+				this.rows = Math.min(MAX_CELLS, 1 + (int) ((maxY - minY) * this.scale));
+			}
+		else
+			this.scale = 0; // every leader at one point
+
+		// count the edges of each cell, then place them
+		int cells = count();
+		int total = this.cellOffsets[cells];
+		if (cells > 1 && (double) total * total > (double) m * m * cells)
+			{
+				// edges so long that a query would meet more of them, cell after
+				// cell, than there are: scan them all instead
+				this.cols = this.rows = 1;
+				this.scale = 0;
+				cells = count();
+				total = this.cellOffsets[cells];
+			}
+		if (this.cellEdges.length < total)
+		  this.cellEdges = new int[total + total / 4];
+		for (int k = 0; k < this.from.length; ++k)
+			walk(k, FILL);
+		// FILL advanced each offset to the next cell's start; shift them back
+		System.arraycopy(this.cellOffsets, 0, this.cellOffsets, 1, cells);
+		this.cellOffsets[0] = 0;
+	}
+
+	/**
+	 * Count the edges passing through each cell and turn the counts into
+	 * offsets.
+	 *
+	 * @return number of cells
+	 */
+	private int count()
+	{
+		int cells = this.cols * this.rows;
+		if (this.cellOffsets.length < cells + 1)
+		  this.cellOffsets = new int[cells + 1];
+		Arrays.fill(this.cellOffsets, 0, cells + 1, 0);
+		for (int k = 0; k < this.from.length; ++k)
+			walk(k, COUNT);
+		for (int c = 0; c < cells; ++c)
+			this.cellOffsets[c + 1] += this.cellOffsets[c];
+		return cells;
+	}
+
+	/**
+	 * Walk the cells of an indexed edge, unless one of its ends has no leader.
+	 */
+	private void walk(int k, int mode)
+	{
+		int u = this.from[k], v = this.to[k];
+		if (this.px[u] != this.px[u] || this.px[v] != this.px[v]) return;
+		walk(this.px[u], this.py[u], this.px[v], this.py[v], mode, k, -1);
+	}
+
+	/**
+	 * Visit every cell that a segment passes through, row by row. Cells
+	 * touched by the segment only at a corner or edge are included, so that a
+	 * point of the segment is always in a visited cell.
+	 *
+	 * @param mode
+	 *          {@link #COUNT} or {@link #FILL} edge a into each cell, or
+	 *          {@link #QUERY} the segment from node a to node b against the
+	 *          cells' edges
+	 * @return number of crossings found in {@link #QUERY} mode
+	 */
+	private int walk(double x1, double y1, double x2, double y2, int mode,
+	    int a, int b)
+	{
+		double s = this.scale;
+		double gx1 = (x1 - this.left) * s, gy1 = (y1 - this.top) * s;
+		double gx2 = (x2 - this.left) * s, gy2 = (y2 - this.top) * s;
+		if (gy1 > gy2)
+			{
+				double t = gx1;
+				gx1 = gx2;
+				gx2 = t;
+				t = gy1;
+				gy1 = gy2;
+				gy2 = t;
+			}
+		int r0 = Math.max(0, (int) Math.floor(gy1 - EPSILON));
+		int r1 = Math.min(this.rows - 1, (int) Math.floor(gy2 + EPSILON));
+		double slope = (gy2 > gy1 ? (gx2 - gx1) / (gy2 - gy1) : 0);
+		int count = 0;
+		for (int r = r0; r <= r1; ++r)
+			{
+				// the part of the segment within this row
+				double ya = Math.max(gy1, r), yb = Math.min(gy2, r + 1);
+				double xa = gx1, xb = gx2;
+				if (gy2 > gy1)
+					{
+						xa = gx1 + (ya - gy1) * slope;
+						xb = gx1 + (yb - gy1) * slope;
+					}
+				if (xa > xb)
+					{
+						double t = xa;
+						xa = xb;
+						xb = t;
+					}
+				int c0 = Math.max(0, (int) Math.floor(xa - EPSILON));
+				int c1 = Math.min(this.cols - 1, (int) Math.floor(xb + EPSILON));
+				for (int c = r * this.cols + c0; c <= r * this.cols + c1; ++c)
+					{
+						if (mode == COUNT)
+							++this.cellOffsets[c + 1];
+						else if (mode == FILL)
+							this.cellEdges[this.cellOffsets[c]++] = a;
+						else
+							for (int i = this.cellOffsets[c]; i < this.cellOffsets[c + 1]; ++i)
+								{
+									int e = this.cellEdges[i];
+									int u = this.from[e], v = this.to[e];
+									if (u == a || v == a || u == b || v == b) continue;
+									if (crossesIn(c, x1, y1, x2, y2, e)) ++count;
+								}
+					}
+			}
+		return count;
+	}
+
+	/**
+	 * Determines whether a segment crosses an indexed edge inside the
+	 * specified cell, so that a crossing found in several cells is counted in
+	 * only one of them. Segments sharing an end never cross.
+	 */
+	private boolean crossesIn(int cell, double x1, double y1, double x2,
+	    double y2, int e)
+	{
+		double x3 = this.px[this.from[e]], y3 = this.py[this.from[e]];
+		double x4 = this.px[this.to[e]], y4 = this.py[this.to[e]];
+		double d1 = orient(x3, y3, x4, y4, x1, y1);
+		double d2 = orient(x3, y3, x4, y4, x2, y2);
+		if (!(d1 * d2 < 0)) return false;
+		double d3 = orient(x1, y1, x2, y2, x3, y3);
+		double d4 = orient(x1, y1, x2, y2, x4, y4);
+		if (!(d3 * d4 < 0)) return false;
+
+		double t = d3 / (d3 - d4); // where the edge meets the segment
+		double gx = (x3 + t * (x4 - x3) - this.left) * this.scale;
+		double gy = (y3 + t * (y4 - y3) - this.top) * this.scale;
+		int c = Math.min(this.cols - 1, Math.max(0, (int) gx));
+		int r = Math.min(this.rows - 1, Math.max(0, (int) gy));
+		return r * this.cols + c == cell;
+	}
+
+	/**
+	 * Twice the signed area of the triangle abc: positive if c is to the left
+	 * of the line from a to b.
+	 */
+	private static double orient(double ax, double ay, double bx, double by,
+	    double cx, double cy)
+	{
+		return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+	}
+
+	/** Modes of {@link #walk(double, double, double, double, int, int, int)}. */
+	private static final int	  COUNT	    = 0, FILL = 1, QUERY = 2;
+
+	/** Most cells across or down the grid. */
+	private static final int	  MAX_CELLS	= 512;
+
+	/** Slack, in cells, by which a segment is widened when walked. */
+	private static final double	EPSILON	  = 1e-9;
+
+	private final Graph	       graph;
+
+	/** Positions of the graph's nodes. */
+	private final LeaderSnapshot	snapshot;
+
+	/** Ends of each edge, lower id first. */
+	private final int[]	       from, to;
+
+	/** Position of each node as last built, NaN if it had no leader. */
+	private final double[]	    px, py;
+
+	/** Number of edges in the grid as last built. */
+	private int	               edges;
+
+	/** Corner of the grid, cells per unit distance and size in cells. */
+	private double	            left, top, scale;
+	private int	               cols, rows;
+
+	/** Start of each cell's edges in cellEdges, row by row, then the end. */
+	private int[]	             cellOffsets;
+	private int[]	             cellEdges;
+}
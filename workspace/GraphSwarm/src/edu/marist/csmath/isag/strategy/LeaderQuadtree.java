@@ -0,0 +1,356 @@
+/**
+ * GraphSwarm: LeaderQuadtree.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 11:14:02 PM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import java.util.Arrays;
+
+/**
+ * A Barnes-Hut quadtree over the positions of a {@link LeaderSnapshot}, used
+ * to score a point against every leader at once in O(log n) rather than O(n).
+ * Cells too far from the point to matter are skipped whole, and the rest are
+ * approximated as below. The tree is got from the snapshot and rebuilt
+ * whenever the snapshot is refreshed; between refreshes any number of threads
+ * may query it.
+ *
+ * A cell of the tree that lies wholly within the spacing of the query point,
+ * and whose width is less than θ times its distance from it, is treated as a
+ * single body of the cell's mass at its center of mass. A cell straddling the
+ * spacing is always opened, since the repulsion drops to nothing across it and
+ * the center of mass could fall on either side. θ = 0 visits every leader
+ * within range exactly.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class LeaderQuadtree
+{
+	/**
+	 * Create an empty tree over the positions of a snapshot.
+	 *
+	 * @param snapshot
+	 */
+	LeaderQuadtree(LeaderSnapshot snapshot)
+	{
+		this.snapshot = snapshot;
+		int n = snapshot.size();
+		this.px = new double[n];
+		this.py = new double[n];
+		this.ids = new int[n];
+		this.slots = new int[n];
+		Arrays.fill(this.slots, -1);
+		ensureCells(4 * n / LEAF_SIZE + 4);
+	}
+
+	/**
+	 * Get the distance beyond which leaders do not repel each other.
+	 *
+	 * @return the spacing
+	 */
+	public double getSpacing()
+	{
+		return this.spacing;
+	}
+
+	/**
+	 * Get the accuracy parameter θ.
+	 *
+	 * @return the largest ratio of cell width to distance at which a cell is
+	 *         approximated by its center of mass
+	 */
+	public double getTheta()
+	{
+		return this.theta;
+	}
+
+	/**
+	 * Rebuild the tree from the positions of the snapshot. Swarms that had no
+	 * leader are left out. The tree must not be queried while it is being
+	 * rebuilt.
+	 */
+	void rebuild()
+	{
+		LeaderSnapshot leaders = this.snapshot;
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		int n = 0;
+		for (int i = 0; i < leaders.size(); ++i)
+			{
+				double x = leaders.getX(i), y = leaders.getY(i);
+				if (x != x) continue; // no leader
+				this.px[n] = x;
+				this.py[n] = y;
+				this.ids[n++] = i;
+				if (minX > x) minX = x;
+				if (maxX < x) maxX = x;
+				if (minY > y) minY = y;
+				if (maxY < y) maxY = y;
+			}
+		this.size = n;
+		this.cells = 1;
+		if (n > 0)
+		  build(0, 0, n, minX, minY, Math.max(maxX - minX, maxY - minY), 0);
+
+		// record where each leader ended up after partitioning
+		Arrays.fill(this.slots, -1);
+		for (int k = 0; k < n; ++k)
+			this.slots[this.ids[k]] = k;
+	}
+
+	/**
+	 * Sum the repulsion felt at a point from the leader of every swarm but
+	 * one. A leader at distance d contributes (1 - (d / s)^2)^2 while d is less
+	 * than the {@link #getSpacing() spacing} s, and nothing beyond, so the sum
+	 * is 0 when no other leader is in range and one more for each leader at
+	 * the point itself. Leaders outside the range exert no force at all, which
+	 * keeps a layout from being pushed apart without bound.
+	 *
+	 * @param x
+	 * @param y
+	 *          the point
+	 * @param node
+	 *          id of the swarm whose leader is ignored, or -1
+	 * @return total repulsion of the other leaders
+	 */
+	public double repulsion(double x, double y, int node)
+	{
+		if (this.size == 0) return 0;
+		int self = (node >= 0 && node < this.slots.length ? this.slots[node] : -1);
+		double s = this.spacing, t = this.theta;
+		return visit(0, x, y, self, t * t, s, 1 / (s * s));
+	}
+
+	/**
+	 * Set the distance beyond which leaders do not repel each other.
+	 *
+	 * @param spacing
+	 *          a positive distance; the default is 80, the least distance
+	 *          between neighbours tolerated by the equidistant objective
+	 */
+	public void setSpacing(double spacing)
+	{
+		if (!(spacing > 0))
+		  throw new IllegalArgumentException("spacing must be positive: "
+		      + spacing);
+		this.spacing = spacing;
+	}
+
+	/**
+	 * Set the accuracy parameter θ. Smaller values are more accurate and
+	 * slower; 0 makes every query exact and O(n).
+	 *
+	 * @param theta
+	 *          a non-negative ratio; the default is 0.5
+	 */
+	public void setTheta(double theta)
+	{
+		if (!(theta >= 0))
+		  throw new IllegalArgumentException("theta must not be negative: "
+		      + theta);
+		this.theta = theta;
+	}
+
+	/**
+	 * Get the number of leaders in the tree as last built.
+	 *
+	 * @return leader count
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Fill in a cell covering the specified square and the leaders in the
+	 * specified range of slots, partitioning them among four children unless
+	 * there are few enough to be kept in a leaf.
+	 */
+	private void build(int c, int start, int end, double x0, double y0,
+	    double w, int depth)
+	{
+		double sx = 0, sy = 0;
+		for (int k = start; k < end; ++k)
+			{
+				sx += this.px[k];
+				sy += this.py[k];
+			}
+		int m = end - start;
+		this.cellStart[c] = start;
+		this.cellEnd[c] = end;
+		this.cellX[c] = (m == 0 ? 0 : sx / m);
+		this.cellY[c] = (m == 0 ? 0 : sy / m);
+		this.cellLeft[c] = x0;
+		this.cellTop[c] = y0;
+		this.cellWidth[c] = w;
+		this.cellChild[c] = -1;
+		if (m <= LEAF_SIZE || depth == MAX_DEPTH) return;
+
+		// quadrants in order: low y low x, low y high x, high y low x, high y high x
+		double h = w / 2, mx = x0 + h, my = y0 + h;
+		int ys = partition(start, end, this.py, my);
+		int xs0 = partition(start, ys, this.px, mx);
+		int xs1 = partition(ys, end, this.px, mx);
+		int first = this.cells;
+		ensureCells(first + 4);
+		this.cells = first + 4;
+		this.cellChild[c] = first;
+		build(first, start, xs0, x0, y0, h, depth + 1);
+		build(first + 1, xs0, ys, mx, y0, h, depth + 1);
+		build(first + 2, ys, xs1, x0, my, h, depth + 1);
+		build(first + 3, xs1, end, mx, my, h, depth + 1);
+	}
+
+	/**
+	 * Reorder a range of slots so that those whose coordinate is below the
+	 * split come first.
+	 *
+	 * @return the first slot at or above the split
+	 */
+	private int partition(int start, int end, double[] coord, double split)
+	{
+		int i = start, j = end - 1;
+		while (true)
+			{
+				while (i <= j && coord[i] < split)
+					++i;
+				while (i <= j && coord[j] >= split)
+					--j;
+				if (i >= j) return i;
+				swap(i++, j--);
+			}
+	}
+
+	private void swap(int i, int j)
+	{
+		double x = this.px[i], y = this.py[i];
+		int id = this.ids[i];
+		this.px[i] = this.px[j];
+		this.py[i] = this.py[j];
+		this.ids[i] = this.ids[j];
+		this.px[j] = x;
+		this.py[j] = y;
+		this.ids[j] = id;
+	}
+
+	/**
+	 * Sum the repulsion felt at a point from the leaders of a cell, leaving
+	 * out the one in slot self.
+	 */
+	private double visit(int c, double x, double y, int self, double theta2,
+	    double range, double inv)
+	{
+		// skip the cell if the nearest point of its square is out of range
+		double w = this.cellWidth[c];
+		double left = this.cellLeft[c], top = this.cellTop[c];
+		double bx = (x < left ? left - x : (x > left + w ? x - left - w : 0));
+		double by = (y < top ? top - y : (y > top + w ? y - top - w : 0));
+		if (bx * bx + by * by >= range * range) return 0;
+
+		int start = this.cellStart[c], end = this.cellEnd[c];
+		int child = this.cellChild[c];
+		if (child < 0)
+			{
+				double sum = 0;
+				for (int k = start; k < end; ++k)
+					{
+						if (k == self) continue;
+						double dx = this.px[k] - x, dy = this.py[k] - y;
+						sum += kernel((dx * dx + dy * dy) * inv);
+					}
+				return sum;
+			}
+
+		double m = end - start, cx = this.cellX[c], cy = this.cellY[c];
+		if (self >= start && self < end)
+			{
+				// a cell holding more than a leaf never empties by losing one
+				cx = (m * cx - this.px[self]) / (m - 1);
+				cy = (m * cy - this.py[self]) / (m - 1);
+				m -= 1;
+			}
+		double dx = cx - x, dy = cy - y, d2 = dx * dx + dy * dy;
+		// approximate a far cell only if all of it lies within range
+		double fx = Math.max(Math.abs(x - left), Math.abs(x - left - w));
+		double fy = Math.max(Math.abs(y - top), Math.abs(y - top - w));
+		if (w * w < theta2 * d2 && fx * fx + fy * fy < range * range)
+		  return m * kernel(d2 * inv);
+
+		double sum = 0;
+		for (int k = child; k < child + 4; ++k)
+			if (this.cellEnd[k] > this.cellStart[k])
+			  sum += visit(k, x, y, self, theta2, range, inv);
+		return sum;
+	}
+
+	/**
+	 * The repulsion of one leader at squared distance q times the squared
+	 * spacing.
+	 */
+	private static double kernel(double q)
+	{
+		if (q >= 1) return 0;
+		double r = 1 - q;
+		return r * r;
+	}
+
+	private void ensureCells(int capacity)
+	{
+		if (this.cellStart != null && capacity <= this.cellStart.length) return;
+		int n = Math.max(capacity, (this.cellStart == null ? 0
+		    : 2 * this.cellStart.length));
+		if (this.cellStart == null)
+			{
+				this.cellStart = new int[n];
+				this.cellEnd = new int[n];
+				this.cellChild = new int[n];
+				this.cellLeft = new double[n];
+				this.cellTop = new double[n];
+				this.cellX = new double[n];
+				this.cellY = new double[n];
+				this.cellWidth = new double[n];
+			}
+		else
+			{
+				this.cellStart = Arrays.copyOf(this.cellStart, n);
+				this.cellEnd = Arrays.copyOf(this.cellEnd, n);
+				this.cellChild = Arrays.copyOf(this.cellChild, n);
+				this.cellLeft = Arrays.copyOf(this.cellLeft, n);
+				this.cellTop = Arrays.copyOf(this.cellTop, n);
+				this.cellX = Arrays.copyOf(this.cellX, n);
+				this.cellY = Arrays.copyOf(this.cellY, n);
+				this.cellWidth = Arrays.copyOf(this.cellWidth, n);
+			}
+	}
+
+	/** Most leaders kept in a leaf, which is always summed exactly. */
+	private static final int	 LEAF_SIZE	= 16;
+
+	/** Depth beyond which leaders are kept in a leaf however many there are. */
+	private static final int	 MAX_DEPTH	= 32;
+
+	/** Positions from which the tree is built. */
+	private final LeaderSnapshot	snapshot;
+
+	/** Position and node id of each leader, by slot, grouped by cell. */
+	private final double[]	   px, py;
+	private final int[]	      ids;
+
+	/** Slot of each node's leader, or -1 if it has none. */
+	private final int[]	      slots;
+
+	/** Number of leaders, and of cells, in the tree as last built. */
+	private int	              size, cells;
+
+	/**
+	 * Range of slots, first child or -1 for a leaf, square covered and center
+	 * of mass of each cell, by cell; cell 0 is the root and children come in
+	 * fours.
+	 */
+	private int[]	            cellStart, cellEnd, cellChild;
+	private double[]	         cellLeft, cellTop, cellWidth, cellX, cellY;
+
+	private volatile double	  theta	    = 0.5;
+	private volatile double	  spacing	  = 80;
+}
@@ -0,0 +1,231 @@
+/**
+ * GraphSwarm: LeaderSnapshot.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 1:02:37 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.swarm.GenerationListener;
+import edu.marist.csmath.isag.swarm.SwarmEngine;
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * The best known position of every swarm of a layout, copied into one array
+ * at the start of each generation so that objectives read their neighbours
+ * from a table that holds still, rather than chasing leaders that other
+ * threads are moving. Every particle scored in a generation therefore sees the
+ * same neighbours, and the particles of a swarm share the few cache lines
+ * holding them.
+ *
+ * A snapshot is refreshed by {@link #refresh()}, which an engine does before
+ * every generation once the snapshot is added as a {@link GenerationListener};
+ * the {@link LeaderQuadtree} and {@link LeaderEdgeGrid} made from it are
+ * rebuilt at the same time, and its version moves on so that cached
+ * {@link LeaderAggregates} are recomputed. Between refreshes any number of
+ * threads may read it. Positions are planar and stored x then y, node after
+ * node.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class LeaderSnapshot implements GenerationListener
+{
+	/**
+	 * Create an empty snapshot of the specified swarms; call {@link #refresh()}
+	 * before reading it.
+	 *
+	 * @param swarms
+	 *          a particle of each swarm, indexed by node id
+	 */
+	public LeaderSnapshot(Swarmable[] swarms)
+	{
+		this(null, swarms);
+	}
+
+	/**
+	 * Create an empty snapshot of the swarms of a graph's nodes, from which an
+	 * {@link #getEdgeGrid() edge grid} can also be made.
+	 *
+	 * @param graph
+	 *          the graph laid out, or null
+	 * @param swarms
+	 *          a particle of the swarm of every node, by node id
+	 */
+	public LeaderSnapshot(Graph graph, Swarmable[] swarms)
+	{
+		if (graph != null && swarms.length != graph.getNodeCount())
+		  throw new IllegalArgumentException("expected " + graph.getNodeCount()
+		      + " swarms, not " + swarms.length);
+		this.graph = graph;
+		this.swarms = swarms.clone();
+		this.positions = new double[2 * swarms.length];
+		Arrays.fill(this.positions, Double.NaN);
+		this.ids = new IdentityHashMap<Swarmable, Integer>(2 * swarms.length);
+		for (int i = 0; i < swarms.length; ++i)
+			this.ids.put(swarms[i], i);
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.marist.csmath.isag.swarm.GenerationListener#generationStarting(edu.marist.csmath.isag.swarm.SwarmEngine, long)
+	 */
+	@Override
+	public void generationStarting(SwarmEngine engine, long generation)
+	{
+		refresh();
+	}
+
+	/**
+	 * Get the grid of the graph's edges between the positions of this
+	 * snapshot, making it on first use.
+	 *
+	 * @return the edge grid, rebuilt on every refresh
+	 * @throws IllegalStateException
+	 *           if the snapshot was not made from a graph
+	 */
+	public synchronized LeaderEdgeGrid getEdgeGrid()
+	{
+		if (this.edges == null)
+			{
+				if (this.graph == null)
+				  throw new IllegalStateException("no graph to make an edge grid of");
+				this.edges = new LeaderEdgeGrid(this.graph, this);
+				this.edges.rebuild();
+			}
+		return this.edges;
+	}
+
+	/**
+	 * @return the graph laid out, or null
+	 */
+	public Graph getGraph()
+	{
+		return this.graph;
+	}
+
+	/**
+	 * Get the Barnes-Hut tree of the positions of this snapshot, making it on
+	 * first use.
+	 *
+	 * @return the tree, rebuilt on every refresh
+	 */
+	public synchronized LeaderQuadtree getQuadtree()
+	{
+		if (this.leaders == null)
+			{
+				this.leaders = new LeaderQuadtree(this);
+				this.leaders.rebuild();
+			}
+		return this.leaders;
+	}
+
+	/**
+	 * Get the number of times the snapshot has been refreshed, by which
+	 * anything derived from its positions, such as {@link LeaderAggregates},
+	 * can tell whether it is stale.
+	 *
+	 * @return the version, 0 before the first refresh
+	 */
+	public long getVersion()
+	{
+		return this.version;
+	}
+
+	/**
+	 * Get the x coordinate of a swarm's best position.
+	 *
+	 * @param node
+	 * @return the coordinate, or NaN if the swarm had no leader
+	 */
+	public double getX(int node)
+	{
+		return this.positions[2 * node];
+	}
+
+	/**
+	 * Get the y coordinate of a swarm's best position.
+	 *
+	 * @param node
+	 * @return the coordinate, or NaN if the swarm had no leader
+	 */
+	public double getY(int node)
+	{
+		return this.positions[2 * node + 1];
+	}
+
+	/**
+	 * Find the node id of a swarm.
+	 *
+	 * @param swarm
+	 *          any particle of the swarm
+	 * @return the swarm's index in the array the snapshot was made from, or -1
+	 */
+	public int indexOf(Swarmable swarm)
+	{
+		Integer id = this.ids.get(swarm);
+		if (id != null) return id;
+		for (int i = 0; i < this.swarms.length; ++i)
+			if (this.swarms[i].equals(swarm)) return i;
+		return -1;
+	}
+
+	/**
+	 * Copy the best known position of every swarm, then rebuild the tree and
+	 * the grid if they have been made. Nothing may read the snapshot while it
+	 * is being refreshed.
+	 */
+	public void refresh()
+	{
+		double[] p = this.positions, best = this.best;
+		for (int i = 0; i < this.swarms.length; ++i)
+			{
+				boolean led = this.swarms[i].getSwarmBest(best);
+				p[2 * i] = (led ? best[0] : Double.NaN);
+				p[2 * i + 1] = (led ? best[1] : Double.NaN);
+			}
+		LeaderQuadtree t;
+		LeaderEdgeGrid g;
+		synchronized (this)
+			{
+				t = this.leaders;
+				g = this.edges;
+			}
+		if (t != null) t.rebuild();
+		if (g != null) g.rebuild();
+		this.version++;
+	}
+
+	/**
+	 * @return number of swarms in the snapshot
+	 */
+	public int size()
+	{
+		return this.swarms.length;
+	}
+
+	/** The graph laid out, if known. */
+	private final Graph	                     graph;
+
+	/** A particle of each swarm, by node id. */
+	private final Swarmable[]	               swarms;
+
+	/** Node id of each particle of {@link #swarms}. */
+	private final Map<Swarmable, Integer>	  ids;
+
+	/** Best position of each swarm as last refreshed: x, y, node by node. */
+	private final double[]	                  positions;
+
+	/** Position read from one swarm by {@link #refresh()}. */
+	private final double[]	                  best	= new double[2];
+
+	/** Number of refreshes so far; only the refreshing thread writes it. */
+	private volatile long	                   version;
+
+	/** Made on first use, then rebuilt on every refresh. */
+	private LeaderQuadtree	                  leaders;
+	private LeaderEdgeGrid	                  edges;
+}
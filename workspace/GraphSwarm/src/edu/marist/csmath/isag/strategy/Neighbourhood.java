@@ -0,0 +1,75 @@
+/**
+ * GraphSwarm: Neighbourhood.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 7:12:48 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import edu.marist.csmath.isag.swarm.SwarmBest;
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * The neighbours of the node a layout objective solves for, and where their
+ * positions are read: from a {@link LeaderSnapshot} if it holds them, else
+ * from their swarms as they move. Either way a neighbour's position is the
+ * best known to its swarm, never where its leader happens to be. The
+ * objectives of {@link PlanarGraphLayoutProblem} see the neighbours only
+ * through this, so that the same objectives serve a node given a set of
+ * adjacent swarms and a node of a {@link edu.marist.csmath.isag.graph.Graph},
+ * as {@link GraphLayoutProblem} solves. Neighbours are numbered from 0 in the
+ * order they are visited, which is the same on every run.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+interface Neighbourhood
+{
+	/**
+	 * Get the cache of the neighbours' centroid and packed positions, shared
+	 * by every objective of the node, including a {@link FusedObjective}.
+	 *
+	 * @return the cache, or null unless there are neighbours and the snapshot
+	 *         holds every one of them
+	 */
+	public LeaderAggregates getAggregates();
+
+	/**
+	 * Get the x coordinate of a neighbour's position.
+	 *
+	 * @param j
+	 *          index of the neighbour
+	 * @return the coordinate of the neighbour's swarm best, or NaN if its swarm
+	 *         has no leader
+	 */
+	public double getX(int j);
+
+	/**
+	 * Get the y coordinate of a neighbour's position.
+	 *
+	 * @param j
+	 *          index of the neighbour
+	 * @return the coordinate of the neighbour's swarm best, or NaN if its swarm
+	 *         has no leader
+	 */
+	public double getY(int j);
+
+	/**
+	 * @return number of neighbours
+	 */
+	public int size();
+
+	/**
+	 * Read one coordinate of the best position known to a swarm, for a
+	 * neighbour missing from the snapshot.
+	 *
+	 * @param swarm
+	 *          any particle of the swarm
+	 * @param coord
+	 * @return the coordinate, or NaN if the swarm has no leader
+	 */
+	static double bestOf(Swarmable swarm, int coord)
+	{
+		SwarmBest best = swarm.getSwarmBest();
+		return (best == null ? Double.NaN : best.getPosition(coord));
+	}
+}
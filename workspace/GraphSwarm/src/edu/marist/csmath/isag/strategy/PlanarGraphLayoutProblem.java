@@ -6,6 +6,7 @@
  */
 package edu.marist.csmath.isag.strategy;
 
+import java.util.Arrays;
 import java.util.Set;
 
 import edu.marist.csmath.isag.swarm.Swarmable;
@@ -15,6 +16,20 @@ import edu.marist.csmath.isag.swarm.Swarmable;
  * contains various objective functions that may be useful in the spatial
  * arrangement of arbitrary point graphs.
  * 
+ * Given a {@link LeaderSnapshot}, the objectives read the positions of other
+ * nodes from it rather than from their leaders, and those combining several
+ * objectives are compiled into a single {@link FusedObjective}. The
+ * {@link #REPULSION} and {@link #EQUIREPULSION} objectives also keep a node
+ * away from every other node, not only its neighbors, by querying the
+ * snapshot's {@link LeaderQuadtree}. The {@link #CROSSING} and
+ * {@link #EQUICROSSING} objectives count the crossings of a node's edges
+ * through its {@link LeaderEdgeGrid} of the whole graph.
+ * 
+ * Every single objective is a {@link BatchObjective}, so a swarm engine can
+ * score a node's whole swarm in one call. The objectives see a node's
+ * neighbours only as a {@link Neighbourhood}, and serve
+ * {@link GraphLayoutProblem} as well.
+ * 
  * @author M Johnson, S Khanal, S Sampath
  */
 public class PlanarGraphLayoutProblem implements ProblemSpace
@@ -27,77 +42,279 @@ public class PlanarGraphLayoutProblem implements ProblemSpace
 	public final static int	EQUIVIEWCENTER	 = 5;
 	public final static int	CENTERVIEWCENTER	= 6;
 	public final static int	ADJACENT	       = 7;
+	public final static int	REPULSION	      = 8;
+	public final static int	EQUIREPULSION	  = 9;
+	public final static int	CROSSING	       = 10;
+	public final static int	EQUICROSSING	   = 11;
 
 	protected Objective	    objective;
 
+	/** Center of the default view, see {@link ViewCenterObjective}. */
+	static final double[]	  VIEW_CENTER	= { 398, 287 };
+
 	public PlanarGraphLayoutProblem(Set<Swarmable> swarms)
 	{
-		this.objective = new EquidistantObjective(swarms);
+		this(swarms, EQUIDISTANT);
 	}
 
 	public PlanarGraphLayoutProblem(Set<Swarmable> swarms, int objType)
 	{
+		this(swarms, objType, null);
+	}
+
+	/**
+	 * Create a problem whose objective reads the positions of other nodes from
+	 * a snapshot, and may repel the node from every other node or count the
+	 * crossings of its edges.
+	 * 
+	 * @param swarms
+	 *          the swarms adjacent to the node
+	 * @param objType
+	 *          one of the objective types
+	 * @param snapshot
+	 *          best positions of every node's swarm, including this one, or
+	 *          null to follow the adjacent swarms' leaders as they move;
+	 *          required by {@link #REPULSION}, {@link #EQUIREPULSION},
+	 *          {@link #CROSSING} and {@link #EQUICROSSING}
+	 */
+	public PlanarGraphLayoutProblem(Set<Swarmable> swarms, int objType,
+	    LeaderSnapshot snapshot)
+	{
+		this.objective = objectiveOf(objType, new AdjacentSwarms(inOrder(swarms),
+		    snapshot), snapshot, -1);
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.marist.csmath.isag.strategy.ProblemSpace#getDimension()
+	 */
+	@Override
+	public int getDimension()
+	{
+		return 2;
+	}
+
+	/* (non-Javadoc)
+	 * @see edu.marist.csmath.isag.strategy.ProblemSpace#getObjective()
+	 */
+	@Override
+	public Objective getObjective()
+	{
+		return this.objective;
+	}
+
+	/**
+	 * Copy the specified swarms into an array ordered by identifier, so that
+	 * neighbors are visited in the same order on every run.
+	 * 
+	 * @param swarms
+	 * @return the same swarms, in a stable order
+	 */
+	static Swarmable[] inOrder(Set<Swarmable> swarms)
+	{
+		Swarmable[] ordered = swarms.toArray(new Swarmable[swarms.size()]);
+		Arrays.sort(ordered);
+		return ordered;
+	}
+
+	/**
+	 * Determines whether an objective type combines several objectives, and
+	 * so is better evaluated as a {@link FusedObjective}.
+	 * 
+	 * @param objType
+	 * @return true for the combined types
+	 */
+	static boolean isComposite(int objType)
+	{
+		switch (objType)
+		{
+		case EQUICENTER:
+		case EQUIVIEW:
+		case EQUIVIEWCENTER:
+		case CENTERVIEWCENTER:
+		case EQUIREPULSION:
+		case EQUICROSSING:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Make the objective of the specified type for a node. Combined types are
+	 * compiled into a {@link FusedObjective} sharing the neighbourhood's
+	 * aggregates when it has them, and otherwise composed of the single
+	 * objectives.
+	 * 
+	 * @param objType
+	 *          one of the objective types; unknown types are
+	 *          {@link #EQUIDISTANT}
+	 * @param neighbours
+	 *          the neighbours of the node
+	 * @param snapshot
+	 *          best positions of every node's swarm, or null
+	 * @param node
+	 *          id of the node in the snapshot, or -1 to look it up from the
+	 *          first particle scored
+	 * @return the objective
+	 */
+	static Objective objectiveOf(int objType, Neighbourhood neighbours,
+	    LeaderSnapshot snapshot, int node)
+	{
+		LeaderAggregates aggregates = neighbours.getAggregates();
+		if (aggregates != null && isComposite(objType))
+		  return FusedObjective.compile(objType, node, aggregates);
 		switch (objType)
 		{
 		default: /* fall-through! */
 		case EQUIDISTANT:
-			this.objective = new EquidistantObjective(swarms);
-			break;
+			return new EquidistantObjective(neighbours);
 		case CENTER:
-			this.objective = new CenterObjective(swarms);
-			break;
+			return new CenterObjective(neighbours);
 		case VIEWCENTER:
-			this.objective = new ViewCenterObjective();
-			break;
+			return new ViewCenterObjective();
 		case EQUICENTER:
-			this.objective = new CompositeObjective(new EquidistantObjective(swarms),
-			    new CenterObjective(swarms));
-			break;
+			return new CompositeObjective(new EquidistantObjective(neighbours),
+			    new CenterObjective(neighbours));
 		case EQUIVIEW:
-			this.objective = new CompositeObjective(new EquidistantObjective(swarms),
+			return new CompositeObjective(new EquidistantObjective(neighbours),
 			    new ViewCenterObjective());
-			break;
 		case EQUIVIEWCENTER:
-			this.objective = new CompositeObjective(new CompositeObjective(
-			    new EquidistantObjective(swarms), new ViewCenterObjective()),
-			    new CenterObjective(swarms));
-			break;
+			return new CompositeObjective(new CompositeObjective(
+			    new EquidistantObjective(neighbours), new ViewCenterObjective()),
+			    new CenterObjective(neighbours));
 		case CENTERVIEWCENTER:
-			this.objective = new CompositeObjective(new CompositeObjective(
-			    new EquidistantObjective(swarms), new ViewCenterObjective()),
-			    new CenterObjective(swarms), CompositeObjective.MULTIPLICATIVE);
-			break;
+			return new CompositeObjective(new CompositeObjective(
+			    new EquidistantObjective(neighbours), new ViewCenterObjective()),
+			    new CenterObjective(neighbours), CompositeObjective.MULTIPLICATIVE);
 		case ADJACENT:
-			this.objective = new AdjacentObjective(swarms);
-			break;
+			return new AdjacentObjective(neighbours);
+		case REPULSION:
+			return new RepulsionObjective(snapshot, node);
+		case EQUIREPULSION:
+			return new CompositeObjective(new EquidistantObjective(neighbours),
+			    new RepulsionObjective(snapshot, node));
+		case CROSSING:
+			return new CrossingObjective(snapshot, node);
+		case EQUICROSSING:
+			return new CompositeObjective(new EquidistantObjective(neighbours),
+			    new CrossingObjective(snapshot, node));
 		}
 	}
 
-	/* (non-Javadoc)
-	 * @see edu.marist.csmath.isag.strategy.ProblemSpace#getDimension()
+	/**
+	 * Pack the positions of the neighbours into two arrays, leaving out those
+	 * that have no leader in the snapshot.
+	 * 
+	 * @param neighbours
+	 * @param xs
+	 * @param ys
+	 *          receive the coordinates
+	 * @return number of positions packed
 	 */
-	@Override
-	public int getDimension()
+	private static int gather(Neighbourhood neighbours, double[] xs, double[] ys)
 	{
-		return 2;
+		int n = 0;
+		for (int j = 0; j < neighbours.size(); ++j)
+			{
+				double x = neighbours.getX(j);
+				if (x != x) continue; // no leader
+				xs[n] = x;
+				ys[n++] = neighbours.getY(j);
+			}
+		return n;
 	}
 
-	/* (non-Javadoc)
-	 * @see edu.marist.csmath.isag.strategy.ProblemSpace#getObjective()
+	/**
+	 * The swarms adjacent to a node, in a stable order, each read from a
+	 * snapshot if it holds the swarm and otherwise from its leader.
 	 */
-	@Override
-	public Objective getObjective()
+	private static final class AdjacentSwarms implements Neighbourhood
 	{
-		return this.objective;
+		/**
+		 * @param swarms
+		 *          the adjacent swarms, see {@link #inOrder(Set)}
+		 * @param snapshot
+		 *          best positions of every node's swarm, or null
+		 */
+		AdjacentSwarms(Swarmable[] swarms, LeaderSnapshot snapshot)
+		{
+			this.swarms = swarms;
+			this.snapshot = snapshot;
+			boolean all = (snapshot != null);
+			if (snapshot != null)
+				{
+					this.ids = new int[swarms.length];
+					for (int j = 0; j < swarms.length; ++j)
+						all &= ((this.ids[j] = snapshot.indexOf(swarms[j])) >= 0);
+				}
+			else
+				this.ids = null;
+			this.aggregates = (all && swarms.length > 0 ? new LeaderAggregates(
+			    snapshot, this.ids) : null);
+		}
+
+		@Override
+		public LeaderAggregates getAggregates()
+		{
+			return this.aggregates;
+		}
+
+		@Override
+		public double getX(int j)
+		{
+			if (this.ids == null || this.ids[j] < 0)
+			  return Neighbourhood.bestOf(this.swarms[j], 0);
+			return this.snapshot.getX(this.ids[j]);
+		}
+
+		@Override
+		public double getY(int j)
+		{
+			if (this.ids == null || this.ids[j] < 0)
+			  return Neighbourhood.bestOf(this.swarms[j], 1);
+			return this.snapshot.getY(this.ids[j]);
+		}
+
+		@Override
+		public int size()
+		{
+			return this.swarms.length;
+		}
+
+		private final Swarmable[]	      swarms;
+		private final LeaderSnapshot	  snapshot;
+
+		/** Id of each swarm in the snapshot, -1 if not in it, if there is one. */
+		private final int[]	           ids;
+
+		/** Centroid and packed positions of the swarms, if all in the snapshot. */
+		private final LeaderAggregates	aggregates;
 	}
 
-	public final class EquidistantObjective implements Objective
+	public static final class EquidistantObjective implements BatchObjective
 	{
-		Set<Swarmable>	adjacentSwarms;
+		EquidistantObjective(Neighbourhood neighbours)
+		{
+			this.neighbours = neighbours;
+			this.xs = new double[neighbours.size()];
+			this.ys = new double[neighbours.size()];
+		}
 
-		EquidistantObjective(Set<Swarmable> swarms)
+		@Override
+		public void computeFitness(Swarmable swarm, double[] positions,
+		    int stride, int count, double[] fitness)
 		{
-			this.adjacentSwarms = swarms;
+			LeaderAggregates adjacent = this.neighbours.getAggregates();
+			if (adjacent != null)
+				{
+					LeaderAggregates.Values v = adjacent.current();
+					BatchKernels.equidistant(positions, stride, count, v.xs, v.ys,
+					    v.count, fitness);
+					return;
+				}
+			int n = gather(this.neighbours, this.xs, this.ys);
+			BatchKernels.equidistant(positions, stride, count, this.xs, this.ys, n,
+			    fitness);
 		}
 
 		@Override
@@ -105,17 +322,14 @@ public class PlanarGraphLayoutProblem implements ProblemSpace
 		{
 			double max = Double.NEGATIVE_INFINITY;
 			double min = Double.POSITIVE_INFINITY;
+			double x = agent.getPosition(0), y = agent.getPosition(1);
 
-			for (Swarmable p : this.adjacentSwarms)
+			for (int j = 0; j < this.neighbours.size(); ++j)
 				{
-					double m = 0;
-					for (int i = 0; i < agent.getDimension(); ++i)
-						{
-							// compute distance from particle to neighbor
-							m += Math.pow(
-							    agent.getPosition(i) - p.getLeader().getPosition(i), 2);
-						}
-					double dist = Math.sqrt(m);
+					// compute distance from particle to neighbor
+					double dx = x - this.neighbours.getX(j);
+					double dy = y - this.neighbours.getY(j);
+					double dist = Math.sqrt(dx * dx + dy * dy);
 					if (min > dist) min = dist;
 					if (max < dist) max = dist;
 				}
@@ -125,67 +339,126 @@ public class PlanarGraphLayoutProblem implements ProblemSpace
 			else if (min < 80) score = 1;
 			return score;
 		}
+
+		private final Neighbourhood	neighbours;
+
+		/** Packed positions of the neighbours, when not from the cache. */
+		private final double[]	     xs, ys;
 	}
 
-	public final class CenterObjective implements Objective
+	public static final class CenterObjective implements BatchObjective
 	{
-		Set<Swarmable>	adjacentSwarms;
+		CenterObjective(Neighbourhood neighbours)
+		{
+			this.neighbours = neighbours;
+		}
 
-		CenterObjective(Set<Swarmable> swarms)
+		@Override
+		public void computeFitness(Swarmable swarm, double[] positions,
+		    int stride, int count, double[] fitness)
 		{
-			this.adjacentSwarms = swarms;
+			LeaderAggregates adjacent = this.neighbours.getAggregates();
+			double cx, cy;
+			if (adjacent != null)
+				{
+					LeaderAggregates.Values v = adjacent.current();
+					cx = v.centerX;
+					cy = v.centerY;
+				}
+			else
+				{
+					cx = centroid(0);
+					cy = centroid(1);
+				}
+			BatchKernels.center(positions, stride, count, cx, cy, fitness);
 		}
 
 		@Override
 		public double computeFitness(Swarmable agent)
 		{
-			double dist = 0;
-			for (int i = 0; i < agent.getDimension(); ++i)
+			LeaderAggregates adjacent = this.neighbours.getAggregates();
+			double cx, cy;
+			if (adjacent != null)
+				{
+					// the centroid is the same for every particle of the generation
+					cx = adjacent.getCenterX();
+					cy = adjacent.getCenterY();
+				}
+			else
 				{
-					double ci = 0;
-					for (Swarmable p : this.adjacentSwarms)
-						{
-							// compute distance from particle to neighbor
-							ci += p.getLeader().getPosition(i);
-						}
-					ci /= this.adjacentSwarms.size();
-					dist += Math.pow(agent.getPosition(i) - ci, 2);
+					cx = centroid(0);
+					cy = centroid(1);
 				}
-			dist = Math.sqrt(dist);
+			double dx = agent.getPosition(0) - cx, dy = agent.getPosition(1) - cy;
+			double dist = Math.sqrt(dx * dx + dy * dy);
 
 			double score = dist / Math.max(300, dist); // normalize difference
 			return score;
 		}
+
+		/**
+		 * @return a coordinate of the centroid of all the neighbours, NaN if
+		 *         any has no leader
+		 */
+		private double centroid(int coord)
+		{
+			double c = 0;
+			for (int j = 0; j < this.neighbours.size(); ++j)
+				c += (coord == 0 ? this.neighbours.getX(j) : this.neighbours.getY(j));
+			return c / this.neighbours.size();
+		}
+
+		private final Neighbourhood	neighbours;
 	}
 
-	public final class ViewCenterObjective implements Objective
+	public static final class ViewCenterObjective implements BatchObjective
 	{
 		ViewCenterObjective()
 		{}
 
+		@Override
+		public void computeFitness(Swarmable swarm, double[] positions,
+		    int stride, int count, double[] fitness)
+		{
+			BatchKernels.viewCenter(positions, stride, count, fitness);
+		}
+
 		@Override
 		public double computeFitness(Swarmable agent)
 		{
-			double[] c = { 398, 287 };
-			double dist = 0;
-			for (int i = 0; i < agent.getDimension(); ++i)
-				{
-					dist += Math.pow(agent.getPosition(i) - c[i], 2);
-				}
-			dist = Math.sqrt(dist);
+			double dx = agent.getPosition(0) - VIEW_CENTER[0];
+			double dy = agent.getPosition(1) - VIEW_CENTER[1];
+			double dist = Math.sqrt(dx * dx + dy * dy);
 
 			double score = dist / Math.max(400, dist); // normalize difference
 			return score;
 		}
 	}
 
-	public final class AdjacentObjective implements Objective
+	public static final class AdjacentObjective implements BatchObjective
 	{
-		Set<Swarmable>	adjacentSwarms;
+		AdjacentObjective(Neighbourhood neighbours)
+		{
+			this.neighbours = neighbours;
+			this.xs = new double[neighbours.size()];
+			this.ys = new double[neighbours.size()];
+		}
 
-		AdjacentObjective(Set<Swarmable> swarms)
+		@Override
+		public void computeFitness(Swarmable swarm, double[] positions,
+		    int stride, int count, double[] fitness)
 		{
-			this.adjacentSwarms = swarms;
+			LeaderAggregates adjacent = this.neighbours.getAggregates();
+			if (adjacent != null)
+				{
+					LeaderAggregates.Values v = adjacent.current();
+					BatchKernels.adjacent(positions, stride, count, v.xs, v.ys, v.count,
+					    fitness);
+					return;
+				}
+			int n = gather(this.neighbours, this.xs, this.ys);
+			BatchKernels.adjacent(positions, stride, count, this.xs, this.ys, n,
+			    fitness);
 		}
 
 		@Override
@@ -193,17 +466,14 @@ public class PlanarGraphLayoutProblem implements ProblemSpace
 		{
 			double max = Double.NEGATIVE_INFINITY;
 			double min = Double.POSITIVE_INFINITY;
+			double x = agent.getPosition(0), y = agent.getPosition(1);
 
-			for (Swarmable p : this.adjacentSwarms)
+			for (int j = 0; j < this.neighbours.size(); ++j)
 				{
-					double m = 0;
-					for (int i = 0; i < agent.getDimension(); ++i)
-						{
-							// compute distance from particle to neighbor
-							m += Math.pow(
-							    agent.getPosition(i) - p.getLeader().getPosition(i), 2);
-						}
-					double dist = Math.sqrt(m);
+					// compute distance from particle to neighbor
+					double dx = x - this.neighbours.getX(j);
+					double dy = y - this.neighbours.getY(j);
+					double dist = Math.sqrt(dx * dx + dy * dy);
 					if (min > dist) min = dist;
 					if (max < dist) max = dist;
 				}
@@ -211,6 +481,125 @@ public class PlanarGraphLayoutProblem implements ProblemSpace
 			score += (Math.abs(min - 210) / 210) * (Math.abs(max - 250) / 250);
 			return score / 2;
 		}
+
+		private final Neighbourhood	neighbours;
+
+		/** Packed positions of the neighbours, when not from the cache. */
+		private final double[]	     xs, ys;
 	}
 
+	/**
+	 * Scores a particle by how crowded it is by the leaders of all other nodes:
+	 * 0 with none within the tree's spacing, approaching 1 as the total
+	 * repulsion, see {@link LeaderQuadtree#repulsion(double, double, int)},
+	 * grows. A particle of a swarm missing from the snapshot scores 0, as it
+	 * does for {@link CrossingObjective}, rather than being repelled by its own
+	 * leader.
+	 */
+	public static final class RepulsionObjective implements BatchObjective
+	{
+		/**
+		 * @param snapshot
+		 *          best positions of every node's swarm, whose tree is queried
+		 * @param node
+		 *          id of the node solved for in the snapshot, or -1 to look it up
+		 *          from the first particle scored
+		 */
+		RepulsionObjective(LeaderSnapshot snapshot, int node)
+		{
+			if (snapshot == null)
+			  throw new IllegalArgumentException("repulsion needs a LeaderSnapshot");
+			this.snapshot = snapshot;
+			this.leaders = snapshot.getQuadtree();
+			this.node = node;
+		}
+
+		@Override
+		public double computeFitness(Swarmable agent)
+		{
+			int self = this.node;
+			if (self < 0) this.node = self = this.snapshot.indexOf(agent);
+			if (self < 0) return 0;
+			double r = this.leaders.repulsion(agent.getPosition(0),
+			    agent.getPosition(1), self);
+			return r / (1 + r);
+		}
+
+		@Override
+		public void computeFitness(Swarmable swarm, double[] positions,
+		    int stride, int count, double[] fitness)
+		{
+			int self = this.node;
+			if (self < 0) this.node = self = this.snapshot.indexOf(swarm);
+			for (int k = 0; k < count; ++k)
+				{
+					double r = (self < 0 ? 0 : this.leaders.repulsion(positions[k],
+					    positions[stride + k], self));
+					fitness[k] = r / (1 + r);
+				}
+		}
+
+		private final LeaderSnapshot	snapshot;
+		private final LeaderQuadtree	leaders;
+
+		/** Id of the node solved for; every particle scored is of its swarm. */
+		private int	                 node;
+	}
+
+	/**
+	 * Scores a particle by the number of crossings its node's edges would have
+	 * with the rest of the graph were the node at the particle: 0 with none,
+	 * approaching 1 as they grow, see
+	 * {@link LeaderEdgeGrid#crossings(int, double, double)}.
+	 */
+	public static final class CrossingObjective implements BatchObjective
+	{
+		/**
+		 * @param snapshot
+		 *          best positions of every node's swarm, made from the graph
+		 *          whose edge grid is queried
+		 * @param node
+		 *          id of the node solved for in the graph, or -1 to look it up
+		 *          from the first particle scored
+		 */
+		CrossingObjective(LeaderSnapshot snapshot, int node)
+		{
+			if (snapshot == null)
+			  throw new IllegalArgumentException("crossing needs a LeaderSnapshot");
+			this.snapshot = snapshot;
+			this.edges = snapshot.getEdgeGrid();
+			this.node = node;
+		}
+
+		@Override
+		public double computeFitness(Swarmable agent)
+		{
+			int self = this.node;
+			if (self < 0) this.node = self = this.snapshot.indexOf(agent);
+			if (self < 0) return 0;
+			int c = this.edges.crossings(self, agent.getPosition(0),
+			    agent.getPosition(1));
+			return c / (1.0 + c);
+		}
+
+		@Override
+		public void computeFitness(Swarmable swarm, double[] positions,
+		    int stride, int count, double[] fitness)
+		{
+			int self = this.node;
+			if (self < 0) this.node = self = this.snapshot.indexOf(swarm);
+			for (int k = 0; k < count; ++k)
+				{
+					int c = (self < 0 ? 0 : this.edges.crossings(self, positions[k],
+					    positions[stride + k]));
+					fitness[k] = c / (1.0 + c);
+				}
+		}
+
+		private final LeaderSnapshot	snapshot;
+		private final LeaderEdgeGrid	edges;
+
+		/** Id of the node solved for; every particle scored is of its swarm. */
+		private int	                 node;
+	}
 }
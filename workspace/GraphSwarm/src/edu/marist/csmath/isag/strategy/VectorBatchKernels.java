@@ -0,0 +1,147 @@
+/**
+ * GraphSwarm: VectorBatchKernels.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 5:24:03 AM
+ */
+package edu.marist.csmath.isag.strategy;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The loops of {@link BatchKernels} on the Vector API, scoring a vector of
+ * particles at a time; each returns how many particles it scored, always a
+ * multiple of the vector length, and leaves the rest to the scalar loop. The
+ * operations are those of the scalar loop in the same order, so the scores
+ * are the same to the last bit. Only ever loaded once
+ * {@link edu.marist.csmath.isag.swarm.Vectorization} has found the API's
+ * module.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class VectorBatchKernels
+{
+	private VectorBatchKernels()
+	{}
+
+	/**
+	 * Vector loop of {@link BatchKernels#adjacent}.
+	 */
+	static int adjacent(double[] positions, int stride, int count, double[] xs,
+	    double[] ys, int n, double[] fitness)
+	{
+		return distances(PlanarGraphLayoutProblem.ADJACENT, positions, stride,
+		    count, xs, ys, n, fitness, null);
+	}
+
+	/**
+	 * Vector loop of {@link BatchKernels#center}.
+	 */
+	static int center(double[] positions, int stride, int count, double cx,
+	    double cy, double[] fitness)
+	{
+		return centroid(positions, stride, count, cx, cy, 300, fitness);
+	}
+
+	/**
+	 * Vector loop of {@link BatchKernels#equidistant}.
+	 */
+	static int equidistant(double[] positions, int stride, int count,
+	    double[] xs, double[] ys, int n, double[] fitness)
+	{
+		return distances(PlanarGraphLayoutProblem.EQUIDISTANT, positions, stride,
+		    count, xs, ys, n, fitness, null);
+	}
+
+	/**
+	 * Vector loop of {@link BatchKernels#range}.
+	 */
+	static int range(double[] positions, int stride, int count, double[] xs,
+	    double[] ys, int n, double[] min, double[] max)
+	{
+		return distances(-1, positions, stride, count, xs, ys, n, min, max);
+	}
+
+	/**
+	 * Vector loop of {@link BatchKernels#viewCenter}.
+	 */
+	static int viewCenter(double[] positions, int stride, int count,
+	    double[] fitness)
+	{
+		return centroid(positions, stride, count,
+		    PlanarGraphLayoutProblem.VIEW_CENTER[0],
+		    PlanarGraphLayoutProblem.VIEW_CENTER[1], 400, fitness);
+	}
+
+	/**
+	 * Score particles by their distance to a point, normalized as
+	 * {@link BatchKernels#center(double)} with the specified radius.
+	 */
+	private static int centroid(double[] positions, int stride, int count,
+	    double cx, double cy, double radius, double[] fitness)
+	{
+		int bound = SPECIES.loopBound(count);
+		for (int k = 0; k < bound; k += SPECIES.length())
+			{
+				DoubleVector dx = DoubleVector.fromArray(SPECIES, positions, k).sub(cx);
+				DoubleVector dy = DoubleVector.fromArray(SPECIES, positions,
+				    stride + k).sub(cy);
+				DoubleVector dist = dx.mul(dx).add(dy.mul(dy)).sqrt();
+				dist.div(dist.max(radius)).intoArray(fitness, k);
+			}
+		return bound;
+	}
+
+	/**
+	 * Find the least and greatest distance of each particle to the
+	 * neighbours, and either score them as the objective of the specified type
+	 * or, given -1, store them.
+	 *
+	 * @param fitness
+	 *          receives the scores, or the least distances
+	 * @param max
+	 *          receives the greatest distances, if stored
+	 */
+	private static int distances(int objType, double[] positions, int stride,
+	    int count, double[] xs, double[] ys, int n, double[] fitness,
+	    double[] max)
+	{
+		int bound = SPECIES.loopBound(count);
+		for (int k = 0; k < bound; k += SPECIES.length())
+			{
+				DoubleVector x = DoubleVector.fromArray(SPECIES, positions, k);
+				DoubleVector y = DoubleVector.fromArray(SPECIES, positions, stride + k);
+				DoubleVector min2 = DoubleVector.broadcast(SPECIES,
+				    Double.POSITIVE_INFINITY);
+				DoubleVector max2 = DoubleVector.broadcast(SPECIES,
+				    Double.NEGATIVE_INFINITY);
+				for (int j = 0; j < n; ++j)
+					{
+						DoubleVector dx = x.sub(xs[j]), dy = y.sub(ys[j]);
+						DoubleVector d2 = dx.mul(dx).add(dy.mul(dy));
+						min2 = min2.min(d2);
+						max2 = max2.max(d2);
+					}
+				DoubleVector lo = min2.sqrt(), hi = max2.sqrt();
+				if (objType < 0)
+					{
+						lo.intoArray(fitness, k);
+						hi.intoArray(max, k);
+						continue;
+					}
+				DoubleVector score = hi.sub(lo).div(hi); // normalized difference
+				if (objType == PlanarGraphLayoutProblem.EQUIDISTANT)
+					score = score.blend(1, hi.compare(VectorOperators.GT, 320).or(
+					    lo.compare(VectorOperators.LT, 80)));
+				else
+					score = score.add(lo.sub(210).abs().div(210).mul(
+					    hi.sub(250).abs().div(250))).div(2);
+				score.intoArray(fitness, k);
+			}
+		return bound;
+	}
+
+	private static final VectorSpecies<Double>	SPECIES	= DoubleVector.SPECIES_PREFERRED;
+}
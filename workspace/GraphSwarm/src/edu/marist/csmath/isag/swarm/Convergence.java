@@ -0,0 +1,122 @@
+/**
+ * GraphSwarm: Convergence.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 6:34:12 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * Progress of one run, a swarm or a whole engine, towards its
+ * {@link StoppingCriteria}. The run reports its best fitness, extent and
+ * evaluation count once per generation; once a criterion is met the run is
+ * stopped for good.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class Convergence
+{
+	/**
+	 * Start watching a run.
+	 *
+	 * @param criteria
+	 * @param evaluations
+	 *          evaluations made by the run so far, not counted in the budget
+	 */
+	Convergence(StoppingCriteria criteria, long evaluations)
+	{
+		this.criteria = criteria;
+		this.start = System.nanoTime();
+		this.evaluations = evaluations;
+		this.history = new double[criteria.getWindow()];
+	}
+
+	/**
+	 * @return the criteria watched
+	 */
+	StoppingCriteria getCriteria()
+	{
+		return this.criteria;
+	}
+
+	/**
+	 * @return why the run stopped, or null if it has not
+	 */
+	StoppingCriteria.Reason getReason()
+	{
+		return this.reason;
+	}
+
+	/**
+	 * Determines whether the run must work out its extent for the next
+	 * {@link #check(double, double, long)}.
+	 */
+	boolean needsExtent()
+	{
+		return this.criteria.getExtent() > 0;
+	}
+
+	/**
+	 * Record the progress of the run after a generation and decide whether it
+	 * is to stop.
+	 *
+	 * @param fitness
+	 *          best fitness known to the run
+	 * @param extent
+	 *          greatest extent along any coordinate, if needed
+	 * @param evaluations
+	 *          evaluations made by the run so far
+	 * @return true if the run has stopped, now or before
+	 */
+	synchronized boolean check(double fitness, double extent, long evaluations)
+	{
+		if (this.reason != null) return true;
+		StoppingCriteria c = this.criteria;
+		if (this.history.length > 0)
+			{
+				int i = (int) (this.checks++ % this.history.length);
+				double old = this.history[i];
+				this.history[i] = fitness;
+				// improvement is NaN, never below epsilon, until a leader is found
+				if (this.checks > this.history.length
+				    && old - fitness < c.getEpsilon())
+				  this.reason = StoppingCriteria.Reason.PLATEAU;
+			}
+		if (this.reason == null && c.getExtent() > 0 && extent < c.getExtent())
+		  this.reason = StoppingCriteria.Reason.DIVERSITY;
+		if (this.reason == null && c.getTimeLimit() > 0
+		    && System.nanoTime() - this.start >= c.getTimeLimit() * 1000000L)
+		  this.reason = StoppingCriteria.Reason.TIME_LIMIT;
+		if (this.reason == null && c.getEvaluations() > 0
+		    && evaluations - this.evaluations >= c.getEvaluations())
+		  this.reason = StoppingCriteria.Reason.EVALUATIONS;
+		return this.reason != null;
+	}
+
+	/**
+	 * Stop the run for the specified reason, unless it has already stopped.
+	 *
+	 * @param why
+	 */
+	synchronized void stop(StoppingCriteria.Reason why)
+	{
+		if (this.reason == null) this.reason = why;
+	}
+
+	private final StoppingCriteria	      criteria;
+
+	/** When the run began to be watched, by {@link System#nanoTime()}. */
+	private final long	                  start;
+
+	/** Evaluations made before the run began to be watched. */
+	private final long	                  evaluations;
+
+	/** Best fitness at the latest checks, as a ring. */
+	private final double[]	              history;
+
+	/** Number of checks made. */
+	private long	                        checks;
+
+	/** Why the run stopped, or null while it goes on. */
+	private volatile StoppingCriteria.Reason	reason;
+}
@@ -0,0 +1,164 @@
+/**
+ * GraphSwarm: DirectSwarmState.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:58:26 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * Swarm state held in direct buffers outside the Java heap. The memory is
+ * released when the state itself becomes unreachable.
+ *
+ * The columns are {@link DoubleBuffer}s rather than memory segments because
+ * the foreign memory API is still a preview in release 21, which the build
+ * targets; segments from an automatic arena would serve the same purpose once
+ * the release moves to 22 or later.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class DirectSwarmState extends SwarmState
+{
+	/**
+	 * @param dimension
+	 * @param capacity
+	 */
+	DirectSwarmState(int dimension, int capacity)
+	{
+		super(dimension, capacity);
+		this.position = column(dimension * capacity);
+		this.positionBest = column(dimension * capacity);
+		this.velocity = column(dimension * capacity);
+		this.fitness = column(capacity);
+		this.fitnessBest = column(capacity);
+	}
+
+	@Override
+	public double getFitness(int slot)
+	{
+		return this.fitness.get(slot);
+	}
+
+	@Override
+	public double getFitnessBest(int slot)
+	{
+		return this.fitnessBest.get(slot);
+	}
+
+	@Override
+	public double getPosition(int slot, int coord)
+	{
+		return this.position.get(coord * this.capacity + slot);
+	}
+
+	@Override
+	public double getPositionBest(int slot, int coord)
+	{
+		return this.positionBest.get(coord * this.capacity + slot);
+	}
+
+	@Override
+	public double getVelocity(int slot, int coord)
+	{
+		return this.velocity.get(coord * this.capacity + slot);
+	}
+
+	@Override
+	public void setFitness(int slot, double value)
+	{
+		this.fitness.put(slot, value);
+	}
+
+	@Override
+	public void setFitnessBest(int slot, double value)
+	{
+		this.fitnessBest.put(slot, value);
+	}
+
+	@Override
+	public void setPosition(int slot, int coord, double value)
+	{
+		this.position.put(coord * this.capacity + slot, value);
+	}
+
+	@Override
+	public void setPositionBest(int slot, int coord, double value)
+	{
+		this.positionBest.put(coord * this.capacity + slot, value);
+	}
+
+	@Override
+	public void setVelocity(int slot, int coord, double value)
+	{
+		this.velocity.put(coord * this.capacity + slot, value);
+	}
+
+	@Override
+	protected void reallocate(int newCapacity)
+	{
+		this.position = regrow(this.position, this.dimension, newCapacity);
+		this.positionBest = regrow(this.positionBest, this.dimension, newCapacity);
+		this.velocity = regrow(this.velocity, this.dimension, newCapacity);
+		this.fitness = regrow(this.fitness, 1, newCapacity);
+		this.fitnessBest = regrow(this.fitnessBest, 1, newCapacity);
+	}
+
+	/**
+	 * Copy the occupied slots of each coordinate column to the heap, where an
+	 * objective can loop over them as over any array.
+	 */
+	@Override
+	protected double[] positions()
+	{
+		int length = this.dimension * this.capacity;
+		if (this.heap == null || this.heap.length != length)
+		  this.heap = new double[length];
+		for (int c = 0; c < this.dimension; ++c)
+			this.position.get(c * this.capacity, this.heap, c * this.capacity,
+			    this.size);
+		return this.heap;
+	}
+
+	/**
+	 * Allocate a zeroed column of the specified length.
+	 */
+	private static DoubleBuffer column(int length)
+	{
+		return ByteBuffer.allocateDirect(length * 8).order(ByteOrder.nativeOrder())
+		    .asDoubleBuffer();
+	}
+
+	/**
+	 * Copy each of the old columns to its new offset.
+	 */
+	private DoubleBuffer regrow(DoubleBuffer old, int columns, int newCapacity)
+	{
+		DoubleBuffer grown = column(columns * newCapacity);
+		for (int c = 0; c < columns; ++c)
+			for (int i = 0; i < this.size; ++i)
+				grown.put(c * newCapacity + i, old.get(c * this.capacity + i));
+		return grown;
+	}
+
+	/** Current positions, one column per coordinate. */
+	private DoubleBuffer	position;
+
+	/** Personal best positions, one column per coordinate. */
+	private DoubleBuffer	positionBest;
+
+	/** Current velocities, one column per coordinate. */
+	private DoubleBuffer	velocity;
+
+	/** Fitness at the current position. */
+	private DoubleBuffer	fitness;
+
+	/** Fitness at the personal best position. */
+	private DoubleBuffer	fitnessBest;
+
+	/** Heap copy of the current positions, made by {@link #positions()}. */
+	private double[]	    heap;
+}
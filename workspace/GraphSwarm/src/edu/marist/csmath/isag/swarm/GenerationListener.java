@@ -0,0 +1,30 @@
+/**
+ * GraphSwarm: GenerationListener.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 11:08:15 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * Receives notice of every generation run by a {@link SwarmEngine}, so that
+ * state shared by many objectives can be prepared once per generation rather
+ * than once per particle.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public interface GenerationListener
+{
+	/**
+	 * Called by the thread stepping the engine just before a generation's
+	 * evaluate phase. No particle is being scored or moved during the call,
+	 * and whatever the listener writes is visible to every worker of the
+	 * phase that follows.
+	 *
+	 * @param engine
+	 *          the engine about to run the generation
+	 * @param generation
+	 *          number of generations completed so far
+	 */
+	public abstract void generationStarting(SwarmEngine engine, long generation);
+}
@@ -0,0 +1,151 @@
+/**
+ * GraphSwarm: HeapSwarmState.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:41:03 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.Arrays;
+
+/**
+ * Swarm state held in primitive arrays on the Java heap.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class HeapSwarmState extends SwarmState
+{
+	/**
+	 * @param dimension
+	 * @param capacity
+	 */
+	HeapSwarmState(int dimension, int capacity)
+	{
+		super(dimension, capacity);
+		this.position = new double[dimension * capacity];
+		this.positionBest = new double[dimension * capacity];
+		this.velocity = new double[dimension * capacity];
+		this.fitness = new double[capacity];
+		this.fitnessBest = new double[capacity];
+	}
+
+	@Override
+	public double getFitness(int slot)
+	{
+		return this.fitness[slot];
+	}
+
+	@Override
+	public double getFitnessBest(int slot)
+	{
+		return this.fitnessBest[slot];
+	}
+
+	@Override
+	public double getPosition(int slot, int coord)
+	{
+		return this.position[coord * this.capacity + slot];
+	}
+
+	@Override
+	public double getPositionBest(int slot, int coord)
+	{
+		return this.positionBest[coord * this.capacity + slot];
+	}
+
+	@Override
+	public double getVelocity(int slot, int coord)
+	{
+		return this.velocity[coord * this.capacity + slot];
+	}
+
+	@Override
+	public void setFitness(int slot, double value)
+	{
+		this.fitness[slot] = value;
+	}
+
+	@Override
+	public void setFitnessBest(int slot, double value)
+	{
+		this.fitnessBest[slot] = value;
+	}
+
+	@Override
+	public void setPosition(int slot, int coord, double value)
+	{
+		this.position[coord * this.capacity + slot] = value;
+	}
+
+	@Override
+	public void setPositionBest(int slot, int coord, double value)
+	{
+		this.positionBest[coord * this.capacity + slot] = value;
+	}
+
+	@Override
+	public void setVelocity(int slot, int coord, double value)
+	{
+		this.velocity[coord * this.capacity + slot] = value;
+	}
+
+	@Override
+	public void keepBest(int slot)
+	{
+		for (int i = slot; i < this.position.length; i += this.capacity)
+			this.positionBest[i] = this.position[i];
+		this.fitnessBest[slot] = this.fitness[slot];
+	}
+
+	@Override
+	protected double[] positions()
+	{
+		return this.position;
+	}
+
+	@Override
+	protected void step(int count, double[] lead, double[] inertia,
+	    double[] selfWeight, double[] swarmWeight)
+	{
+		UpdateKernels.step(this.position, this.velocity, this.positionBest,
+		    this.capacity, this.dimension, count, lead, inertia, selfWeight,
+		    swarmWeight);
+	}
+
+	@Override
+	protected void reallocate(int newCapacity)
+	{
+		this.position = regrow(this.position, newCapacity);
+		this.positionBest = regrow(this.positionBest, newCapacity);
+		this.velocity = regrow(this.velocity, newCapacity);
+		this.fitness = Arrays.copyOf(this.fitness, newCapacity);
+		this.fitnessBest = Arrays.copyOf(this.fitnessBest, newCapacity);
+	}
+
+	/**
+	 * Copy each coordinate column of the old array to its new offset.
+	 */
+	private double[] regrow(double[] column, int newCapacity)
+	{
+		double[] grown = new double[this.dimension * newCapacity];
+		for (int c = 0; c < this.dimension; ++c)
+			System.arraycopy(column, c * this.capacity, grown, c * newCapacity,
+			    this.size);
+		return grown;
+	}
+
+	/** Current positions, one column per coordinate. */
+	double[]	position;
+
+	/** Personal best positions, one column per coordinate. */
+	double[]	positionBest;
+
+	/** Current velocities, one column per coordinate. */
+	double[]	velocity;
+
+	/** Fitness at the current position. */
+	double[]	fitness;
+
+	/** Fitness at the personal best position. */
+	double[]	fitnessBest;
+}
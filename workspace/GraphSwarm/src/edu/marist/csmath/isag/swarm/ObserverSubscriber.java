@@ -0,0 +1,195 @@
+/**
+ * GraphSwarm: ObserverSubscriber.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 7:14:26 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adapts a {@link SwarmObserver} to a stream of snapshots. A
+ * {@link SnapshotObserver} is handed each snapshot it receives. Any other
+ * observer is told about the particle behind the snapshot and reads whatever
+ * state it needs from the live particle, racing the threads that move it; it
+ * may see a position half updated. As before,
+ * an observer is never told about two changes at once, even by different
+ * publishers: every subscriber adapting an observer shares one lock. Snapshots
+ * are delivered on virtual threads, so the lock is a {@link ReentrantLock}
+ * rather than the observer's monitor, which would pin a delivery to its
+ * carrier thread for as long as the observer takes.
+ *
+ * Subscribers are equal if they adapt the same observer, so an observer can
+ * be unsubscribed without keeping its adapter.
+ *
+ * @param <T>
+ *          type of the snapshots
+ * @author M Johnson, S Khanal, S Sampath
+ */
+abstract class ObserverSubscriber<T> implements Flow.Subscriber<T>
+{
+	/**
+	 * @param observer
+	 *          the observer to tell
+	 * @param wholeSwarm
+	 *          whether the observer watches a swarm rather than a particle
+	 */
+	ObserverSubscriber(SwarmObserver observer, boolean wholeSwarm)
+	{
+		this.observer = observer;
+		this.wholeSwarm = wholeSwarm;
+		this.lock = lockOf(observer);
+	}
+
+	/**
+	 * Adapt an observer of a particle.
+	 *
+	 * @param observer
+	 * @return a subscriber to {@link Swarmable#getParticlePublisher()}
+	 */
+	static Flow.Subscriber<ParticleSnapshot> ofParticle(SwarmObserver observer)
+	{
+		return new ObserverSubscriber<ParticleSnapshot>(observer, false) {
+			@Override
+			Swarmable agentOf(ParticleSnapshot item)
+			{
+				return item.getParticle();
+			}
+
+			@Override
+			void tell(SnapshotObserver observer, ParticleSnapshot item)
+			{
+				observer.observe(item);
+			}
+		};
+	}
+
+	/**
+	 * Adapt an observer of a swarm; it is told about each new leader.
+	 *
+	 * @param observer
+	 * @return a subscriber to {@link Swarmable#getSwarmPublisher()}
+	 */
+	static Flow.Subscriber<SwarmBest> ofSwarm(SwarmObserver observer)
+	{
+		return new ObserverSubscriber<SwarmBest>(observer, true) {
+			@Override
+			Swarmable agentOf(SwarmBest item)
+			{
+				return item.getLeader();
+			}
+
+			@Override
+			void tell(SnapshotObserver observer, SwarmBest item)
+			{
+				observer.observe(item);
+			}
+		};
+	}
+
+	/**
+	 * Get the lock serializing the deliveries to an observer, made on first
+	 * use and dropped with the observer.
+	 *
+	 * @param observer
+	 * @return the observer's lock
+	 */
+	private static Lock lockOf(SwarmObserver observer)
+	{
+		synchronized (LOCKS)
+			{
+				Lock lock = LOCKS.get(observer);
+				if (lock == null) LOCKS.put(observer, lock = new ReentrantLock());
+				return lock;
+			}
+	}
+
+	/**
+	 * @param item
+	 * @return the particle the observer should be told about
+	 */
+	abstract Swarmable agentOf(T item);
+
+	/**
+	 * Hand a snapshot to an observer that reads snapshots.
+	 *
+	 * @param observer
+	 * @param item
+	 */
+	abstract void tell(SnapshotObserver observer, T item);
+
+	@Override
+	public boolean equals(Object o)
+	{
+		return (o instanceof ObserverSubscriber<?>
+		    && ((ObserverSubscriber<?>) o).observer == this.observer);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return System.identityHashCode(this.observer);
+	}
+
+	/* --- Flow.Subscriber implementation --- */
+
+	@Override
+	public void onComplete()
+	{}
+
+	@Override
+	public void onError(Throwable exc)
+	{
+		Thread t = Thread.currentThread();
+		t.getUncaughtExceptionHandler().uncaughtException(t, exc);
+	}
+
+	@Override
+	public void onNext(T item)
+	{
+		Swarmable agent = agentOf(item);
+		SwarmEvents.Dispatch event = SwarmEvents.dispatch();
+		SwarmMetrics m = agent.state.metrics;
+		long start = (m == null ? 0 : System.nanoTime());
+		this.lock.lock(); // the observer may also watch other particles
+		try
+			{
+				if (this.observer instanceof SnapshotObserver)
+					tell((SnapshotObserver) this.observer, item);
+				else
+					this.observer.observe(agent);
+			}
+		finally
+			{
+				this.lock.unlock();
+			}
+		if (m != null) m.dispatched(System.nanoTime() - start);
+		if (event != null) event.end(agent, this.observer, this.wholeSwarm);
+		this.subscription.request(1);
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription)
+	{
+		this.subscription = subscription;
+		subscription.request(1);
+	}
+
+	/** Lock of each observer that has been subscribed. */
+	private static final Map<SwarmObserver, Lock>	LOCKS	= new WeakHashMap<SwarmObserver, Lock>();
+
+	/** The adapted observer. */
+	final SwarmObserver	        observer;
+
+	/** Held while the observer is told about a snapshot. */
+	private final Lock	         lock;
+
+	private final boolean	      wholeSwarm;
+
+	private Flow.Subscription	subscription;
+}
@@ -0,0 +1,107 @@
+/**
+ * GraphSwarm: ParticleSnapshot.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 7:05:52 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * Immutable copy of the state of one particle at the moment it moved, as
+ * published by {@link Swarmable#getParticlePublisher()}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class ParticleSnapshot
+{
+	/**
+	 * Copy the current state of the specified particle.
+	 *
+	 * @param p
+	 */
+	ParticleSnapshot(Swarmable p)
+	{
+		SwarmState s = p.state;
+		int n = s.dimension();
+		this.particle = p;
+		this.position = new double[n];
+		this.velocity = new double[n];
+		for (int c = 0; c < n; ++c)
+			{
+				this.position[c] = s.getPosition(p.slot, c);
+				this.velocity[c] = s.getVelocity(p.slot, c);
+			}
+		this.fitness = s.getFitness(p.slot);
+		this.fitnessBest = s.getFitnessBest(p.slot);
+	}
+
+	/**
+	 * Get the number of variables in the solution.
+	 *
+	 * @return dimension of the search space
+	 */
+	public int getDimension()
+	{
+		return this.position.length;
+	}
+
+	/**
+	 * @return fitness of the particle's position when the snapshot was taken
+	 */
+	public double getFitness()
+	{
+		return this.fitness;
+	}
+
+	/**
+	 * @return fitness of the particle's personal best
+	 */
+	public double getFitnessBest()
+	{
+		return this.fitnessBest;
+	}
+
+	/**
+	 * Get the particle, whose live state may since have moved on.
+	 *
+	 * @return the particle the snapshot was taken of
+	 */
+	public Swarmable getParticle()
+	{
+		return this.particle;
+	}
+
+	/**
+	 * @param coord
+	 * @return one coordinate of the particle's position
+	 */
+	public double getPosition(int coord)
+	{
+		return this.position[coord];
+	}
+
+	/**
+	 * @param coord
+	 * @return one coordinate of the particle's velocity
+	 */
+	public double getVelocity(int coord)
+	{
+		return this.velocity[coord];
+	}
+
+	/** Printable string */
+	@Override
+	public String toString()
+	{
+		String str = "(";
+		for (int i = 0; i < this.position.length; i++)
+			str += (i == 0 ? "" : ",") + ((float) this.position[i]);
+		return ((float) this.fitness) + str + ")";
+	}
+
+	private final Swarmable	particle;
+	private final double[]	 position;
+	private final double[]	 velocity;
+	private final double	   fitness;
+	private final double	   fitnessBest;
+}
@@ -0,0 +1,38 @@
+/**
+ * GraphSwarm: SnapshotObserver.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 5:03:48 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * An observer told about immutable snapshots rather than live particles. The
+ * snapshots are the ones published, so an observer reading them never races
+ * the threads moving the swarm; see {@link SnapshotPublisher}.
+ *
+ * Registered with {@link Swarmable#registerObserver(SwarmObserver)} or
+ * {@link Swarmable#registerSwarmObserver(SwarmObserver)}, it is told through
+ * the method matching the stream, and never through
+ * {@link SwarmObserver#observe(Swarmable)}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public interface SnapshotObserver extends SwarmObserver
+{
+	/**
+	 * Told each time an observed particle moves.
+	 *
+	 * @param snapshot
+	 *          the particle's state as it moved
+	 */
+	public abstract void observe(ParticleSnapshot snapshot);
+
+	/**
+	 * Told each time the best of an observed swarm improves.
+	 *
+	 * @param best
+	 *          a copy of the swarm's new best
+	 */
+	public abstract void observe(SwarmBest best);
+}
@@ -0,0 +1,291 @@
+/**
+ * GraphSwarm: SnapshotPublisher.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 6:47:15 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes snapshots of a changing particle or swarm to any number of
+ * subscribers without ever making the publishing thread wait for them.
+ *
+ * Each subscriber holds only the latest snapshot not yet delivered to it: a
+ * newer snapshot replaces an undelivered older one, so a slow subscriber sees
+ * fewer, fresher values rather than a growing backlog. Snapshots are delivered
+ * on an executor, one at a time per subscriber, and only while the subscriber
+ * has outstanding demand.
+ *
+ * Publication can also be decimated at the source, to every Nth change or to
+ * a maximum rate, so that snapshots which nobody would see are never built.
+ * Producers should ask {@link #isDue()} before building a snapshot.
+ *
+ * @param <T>
+ *          type of the snapshots, which must be immutable
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class SnapshotPublisher<T> implements Flow.Publisher<T>
+{
+	/**
+	 * Create a publisher delivering on virtual threads, one per delivery run,
+	 * so that a subscriber which blocks delays nobody but itself.
+	 */
+	public SnapshotPublisher()
+	{
+		this(VIRTUAL);
+	}
+
+	/**
+	 * Create a publisher delivering on the specified executor.
+	 *
+	 * @param executor
+	 *          runs deliveries; must not run them on the calling thread if
+	 *          publishers are to stay non-blocking
+	 */
+	public SnapshotPublisher(Executor executor)
+	{
+		this.executor = executor;
+	}
+
+	/**
+	 * Determines whether any subscriber is attached.
+	 *
+	 * @return true if published snapshots would be delivered
+	 */
+	public boolean hasSubscribers()
+	{
+		return !this.subscriptions.isEmpty();
+	}
+
+	/**
+	 * Count a change and decide whether it should be published. A change is
+	 * due if anyone is subscribed, it is the Nth since the last one published,
+	 * and publishing it would not exceed the maximum rate. Concurrent producers
+	 * may race on the counts, which only makes the decimation approximate.
+	 *
+	 * @return true if the caller should build and publish a snapshot
+	 */
+	public boolean isDue()
+	{
+		if (this.subscriptions.isEmpty()) return false;
+		if (++this.skipped < this.every) return false;
+		if (this.interval > 0)
+			{
+				long now = System.nanoTime();
+				if (now - this.last < this.interval) return false;
+				this.last = now;
+			}
+		this.skipped = 0;
+		return true;
+	}
+
+	/**
+	 * Offer a snapshot to every subscriber, replacing any snapshot still waiting
+	 * to be delivered to it. Never blocks.
+	 *
+	 * @param item
+	 *          an immutable snapshot
+	 */
+	public void publish(T item)
+	{
+		List<Subscription> current = this.subscriptions;
+		for (int i = 0; i < current.size(); ++i)
+			current.get(i).offer(item);
+	}
+
+	/**
+	 * Publish only every Nth change; see {@link #isDue()}.
+	 *
+	 * @param every
+	 *          1 to publish every change (the default)
+	 */
+	public void setDecimation(int every)
+	{
+		if (every < 1)
+		  throw new IllegalArgumentException("decimation must be positive: "
+		      + every);
+		this.every = every;
+	}
+
+	/**
+	 * Publish changes no more often than the specified rate; see
+	 * {@link #isDue()}.
+	 *
+	 * @param hertz
+	 *          maximum snapshots per second, or 0 for no limit (the default)
+	 */
+	public void setMaxRate(double hertz)
+	{
+		this.interval = (hertz <= 0 ? 0 : (long) (1e9 / hertz));
+	}
+
+	/* --- Flow.Publisher implementation --- */
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber)
+	{
+		Subscription s = new Subscription(subscriber);
+		this.subscriptions.add(s);
+		subscriber.onSubscribe(s);
+	}
+
+	/**
+	 * Cancel every subscription of the specified subscriber, or of any equal to
+	 * it.
+	 *
+	 * @param subscriber
+	 */
+	public void unsubscribe(Flow.Subscriber<? super T> subscriber)
+	{
+		for (Subscription s : this.subscriptions)
+			if (s.subscriber.equals(subscriber)) s.cancel();
+	}
+
+	/**
+	 * One subscriber's demand and its latest undelivered snapshot.
+	 */
+	private final class Subscription implements Flow.Subscription, Runnable
+	{
+		Subscription(Flow.Subscriber<? super T> subscriber)
+		{
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void cancel()
+		{
+			if (this.cancelled.compareAndSet(false, true))
+				{
+					this.latest.set(null);
+					SnapshotPublisher.this.subscriptions.remove(this);
+				}
+		}
+
+		@Override
+		public void request(long n)
+		{
+			if (n <= 0)
+				{
+					cancel();
+					this.subscriber.onError(new IllegalArgumentException(
+					    "non-positive request: " + n));
+					return;
+				}
+			long d;
+			do
+				{
+					d = this.demand.get();
+				}
+			while (!this.demand.compareAndSet(d, (d + n < 0 ? Long.MAX_VALUE
+			    : d + n)));
+			schedule();
+		}
+
+		/**
+		 * Deliver the latest snapshot for as long as there is demand for one. A
+		 * subscriber that throws anything, an Error included, is cancelled and
+		 * told why rather than left silently waiting for a run that never
+		 * comes.
+		 */
+		@Override
+		public void run()
+		{
+			try
+				{
+					T item;
+					while (!this.cancelled.get() && this.demand.get() > 0
+					    && (item = this.latest.getAndSet(null)) != null)
+						{
+							if (this.demand.get() != Long.MAX_VALUE)
+							  this.demand.decrementAndGet();
+							try
+								{
+									this.subscriber.onNext(item);
+								}
+							catch (Throwable exc)
+								{
+									cancel();
+									this.subscriber.onError(exc);
+								}
+						}
+				}
+			finally
+				{
+					this.scheduled.set(false);
+					if (this.latest.get() != null) schedule(); // offered while finishing
+				}
+		}
+
+		void offer(T item)
+		{
+			this.latest.set(item);
+			schedule();
+		}
+
+		/**
+		 * Start a delivery unless one is running or there is nothing to do.
+		 */
+		private void schedule()
+		{
+			if (this.cancelled.get() || this.demand.get() == 0
+			    || this.latest.get() == null) return;
+			if (this.scheduled.compareAndSet(false, true))
+			  SnapshotPublisher.this.executor.execute(this);
+		}
+
+		final Flow.Subscriber<? super T>	subscriber;
+
+		/** Undelivered snapshot, replaced by each newer one. */
+		private final AtomicReference<T>	latest	  = new AtomicReference<T>();
+
+		/** Snapshots requested and not yet delivered. */
+		private final AtomicLong	        demand	  = new AtomicLong();
+
+		/** Set while a delivery is queued or running. */
+		private final AtomicBoolean	      scheduled	= new AtomicBoolean();
+
+		private final AtomicBoolean	      cancelled	= new AtomicBoolean();
+	}
+
+	/** Starts each delivery run on a fresh virtual thread. */
+	private static final Executor	           VIRTUAL	      = new VirtualThreads();
+
+	/** Runs deliveries to subscribers. */
+	private final Executor	               executor;
+
+	/** Current subscriptions. */
+	private final List<Subscription>	       subscriptions	= new CopyOnWriteArrayList<Subscription>();
+
+	/** Publish every Nth change. */
+	private volatile int	                   every	        = 1;
+
+	/** Changes counted since the last one published. */
+	private int	                             skipped;
+
+	/** Minimum time between published changes in nanoseconds. */
+	private volatile long	                  interval;
+
+	/** Time the last change was published. */
+	private long	                            last	         = System.nanoTime();
+
+	/**
+	 * Runs each task on a virtual thread of its own.
+	 */
+	private static final class VirtualThreads implements Executor
+	{
+		@Override
+		public void execute(Runnable task)
+		{
+			Thread.ofVirtual().name(SnapshotPublisher.class.getSimpleName()).start(
+			    task);
+		}
+	}
+}
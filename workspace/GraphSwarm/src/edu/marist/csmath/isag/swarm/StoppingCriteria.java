@@ -0,0 +1,187 @@
+/**
+ * GraphSwarm: StoppingCriteria.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 6:20:37 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * When to stop optimizing, either one swarm, see
+ * {@link Swarmable#setStoppingCriteria(StoppingCriteria)}, or every swarm of
+ * a {@link SwarmEngine}, see
+ * {@link SwarmEngine#setStoppingCriteria(StoppingCriteria)}. A run stops as
+ * soon as any of the criteria set is met:
+ * <ul>
+ * <li>a plateau: the best fitness has improved by less than epsilon over the
+ * last so many checks, which are made once per generation;</li>
+ * <li>a collapse of diversity: the particles all lie within a box whose
+ * sides, see {@link Swarmable#getExtent(int)}, are below a threshold;</li>
+ * <li>a time limit, counted from when the criteria were given;</li>
+ * <li>a budget of evaluations of the objective, counted likewise.</li>
+ * </ul>
+ * Criteria are immutable and may be shared by any number of swarms; each
+ * keeps its own progress. Build them with a {@link Builder}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class StoppingCriteria
+{
+	/**
+	 * Why a run stopped.
+	 */
+	public static enum Reason
+	{
+		/** The best fitness stopped improving. */
+		PLATEAU,
+		/** The particles gathered in too small a region. */
+		DIVERSITY,
+		/** The time limit ran out. */
+		TIME_LIMIT,
+		/** The budget of evaluations was spent. */
+		EVALUATIONS,
+		/** Every swarm of the engine stopped on its own criteria. */
+		SWARMS,
+	}
+
+	/**
+	 * Builds {@link StoppingCriteria}; no criterion is set unless asked for.
+	 */
+	public static final class Builder
+	{
+		/**
+		 * Stop once the best fitness has improved by less than epsilon over the
+		 * last window checks.
+		 *
+		 * @param window
+		 *          number of generations looked back over
+		 * @param epsilon
+		 *          least improvement for the run to go on
+		 * @return this builder
+		 */
+		public Builder plateau(int window, double epsilon)
+		{
+			if (window < 1)
+			  throw new IllegalArgumentException("window must be positive: "
+			      + window);
+			this.window = window;
+			this.epsilon = epsilon;
+			return this;
+		}
+
+		/**
+		 * Stop once the extent of the swarm along every coordinate is below the
+		 * specified threshold. For an engine, every swarm must have gathered so.
+		 *
+		 * @param extent
+		 *          greatest extent at which to stop
+		 * @return this builder
+		 */
+		public Builder diversity(double extent)
+		{
+			this.extent = extent;
+			return this;
+		}
+
+		/**
+		 * @param millis
+		 *          wall-clock time after which to stop
+		 * @return this builder
+		 */
+		public Builder timeLimit(long millis)
+		{
+			this.millis = millis;
+			return this;
+		}
+
+		/**
+		 * @param budget
+		 *          number of evaluations of the objective after which to stop
+		 * @return this builder
+		 */
+		public Builder evaluations(long budget)
+		{
+			this.evaluations = budget;
+			return this;
+		}
+
+		/**
+		 * @return criteria combining all those set so far
+		 */
+		public StoppingCriteria build()
+		{
+			return new StoppingCriteria(this);
+		}
+
+		private int	   window;
+		private double	epsilon;
+		private double	extent;
+		private long	  millis;
+		private long	  evaluations;
+	}
+
+	private StoppingCriteria(Builder b)
+	{
+		this.window = b.window;
+		this.epsilon = b.epsilon;
+		this.extent = b.extent;
+		this.millis = b.millis;
+		this.evaluations = b.evaluations;
+	}
+
+	/**
+	 * @return least improvement over the window, see {@link #getWindow()}
+	 */
+	public double getEpsilon()
+	{
+		return this.epsilon;
+	}
+
+	/**
+	 * @return evaluation budget, or 0 if unlimited
+	 */
+	public long getEvaluations()
+	{
+		return this.evaluations;
+	}
+
+	/**
+	 * @return extent at which to stop, or 0 if diversity is not watched
+	 */
+	public double getExtent()
+	{
+		return this.extent;
+	}
+
+	/**
+	 * @return time limit in milliseconds, or 0 if unlimited
+	 */
+	public long getTimeLimit()
+	{
+		return this.millis;
+	}
+
+	/**
+	 * @return number of checks looked back over for a plateau, or 0 if
+	 *         improvement is not watched
+	 */
+	public int getWindow()
+	{
+		return this.window;
+	}
+
+	/** Printable string */
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[window=" + this.window
+		    + ", epsilon=" + this.epsilon + ", extent=" + this.extent + ", millis="
+		    + this.millis + ", evaluations=" + this.evaluations + "]";
+	}
+
+	private final int	   window;
+	private final double	epsilon;
+	private final double	extent;
+	private final long	  millis;
+	private final long	  evaluations;
+}
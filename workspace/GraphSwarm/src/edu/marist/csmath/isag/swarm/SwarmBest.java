@@ -0,0 +1,125 @@
+/**
+ * GraphSwarm: SwarmBest.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 12:20:51 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * Record of the best solution known to a swarm and the particle that found it.
+ * The records a swarm hands out, from {@link Swarmable#getSwarmBest()} and to
+ * its observers, are copies that never change.
+ *
+ * A swarm's own records are internal to it: swarms driven by a
+ * {@link SwarmEngine} alternate between two, rewriting the older in place
+ * rather than allocating one per improvement.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class SwarmBest
+{
+	/**
+	 * @param leader
+	 *          the particle that found the solution
+	 * @param fitness
+	 *          fitness of the solution
+	 * @param position
+	 *          the solution; the array is not copied and must not be modified
+	 */
+	SwarmBest(Swarmable leader, double fitness, double[] position)
+	{
+		this.leader = leader;
+		this.fitness = fitness;
+		this.position = position;
+	}
+
+	/**
+	 * Create a blank record, to be filled in before it is published.
+	 *
+	 * @param dimension
+	 *          number of variables in the solution
+	 */
+	SwarmBest(int dimension)
+	{
+		this(null, Double.POSITIVE_INFINITY, new double[dimension]);
+	}
+
+	/**
+	 * Make a private copy of this record that will never be reused.
+	 *
+	 * @return a new record
+	 */
+	public SwarmBest copy()
+	{
+		return new SwarmBest(this.leader, this.fitness, this.position.clone());
+	}
+
+	/**
+	 * Get the number of variables in the solution.
+	 *
+	 * @return dimension of the search space
+	 */
+	public int getDimension()
+	{
+		return this.position.length;
+	}
+
+	/**
+	 * Get the fitness of the best known solution.
+	 *
+	 * @return the swarm's best fitness score
+	 */
+	public double getFitness()
+	{
+		return this.fitness;
+	}
+
+	/**
+	 * Get the particle that found the best known solution.
+	 *
+	 * @return the leader of the swarm
+	 */
+	public Swarmable getLeader()
+	{
+		return this.leader;
+	}
+
+	/**
+	 * Get one coordinate of the best known solution.
+	 *
+	 * @param coord
+	 * @return the swarm's best position
+	 */
+	public double getPosition(int coord)
+	{
+		return this.position[coord];
+	}
+
+	/** Printable string */
+	@Override
+	public String toString()
+	{
+		String str = "(";
+		for (int i = 0; i < this.position.length; i++)
+			str += (i == 0 ? "" : ",") + ((float) this.position[i]);
+		return ((float) this.fitness) + str + ")";
+	}
+
+	/**
+	 * Overwrite the leader and fitness of a record that is not published; the
+	 * position is written directly.
+	 *
+	 * @param leader
+	 * @param fitness
+	 */
+	void assign(Swarmable leader, double fitness)
+	{
+		this.leader = leader;
+		this.fitness = fitness;
+	}
+
+	private Swarmable	      leader;
+	private double	        fitness;
+	final double[]	        position;
+}
@@ -0,0 +1,738 @@
+/**
+ * GraphSwarm: SwarmEngine.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 9:12:40 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.ObjectName;
+
+import edu.marist.csmath.isag.strategy.BatchObjective;
+import edu.marist.csmath.isag.strategy.Objective;
+
+/**
+ * Drives any number of swarms in lock-step generations on a fixed pool of
+ * worker threads, as an alternative to {@link Swarmable#beginSwarming()} which
+ * dedicates a thread to every particle. Each generation consists of an
+ * evaluate phase followed by an update phase; a barrier separates the two so
+ * that no particle moves while another is still being scored.
+ *
+ * Within a phase, workers claim whole swarms from a shared cursor, so the
+ * particles of any one swarm are always handled by a single thread.
+ *
+ * In {@link #setDeterministic(boolean) deterministic} mode, particles only
+ * record their personal bests while being evaluated; each swarm then elects
+ * its leader in slot order before being updated. Given the same seed, the
+ * same swarms and objectives, a run then produces bit-identical positions
+ * whatever the number of workers.
+ *
+ * A swarm whose objective is a {@link BatchObjective} is scored with one call
+ * per generation over the swarm's position columns; any other objective is
+ * called once per particle. Particles are then moved by one sweep over the
+ * swarm's columns, on SIMD kernels where the JVM allows; see
+ * {@link Vectorization}.
+ *
+ * {@link GenerationListener}s are told of each generation before it starts,
+ * while no particle is being scored or moved.
+ *
+ * A swarm that meets its own {@link StoppingCriteria} is no longer scored or
+ * moved. The engine finishes when every swarm has stopped, or when the
+ * criteria given to the engine itself are met by the layout as a whole; it
+ * then releases its workers, stops running in the background and completes
+ * its {@link #completion()}.
+ *
+ * An engine can be watched over JMX once {@link #registerMBean(String)} has
+ * been called; see {@link SwarmEngineMBean}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class SwarmEngine implements Runnable, SwarmEngineMBean
+{
+	/**
+	 * Create an engine with one worker per available processor.
+	 */
+	public SwarmEngine()
+	{
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create an engine with the specified number of workers. The thread calling
+	 * {@link #step()} counts as one of them, so a single worker runs every phase
+	 * inline without starting any threads.
+	 *
+	 * @param workers
+	 *          number of threads sharing the work of each phase
+	 */
+	public SwarmEngine(int workers)
+	{
+		if (workers < 1)
+		  throw new IllegalArgumentException("workers must be positive: "
+		      + workers);
+		this.workers = workers;
+	}
+
+	/**
+	 * Add a swarm to the set driven by this engine. Any particle of the swarm
+	 * may be given; the whole swarm is driven.
+	 *
+	 * @param swarm
+	 *          a particle of the swarm to drive
+	 */
+	public synchronized void add(Swarmable swarm)
+	{
+		for (Swarmable s : this.swarms)
+			if (s.equals(swarm)) return;
+		Swarmable[] grown = Arrays.copyOf(this.swarms, this.swarms.length + 1);
+		grown[this.swarms.length] = swarm;
+		this.swarms = grown;
+	}
+
+	/**
+	 * Add a listener to be told of every generation before it starts.
+	 *
+	 * @param listener
+	 */
+	public synchronized void addGenerationListener(GenerationListener listener)
+	{
+		GenerationListener[] grown = Arrays.copyOf(this.listeners,
+		    this.listeners.length + 1);
+		grown[this.listeners.length] = listener;
+		this.listeners = grown;
+	}
+
+	/**
+	 * Remove a listener added by
+	 * {@link #addGenerationListener(GenerationListener)}.
+	 *
+	 * @param listener
+	 */
+	public synchronized void removeGenerationListener(GenerationListener listener)
+	{
+		for (int i = 0; i < this.listeners.length; ++i)
+			if (this.listeners[i] == listener)
+				{
+					GenerationListener[] shrunk = Arrays.copyOf(this.listeners,
+					    this.listeners.length - 1);
+					System.arraycopy(this.listeners, i + 1, shrunk, i, shrunk.length
+					    - i);
+					this.listeners = shrunk;
+					return;
+				}
+	}
+
+	/**
+	 * Get a future completed with the number of generations run once this
+	 * engine finishes, see {@link #isFinished()}. It is not completed by
+	 * {@link #stop()} or {@link #shutdown()}, after which the engine may go on.
+	 *
+	 * @return the completion of the current run
+	 */
+	public CompletableFuture<Long> completion()
+	{
+		return this.completion;
+	}
+
+	/**
+	 * Tell why this engine finished.
+	 *
+	 * @return the criterion met, or null if the engine has not finished
+	 */
+	public StoppingCriteria.Reason getStopReason()
+	{
+		return this.reason;
+	}
+
+	/**
+	 * Give the layout as a whole criteria on which to finish, or remove them.
+	 * The plateau is that of the sum of the swarms' best fitness, the extent
+	 * the greatest of any swarm, and the evaluations those of all swarms.
+	 * Progress counts from now. An engine that had finished may run again,
+	 * with a new {@link #completion()}.
+	 *
+	 * @param criteria
+	 *          when to finish, or null to finish only once every swarm stops
+	 */
+	public synchronized void setStoppingCriteria(StoppingCriteria criteria)
+	{
+		long evaluations = 0;
+		for (Swarmable swarm : this.swarms)
+			evaluations += swarm.state.getEvaluations();
+		this.convergence = (criteria == null ? null : new Convergence(criteria,
+		    evaluations));
+		if (this.reason != null)
+			{
+				this.reason = null;
+				this.completion = new CompletableFuture<Long>();
+			}
+	}
+
+	/* --- SwarmEngineMBean implementation --- */
+
+	/**
+	 * Get the number of bytes allocated by all workers per generation,
+	 * measured over the last second or more.
+	 *
+	 * @return recent allocation per generation, or 0 if unmeasured
+	 */
+	@Override
+	public double getAllocatedBytesPerGeneration()
+	{
+		double generations = this.generationRate.sample(this.generation);
+		double bytes = this.allocationRate.sample(this.allocated.sum());
+		return (generations == 0 ? 0 : bytes / generations);
+	}
+
+	/**
+	 * Get the number of generations completed so far.
+	 *
+	 * @return generation count
+	 */
+	@Override
+	public long getGeneration()
+	{
+		return this.generation;
+	}
+
+	/**
+	 * Get the number of generations completed per second, measured over the
+	 * last second or more.
+	 *
+	 * @return recent generation rate
+	 */
+	@Override
+	public double getGenerationsPerSecond()
+	{
+		return this.generationRate.sample(this.generation);
+	}
+
+	@Override
+	public double getGenerationTimeMean()
+	{
+		return this.generationTime.mean();
+	}
+
+	@Override
+	public long getGenerationTimeP99()
+	{
+		return this.generationTime.percentile(0.99);
+	}
+
+	/**
+	 * Get the number of swarms driven by this engine.
+	 *
+	 * @return swarm count
+	 */
+	@Override
+	public int getSwarmCount()
+	{
+		return this.swarms.length;
+	}
+
+	/**
+	 * Get the number of threads sharing the work of each phase.
+	 *
+	 * @return worker count
+	 */
+	@Override
+	public int getWorkers()
+	{
+		return this.workers;
+	}
+
+	/**
+	 * Determines whether leaders are elected deterministically between phases.
+	 *
+	 * @return true in deterministic mode
+	 */
+	@Override
+	public boolean isDeterministic()
+	{
+		return this.deterministic;
+	}
+
+	/**
+	 * Determines whether this engine has finished, its criteria met or every
+	 * swarm stopped. Further steps do nothing.
+	 *
+	 * @return true once finished
+	 */
+	@Override
+	public boolean isFinished()
+	{
+		return this.reason != null;
+	}
+
+	/**
+	 * Determines whether a thread started by {@link #start()} is still driving
+	 * this engine.
+	 *
+	 * @return true if running in the background
+	 */
+	@Override
+	public boolean isRunning()
+	{
+		return this.running;
+	}
+
+	/**
+	 * Publish this engine as an MBean, replacing any other engine registered
+	 * under the same name.
+	 *
+	 * @param name
+	 *          key under which to register the engine
+	 */
+	public synchronized void registerMBean(String name)
+	{
+		unregisterMBean();
+		ObjectName on = SwarmMetrics.objectName("SwarmEngine", name);
+		SwarmMetrics.register(this, on);
+		this.mbeanName = on;
+	}
+
+	/**
+	 * Withdraw the MBean published by {@link #registerMBean(String)}, if any.
+	 */
+	public synchronized void unregisterMBean()
+	{
+		if (this.mbeanName == null) return;
+		SwarmMetrics.unregister(this.mbeanName);
+		this.mbeanName = null;
+	}
+
+	/**
+	 * Choose between publishing improvements as soon as any particle finds one
+	 * (the default, which lets a swarm react within a generation) and electing
+	 * leaders once per generation so that results do not depend on thread
+	 * scheduling.
+	 *
+	 * @param deterministic
+	 *          true to elect leaders deterministically
+	 */
+	public synchronized void setDeterministic(boolean deterministic)
+	{
+		this.deterministic = deterministic;
+	}
+
+	/**
+	 * Reseed every swarm driven by this engine, in the order they were added.
+	 * Particles must be seeded before they are randomized for a run to be
+	 * reproducible.
+	 *
+	 * @param seed
+	 *          master seed for all swarms
+	 */
+	public synchronized void setSeed(long seed)
+	{
+		SplittableRandom master = new SplittableRandom(seed);
+		for (Swarmable swarm : this.swarms)
+			swarm.setSeed(master.nextLong());
+	}
+
+	/**
+	 * Set a pause to be taken between generations. This is only useful for
+	 * slowing a run down enough to watch it; the default is no pause at all.
+	 *
+	 * @param millis
+	 *          delay between generations in milliseconds
+	 */
+	public void setDelay(long millis)
+	{
+		this.delay = millis;
+	}
+
+	/* --- Runnable implementation --- */
+
+	/**
+	 * Run generations until {@link #stop()} is called, the driving thread is
+	 * interrupted or the engine finishes, then release the workers.
+	 */
+	@Override
+	public void run()
+	{
+		try
+			{
+				while (this.running && this.reason == null
+				    && !Thread.currentThread().isInterrupted())
+					{
+						step();
+						if (this.delay > 0) Thread.sleep(this.delay);
+					}
+			}
+		catch (InterruptedException exc)
+			{
+				Thread.currentThread().interrupt();
+			}
+		finally
+			{
+				this.running = false;
+				shutdown();
+			}
+	}
+
+	/**
+	 * Release the worker threads. The engine may still be stepped afterwards,
+	 * in which case a fresh set of workers is started.
+	 */
+	public synchronized void shutdown()
+	{
+		if (this.pool == null) return;
+		this.phase = SHUTDOWN;
+		if (await(this.barrier))
+			{
+				this.pool = null;
+				this.barrier = null;
+			}
+		else
+			abandonWorkers();
+	}
+
+	/**
+	 * Drive this engine from a new background thread.
+	 */
+	public synchronized void start()
+	{
+		if (this.running || this.reason != null) return;
+		this.running = true;
+		this.driver = new Thread(this, getClass().getSimpleName());
+		this.driver.start();
+	}
+
+	/**
+	 * Run a single generation over every swarm: tell the generation listeners,
+	 * evaluate all particles, wait for every worker to finish, then update all
+	 * particles. Does nothing once the engine has finished.
+	 */
+	public synchronized void step()
+	{
+		if (this.reason != null) return;
+		Swarmable[] current = this.swarms;
+		long start = System.nanoTime();
+		for (GenerationListener listener : this.listeners)
+			listener.generationStarting(this, this.generation);
+		if (runPhase(EVALUATE, current) && runPhase(UPDATE, current))
+			{
+				++this.generation;
+				this.generationTime.record(System.nanoTime() - start);
+				StoppingCriteria.Reason why = finished(current);
+				if (why != null)
+					{
+						this.reason = why;
+						this.running = false;
+						shutdown();
+						this.completion.complete(this.generation);
+					}
+			}
+	}
+
+	/**
+	 * Ask the background thread started by {@link #start()} to finish its
+	 * current generation and stop, and wait for it to do so.
+	 */
+	public void stop()
+	{
+		Thread t;
+		synchronized (this)
+			{
+				this.running = false;
+				t = this.driver;
+				this.driver = null;
+			}
+		if (t == null || t == Thread.currentThread()) return;
+		try
+			{
+				t.join();
+			}
+		catch (InterruptedException exc)
+			{
+				Thread.currentThread().interrupt();
+			}
+	}
+
+	/**
+	 * Decide, after a generation, whether the layout is done. An engine with
+	 * criteria of its own records there why it finished, whether one of them
+	 * was met or every swarm stopped, so that its progress never moves on.
+	 *
+	 * @param current
+	 *          the swarms of the generation
+	 * @return why the engine is to finish, or null if it is to go on
+	 */
+	private StoppingCriteria.Reason finished(Swarmable[] current)
+	{
+		Convergence c = this.convergence;
+		boolean stopped = (current.length > 0);
+		double fitness = 0, extent = 0;
+		long evaluations = 0;
+		for (Swarmable swarm : current)
+			{
+				SwarmState s = swarm.state;
+				stopped &= s.isStopped();
+				if (c == null) continue;
+				SwarmBest b = s.current();
+				fitness += (b == null ? Double.POSITIVE_INFINITY : b.getFitness());
+				if (c.needsExtent()) extent = Math.max(extent, s.spread());
+				evaluations += s.getEvaluations();
+			}
+		if (c == null) return (stopped ? StoppingCriteria.Reason.SWARMS : null);
+		if (!c.check(fitness, extent, evaluations) && stopped)
+		  c.stop(StoppingCriteria.Reason.SWARMS);
+		return c.getReason();
+	}
+
+	/**
+	 * Wait on the phase barrier with every other worker.
+	 *
+	 * @param b
+	 *          the barrier shared by the current set of workers
+	 * @return false if the barrier was broken or this thread interrupted
+	 */
+	private static boolean await(CyclicBarrier b)
+	{
+		try
+			{
+				b.await();
+				return true;
+			}
+		catch (InterruptedException exc)
+			{
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		catch (BrokenBarrierException exc)
+			{
+				return false;
+			}
+	}
+
+	/**
+	 * Process swarms claimed from the shared cursor until none are left.
+	 */
+	private void work()
+	{
+		Swarmable[] current = this.phaseSwarms;
+		long allocated = SwarmMetrics.allocatedBytes();
+		int i;
+		try
+			{
+				while ((i = this.cursor.getAndIncrement()) < current.length)
+					{
+						SwarmState s = current[i].state; // sweep in slot order
+						if (s.isStopped()) continue;
+						SwarmMetrics m = s.metrics;
+						long mark = (m == null ? 0 : SwarmMetrics.allocatedBytes());
+						Objective objective = (s.size() == 0 ? null : s
+						    .getParticle(0).objective);
+						if (this.phase == EVALUATE
+						    && objective instanceof BatchObjective)
+							s.scoreAll((BatchObjective) objective, !this.deterministic);
+						else if (this.phase == EVALUATE)
+							{
+								if (this.deterministic)
+									for (int k = 0; k < s.size(); ++k)
+										s.getParticle(k).score();
+								else
+									for (int k = 0; k < s.size(); ++k)
+										{
+											Swarmable p = s.getParticle(k);
+											if (p.score() && s.beats(k))
+												{
+													s.promote(k);
+													p.notifySwarmObservers();
+												}
+										}
+							}
+						else
+							{
+								if (this.deterministic)
+									{
+										SwarmBest elected = s.elect();
+										if (elected != null)
+										  elected.getLeader().notifySwarmObservers();
+									}
+								if (!s.converged()) s.updateAll();
+							}
+						if (m != null)
+						  m.allocated(SwarmMetrics.allocatedBytes() - mark,
+						      (this.phase == UPDATE ? 1 : 0));
+					}
+			}
+		catch (Throwable exc) // Errors too, lest this worker miss the barrier
+			{
+				this.failure = exc;
+			}
+		this.allocated.add(SwarmMetrics.allocatedBytes() - allocated);
+	}
+
+	/**
+	 * Run one phase to completion on all workers.
+	 *
+	 * @param which
+	 *          {@link #EVALUATE} or {@link #UPDATE}
+	 * @param current
+	 *          the swarms to process
+	 * @return false if the phase was abandoned because of an interrupt
+	 * @throws RuntimeException
+	 *           or Error, the first failure of any worker
+	 */
+	private boolean runPhase(int which, Swarmable[] current)
+	{
+		this.phase = which;
+		this.phaseSwarms = current;
+		this.cursor.set(0);
+		this.failure = null;
+
+		if (this.workers == 1)
+			work();
+		else
+			{
+				if (this.pool == null) startWorkers();
+				if (!await(this.barrier))
+					{
+						abandonWorkers();
+						rethrow(this.failure);
+						return false;
+					}
+				work();
+				if (!await(this.barrier))
+					{
+						abandonWorkers();
+						rethrow(this.failure);
+						return false;
+					}
+			}
+
+		rethrow(this.failure);
+		return true;
+	}
+
+	/**
+	 * Throw a failure recorded by a worker, if there is one.
+	 *
+	 * @param failure
+	 *          the failure, or null
+	 */
+	private static void rethrow(Throwable failure)
+	{
+		if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+		if (failure instanceof Error) throw (Error) failure;
+		if (failure != null) throw new IllegalStateException(failure);
+	}
+
+	/**
+	 * Break the barrier so that every worker exits, and forget them.
+	 */
+	private void abandonWorkers()
+	{
+		this.barrier.reset();
+		this.pool = null;
+		this.barrier = null;
+	}
+
+	/**
+	 * Start the threads that share each phase with the stepping thread.
+	 */
+	private void startWorkers()
+	{
+		final CyclicBarrier b = new CyclicBarrier(this.workers);
+		this.barrier = b;
+		this.pool = new Thread[this.workers - 1];
+		for (int i = 0; i < this.pool.length; ++i)
+			{
+				this.pool[i] = new Thread(new Runnable() {
+					public void run()
+					{
+						try
+							{
+								while (await(b) && phase != SHUTDOWN)
+									{
+										work();
+										if (!await(b)) break;
+									}
+							}
+						catch (Throwable exc) // never leave the others at the barrier
+							{
+								failure = exc;
+								b.reset();
+							}
+					}
+				}, SwarmEngine.class.getSimpleName() + "-worker-" + i);
+				this.pool[i].setDaemon(true);
+				this.pool[i].start();
+			}
+	}
+
+	private static final int	       EVALUATE	   = 0;
+	private static final int	       UPDATE	     = 1;
+	private static final int	       SHUTDOWN	   = 2;
+
+	/** Number of threads, including the caller, sharing each phase. */
+	private final int	               workers;
+
+	/** All swarms driven by this engine; replaced, never modified, on add. */
+	private volatile Swarmable[]	   swarms	     = new Swarmable[0];
+
+	/** Told of each generation; replaced, never modified, on change. */
+	private GenerationListener[]	   listeners	   = new GenerationListener[0];
+
+	/** The swarms being processed in the current phase. */
+	private Swarmable[]	             phaseSwarms;
+
+	/** Index of the next swarm to be claimed by a worker. */
+	private final AtomicInteger	     cursor	     = new AtomicInteger();
+
+	/** Which of the phases the workers should perform next. */
+	private volatile int	           phase;
+
+	/** Separates the start and the end of each phase. */
+	private CyclicBarrier	           barrier;
+
+	/** Worker threads other than the one calling {@link #step()}. */
+	private Thread[]	               pool;
+
+	/** Background thread started by {@link #start()}. */
+	private Thread	                 driver;
+
+	/** Set while a background thread should keep running generations. */
+	private volatile boolean	       running;
+
+	/** Progress towards the criteria of the whole layout, if any. */
+	volatile Convergence	           convergence;
+
+	/** Why the engine finished, or null while it goes on. */
+	private volatile StoppingCriteria.Reason	reason;
+
+	/** Completed when the engine finishes. */
+	private volatile CompletableFuture<Long>	completion	= new CompletableFuture<Long>();
+
+	/** Set when leaders are elected between phases rather than during them. */
+	private volatile boolean	       deterministic;
+
+	/** Pause between generations in milliseconds. */
+	private volatile long	           delay;
+
+	/** Number of completed generations. */
+	private volatile long	           generation;
+
+	/** Bytes allocated by all workers while processing phases. */
+	private final LongAdder	         allocated	   = new LongAdder();
+
+	private final SwarmMetrics.Histogram	generationTime	= new SwarmMetrics.Histogram();
+	private final SwarmMetrics.Rate	 generationRate	= new SwarmMetrics.Rate();
+	private final SwarmMetrics.Rate	 allocationRate	= new SwarmMetrics.Rate();
+
+	/** Name under which this engine is registered as an MBean, if it is. */
+	private ObjectName	             mbeanName;
+
+	/** First failure raised by any worker during the current phase. */
+	private volatile Throwable	       failure;
+}
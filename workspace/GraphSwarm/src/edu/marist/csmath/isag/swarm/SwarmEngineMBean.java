@@ -0,0 +1,36 @@
+/**
+ * GraphSwarm: SwarmEngineMBean.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 5:26:51 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * Management interface of {@link SwarmEngine}. Times are in nanoseconds;
+ * rates are per second, measured over windows of at least one second.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public interface SwarmEngineMBean
+{
+	public long getGeneration();
+
+	public double getGenerationsPerSecond();
+
+	public double getGenerationTimeMean();
+
+	public long getGenerationTimeP99();
+
+	public double getAllocatedBytesPerGeneration();
+
+	public int getSwarmCount();
+
+	public int getWorkers();
+
+	public boolean isDeterministic();
+
+	public boolean isFinished();
+
+	public boolean isRunning();
+}
@@ -0,0 +1,285 @@
+/**
+ * GraphSwarm: SwarmEvents.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 5:58:36 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events emitted by particles and swarms. Each event is
+ * begun only if a recording has enabled it, so without a recording the cost
+ * is a single check and nothing is allocated. Events shorter than their
+ * threshold are dropped; thresholds can be changed in the recording settings,
+ * e.g. {@code edu.marist.csmath.isag.Evaluate#threshold=0 ns}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class SwarmEvents
+{
+	/**
+	 * @return a begun event, or null if no recording wants one
+	 */
+	static Evaluate evaluate()
+	{
+		if (!EVALUATE.isEnabled()) return null;
+		Evaluate event = new Evaluate();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * @return a begun event, or null if no recording wants one
+	 */
+	static ObjectiveCall objective()
+	{
+		if (!OBJECTIVE.isEnabled()) return null;
+		ObjectiveCall event = new ObjectiveCall();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * @return a begun event, or null if no recording wants one
+	 */
+	static Update update()
+	{
+		if (!UPDATE.isEnabled()) return null;
+		Update event = new Update();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * @return a begun event, or null if no recording wants one
+	 */
+	static Dispatch dispatch()
+	{
+		if (!DISPATCH.isEnabled()) return null;
+		Dispatch event = new Dispatch();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Record that a swarm has published a new best, if a recording wants it.
+	 *
+	 * @param state
+	 *          the swarm
+	 * @param previous
+	 *          the record replaced, or null
+	 * @param record
+	 *          the record now published
+	 */
+	static void leader(SwarmState state, SwarmBest previous, SwarmBest record)
+	{
+		if (!LEADER.isEnabled()) return;
+		Leader event = new Leader();
+		if (event.shouldCommit())
+			{
+				event.swarm = state.id;
+				event.leader = record.getLeader().id();
+				event.previous = (previous == null || previous.getLeader() == null
+				    ? 0 : previous.getLeader().id());
+				event.fitness = record.getFitness();
+				event.commit();
+			}
+	}
+
+	private SwarmEvents()
+	{}
+
+	private static final String	  PREFIX	   = "edu.marist.csmath.isag.";
+	private static final String	  CATEGORY	 = "GraphSwarm";
+
+	/* Never committed; only asked whether their kind is enabled. */
+	private static final Evaluate	 EVALUATE	 = new Evaluate();
+	private static final ObjectiveCall	OBJECTIVE	= new ObjectiveCall();
+	private static final Update	   UPDATE	   = new Update();
+	private static final Dispatch	 DISPATCH	 = new Dispatch();
+	private static final Leader	   LEADER	   = new Leader();
+
+	@Name(PREFIX + "Evaluate")
+	@Label("Evaluate Particle")
+	@Description("Scoring of one particle, including keeping its personal best")
+	@Category(CATEGORY)
+	@Threshold("20 us")
+	@StackTrace(false)
+	static final class Evaluate extends Event
+	{
+		void end(Swarmable p, double fitness, boolean improved)
+		{
+			end();
+			if (shouldCommit())
+				{
+					this.swarm = p.state.id;
+					this.particle = p.id();
+					this.fitness = fitness;
+					this.improved = improved;
+					commit();
+				}
+		}
+
+		@Label("Swarm")
+		int	    swarm;
+
+		@Label("Particle")
+		int	    particle;
+
+		@Label("Fitness")
+		double	fitness;
+
+		@Label("Improved")
+		@Description("Whether the particle's personal best improved")
+		boolean	improved;
+	}
+
+	@Name(PREFIX + "Objective")
+	@Label("Objective Evaluation")
+	@Description("One call to Objective.computeFitness, for one particle or a batch")
+	@Category(CATEGORY)
+	@Threshold("20 us")
+	@StackTrace(false)
+	static final class ObjectiveCall extends Event
+	{
+		void end(Swarmable p, Object objective, double fitness)
+		{
+			end();
+			if (shouldCommit())
+				{
+					this.swarm = p.state.id;
+					this.particle = p.id();
+					this.objective = objective.getClass().getName();
+					this.fitness = fitness;
+					this.count = 1;
+					commit();
+				}
+		}
+
+		void end(Swarmable first, Object objective, double[] fitness, int count)
+		{
+			end();
+			if (shouldCommit())
+				{
+					double best = fitness[0];
+					for (int k = 1; k < count; ++k)
+						best = Math.min(best, fitness[k]);
+					this.swarm = first.state.id;
+					this.particle = first.id();
+					this.objective = objective.getClass().getName();
+					this.fitness = best;
+					this.count = count;
+					commit();
+				}
+		}
+
+		@Label("Swarm")
+		int	   swarm;
+
+		@Label("Particle")
+		int	   particle;
+
+		@Label("Objective")
+		String	objective;
+
+		@Label("Fitness")
+		@Description("Fitness of the particle, or the best of the batch")
+		double	fitness;
+
+		@Label("Particles")
+		@Description("Number of particles scored by the call")
+		int	   count;
+	}
+
+	@Name(PREFIX + "Update")
+	@Label("Update Particle")
+	@Description("Moving one particle and notifying its observers")
+	@Category(CATEGORY)
+	@Threshold("20 us")
+	@StackTrace(false)
+	static final class Update extends Event
+	{
+		void end(Swarmable p)
+		{
+			end();
+			if (shouldCommit())
+				{
+					this.swarm = p.state.id;
+					this.particle = p.id();
+					this.fitness = p.state.getFitness(p.slot);
+					commit();
+				}
+		}
+
+		@Label("Swarm")
+		int	   swarm;
+
+		@Label("Particle")
+		int	   particle;
+
+		@Label("Fitness")
+		double	fitness;
+	}
+
+	@Name(PREFIX + "Dispatch")
+	@Label("Observer Dispatch")
+	@Description("Telling one observer about a change to a particle or its swarm")
+	@Category(CATEGORY)
+	@Threshold("100 us")
+	static final class Dispatch extends Event
+	{
+		void end(Swarmable p, SwarmObserver observer, boolean wholeSwarm)
+		{
+			end();
+			if (shouldCommit())
+				{
+					this.swarm = p.state.id;
+					this.particle = p.id();
+					this.observer = observer.getClass().getName();
+					this.wholeSwarm = wholeSwarm;
+					commit();
+				}
+		}
+
+		@Label("Swarm")
+		int	    swarm;
+
+		@Label("Particle")
+		int	    particle;
+
+		@Label("Observer")
+		String	observer;
+
+		@Label("Swarm Observers")
+		@Description("Whether the swarm's observers were told, rather than the particle's")
+		boolean	wholeSwarm;
+	}
+
+	@Name(PREFIX + "Leader")
+	@Label("Swarm Best Published")
+	@Description("A swarm's best improved or its leader was set")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static final class Leader extends Event
+	{
+		@Label("Swarm")
+		int	   swarm;
+
+		@Label("Leader")
+		int	   leader;
+
+		@Label("Previous Leader")
+		int	   previous;
+
+		@Label("Fitness")
+		double	fitness;
+	}
+}
@@ -0,0 +1,466 @@
+/**
+ * GraphSwarm: SwarmMetrics.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 5:04:19 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and histograms describing one swarm at run time, published as an
+ * MBean so that they can be watched from any JMX console. Metrics are off
+ * until {@link Swarmable#enableMetrics()} is called for the swarm; while off,
+ * the only cost on the hot path is a null check.
+ *
+ * Every counter is a {@link LongAdder}, so particles on different threads
+ * never contend to record an event.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class SwarmMetrics implements SwarmMetricsMBean
+{
+	/**
+	 * @param name
+	 *          key under which the MBean is registered
+	 */
+	SwarmMetrics(String name)
+	{
+		this.name = name;
+	}
+
+	/**
+	 * Get the number of bytes allocated so far by the calling thread, if the
+	 * JVM can measure it.
+	 *
+	 * @return allocated bytes, or 0 if unsupported
+	 */
+	static long allocatedBytes()
+	{
+		return (THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes());
+	}
+
+	/**
+	 * Build the JMX name for a bean of this library.
+	 *
+	 * @param type
+	 * @param name
+	 * @return a name in the edu.marist.csmath.isag domain
+	 */
+	static ObjectName objectName(String type, String name)
+	{
+		try
+			{
+				return new ObjectName(DOMAIN + ":type=" + type + ",name="
+				    + ObjectName.quote(name));
+			}
+		catch (JMException exc)
+			{
+				throw new IllegalArgumentException(exc);
+			}
+	}
+
+	/**
+	 * Register an MBean with the platform server, replacing any registered
+	 * under the same name.
+	 *
+	 * @param bean
+	 * @param name
+	 */
+	static void register(Object bean, ObjectName name)
+	{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try
+			{
+				if (server.isRegistered(name)) server.unregisterMBean(name);
+				server.registerMBean(bean, name);
+			}
+		catch (JMException exc)
+			{
+				throw new IllegalStateException("cannot register " + name, exc);
+			}
+	}
+
+	/**
+	 * Remove an MBean from the platform server, if it is registered.
+	 *
+	 * @param name
+	 */
+	static void unregister(ObjectName name)
+	{
+		try
+			{
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			}
+		catch (InstanceNotFoundException exc)
+			{
+				; // already gone
+			}
+		catch (JMException exc)
+			{
+				throw new IllegalStateException("cannot unregister " + name, exc);
+			}
+	}
+
+	/* --- SwarmMetricsMBean implementation --- */
+
+	@Override
+	public String getName()
+	{
+		return this.name;
+	}
+
+	@Override
+	public long getEvaluations()
+	{
+		return this.fitnessTime.count();
+	}
+
+	@Override
+	public double getEvaluationsPerSecond()
+	{
+		return this.evaluationRate.sample(getEvaluations());
+	}
+
+	@Override
+	public double getFitnessTimeMean()
+	{
+		return this.fitnessTime.mean();
+	}
+
+	@Override
+	public long getFitnessTimeP50()
+	{
+		return this.fitnessTime.percentile(0.50);
+	}
+
+	@Override
+	public long getFitnessTimeP99()
+	{
+		return this.fitnessTime.percentile(0.99);
+	}
+
+	@Override
+	public long[] getFitnessTimeHistogram()
+	{
+		return this.fitnessTime.buckets();
+	}
+
+	@Override
+	public long getImprovements()
+	{
+		return this.improvements.sum();
+	}
+
+	@Override
+	public long getLeaderChanges()
+	{
+		return this.leaderChanges.sum();
+	}
+
+	@Override
+	public double getLeaderChangesPerSecond()
+	{
+		return this.leaderChangeRate.sample(getLeaderChanges());
+	}
+
+	@Override
+	public synchronized double getBestFitness()
+	{
+		if (this.published == 0) return Double.NaN;
+		return this.trajectory[ring(this.published - 1)];
+	}
+
+	@Override
+	public synchronized double[] getBestFitnessTrajectory()
+	{
+		int n = (int) Math.min(this.published, this.trajectory.length);
+		double[] result = new double[n];
+		for (int i = 0; i < n; ++i)
+			result[i] = this.trajectory[ring(this.published - n + i)];
+		return result;
+	}
+
+	@Override
+	public long getDispatches()
+	{
+		return this.dispatchTime.count();
+	}
+
+	@Override
+	public double getDispatchTimeMean()
+	{
+		return this.dispatchTime.mean();
+	}
+
+	@Override
+	public long getDispatchTimeP99()
+	{
+		return this.dispatchTime.percentile(0.99);
+	}
+
+	@Override
+	public long[] getDispatchTimeHistogram()
+	{
+		return this.dispatchTime.buckets();
+	}
+
+	@Override
+	public long getAllocatedBytes()
+	{
+		return this.allocated.sum();
+	}
+
+	@Override
+	public double getAllocatedBytesPerGeneration()
+	{
+		double generations = this.generationRate.sample(this.generations.sum());
+		double bytes = this.allocationRate.sample(getAllocatedBytes());
+		return (generations == 0 ? 0 : bytes / generations);
+	}
+
+	@Override
+	public void reset()
+	{
+		this.fitnessTime.reset();
+		this.dispatchTime.reset();
+		this.improvements.reset();
+		this.leaderChanges.reset();
+		this.allocated.reset();
+		this.generations.reset();
+		synchronized (this)
+			{
+				this.published = 0;
+			}
+	}
+
+	/** Printable string */
+	@Override
+	public String toString()
+	{
+		return this.name + "[evals=" + getEvaluations() + ", leaderChanges="
+		    + getLeaderChanges() + ", best=" + ((float) getBestFitness()) + "]";
+	}
+
+	/* --- Recording, called from the hot path --- */
+
+	/**
+	 * @param bytes
+	 *          allocated while stepping the swarm
+	 * @param fraction
+	 *          fraction of a generation those bytes account for
+	 */
+	void allocated(long bytes, double fraction)
+	{
+		this.allocated.add(bytes);
+		this.generations.add(fraction);
+	}
+
+	/**
+	 * @param nanos
+	 *          time taken to notify the observers of one change
+	 */
+	void dispatched(long nanos)
+	{
+		this.dispatchTime.record(nanos);
+	}
+
+	/**
+	 * @param nanos
+	 *          time taken by one call to the objective
+	 */
+	void evaluated(long nanos)
+	{
+		this.fitnessTime.record(nanos);
+	}
+
+	/**
+	 * @param nanos
+	 *          time taken by one call to a batch objective
+	 * @param count
+	 *          number of particles it scored, each counted as taking an equal
+	 *          share of the time
+	 */
+	void evaluated(long nanos, int count)
+	{
+		this.fitnessTime.record(nanos, count);
+	}
+
+	/**
+	 * @param leaderChanged
+	 *          whether a different particle now leads
+	 * @param fitness
+	 *          the swarm's new best fitness
+	 */
+	void published(boolean leaderChanged, double fitness)
+	{
+		this.improvements.increment();
+		if (leaderChanged) this.leaderChanges.increment();
+		synchronized (this)
+			{
+				this.trajectory[ring(this.published++)] = fitness;
+			}
+	}
+
+	/**
+	 * @param i
+	 *          sequence number of a trajectory value
+	 * @return its index in {@link #trajectory}
+	 */
+	private int ring(long i)
+	{
+		return (int) (i % this.trajectory.length);
+	}
+
+	/**
+	 * Counts of durations in power-of-two buckets: bucket i holds durations
+	 * of less than 2^i nanoseconds but at least half that.
+	 */
+	static final class Histogram
+	{
+		void record(long nanos)
+		{
+			int i = 64 - Long.numberOfLeadingZeros(Math.max(0, nanos));
+			this.buckets[Math.min(i, this.buckets.length - 1)].increment();
+			this.total.add(nanos);
+		}
+
+		void record(long nanos, int count)
+		{
+			long mean = Math.max(0, nanos) / count;
+			int i = 64 - Long.numberOfLeadingZeros(mean);
+			this.buckets[Math.min(i, this.buckets.length - 1)].add(count);
+			this.total.add(nanos);
+		}
+
+		long[] buckets()
+		{
+			long[] counts = new long[this.buckets.length];
+			for (int i = 0; i < counts.length; ++i)
+				counts[i] = this.buckets[i].sum();
+			return counts;
+		}
+
+		long count()
+		{
+			long n = 0;
+			for (LongAdder b : this.buckets)
+				n += b.sum();
+			return n;
+		}
+
+		double mean()
+		{
+			long n = count();
+			return (n == 0 ? 0 : (double) this.total.sum() / n);
+		}
+
+		/**
+		 * @param q
+		 *          quantile between 0 and 1
+		 * @return upper bound of the bucket holding that quantile
+		 */
+		long percentile(double q)
+		{
+			long[] counts = buckets();
+			long n = 0;
+			for (long c : counts)
+				n += c;
+			long seen = 0;
+			for (int i = 0; i < counts.length; ++i)
+				{
+					seen += counts[i];
+					if (seen > 0 && seen >= q * n) return 1L << i;
+				}
+			return 0;
+		}
+
+		void reset()
+		{
+			for (LongAdder b : this.buckets)
+				b.reset();
+			this.total.reset();
+		}
+
+		private static LongAdder[] newBuckets(int n)
+		{
+			LongAdder[] b = new LongAdder[n];
+			for (int i = 0; i < n; ++i)
+				b[i] = new LongAdder();
+			return b;
+		}
+
+		/** Up to 2^39 ns, about nine minutes; longer times share the last. */
+		private final LongAdder[]	buckets	= newBuckets(40);
+		private final LongAdder	  total	  = new LongAdder();
+	}
+
+	/**
+	 * Turns a running total into a rate per second. Each sample covers at
+	 * least a second; reading more often returns the last rate computed.
+	 */
+	static final class Rate
+	{
+		synchronized double sample(double total)
+		{
+			long now = System.nanoTime();
+			if (now - this.time >= 1000000000L)
+				{
+					this.rate = (total - this.total) * 1e9 / (now - this.time);
+					this.total = total;
+					this.time = now;
+				}
+			return this.rate;
+		}
+
+		private long	 time	= System.nanoTime();
+		private double	total;
+		private double	rate;
+	}
+
+	/** JMX domain of every bean in this library. */
+	static final String	                            DOMAIN	         = "edu.marist.csmath.isag";
+
+	/** Source of per-thread allocation counts, or null if unsupported. */
+	private static final com.sun.management.ThreadMXBean	THREADS;
+
+	static
+		{
+			java.lang.management.ThreadMXBean t = ManagementFactory
+			    .getThreadMXBean();
+			if (t instanceof com.sun.management.ThreadMXBean
+			    && ((com.sun.management.ThreadMXBean) t)
+			        .isThreadAllocatedMemorySupported())
+				THREADS = (com.sun.management.ThreadMXBean) t;
+			else
+				THREADS = null;
+		}
+
+	/** Key under which this bean is registered. */
+	private final String	                          name;
+
+	private final Histogram	                        fitnessTime	     = new Histogram();
+	private final Histogram	                        dispatchTime	   = new Histogram();
+	private final LongAdder	                        improvements	   = new LongAdder();
+	private final LongAdder	                        leaderChanges	   = new LongAdder();
+	private final LongAdder	                        allocated	       = new LongAdder();
+	private final DoubleAdder	                      generations	     = new DoubleAdder();
+	private final Rate	                            evaluationRate	 = new Rate();
+	private final Rate	                            leaderChangeRate	= new Rate();
+	private final Rate	                            allocationRate	 = new Rate();
+	private final Rate	                            generationRate	 = new Rate();
+
+	/** Most recent best fitness values, oldest overwritten first. */
+	private final double[]	                        trajectory	     = new double[256];
+
+	/** Number of values ever written to {@link #trajectory}. */
+	private long	                                   published;
+}
@@ -0,0 +1,65 @@
+/**
+ * GraphSwarm: SwarmMetricsMBean.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 5:02:44 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * Management interface of {@link SwarmMetrics}. Times are in nanoseconds;
+ * rates are per second, measured over windows of at least one second.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public interface SwarmMetricsMBean
+{
+	public String getName();
+
+	/* --- Fitness evaluation --- */
+
+	public long getEvaluations();
+
+	public double getEvaluationsPerSecond();
+
+	public double getFitnessTimeMean();
+
+	public long getFitnessTimeP50();
+
+	public long getFitnessTimeP99();
+
+	public long[] getFitnessTimeHistogram();
+
+	/* --- Leadership --- */
+
+	public long getImprovements();
+
+	public long getLeaderChanges();
+
+	public double getLeaderChangesPerSecond();
+
+	public double getBestFitness();
+
+	public double[] getBestFitnessTrajectory();
+
+	/* --- Observer dispatch --- */
+
+	public long getDispatches();
+
+	public double getDispatchTimeMean();
+
+	public long getDispatchTimeP99();
+
+	public long[] getDispatchTimeHistogram();
+
+	/* --- Allocation --- */
+
+	public long getAllocatedBytes();
+
+	public double getAllocatedBytesPerGeneration();
+
+	/**
+	 * Zero every counter and histogram and forget the trajectory.
+	 */
+	public void reset();
+}
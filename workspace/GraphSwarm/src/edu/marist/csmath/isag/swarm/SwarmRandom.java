@@ -0,0 +1,74 @@
+/**
+ * GraphSwarm: SwarmRandom.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 1:37:09 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Supplies the random number streams that steer particles. Every particle owns
+ * its stream, so no two particles ever contend for the same generator; see
+ * {@link Swarmable#setRandom(RandomGenerator)} and
+ * {@link Swarmable#setSeed(long)}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class SwarmRandom
+{
+	/**
+	 * Get a generator that draws from whichever thread calls it. This is the
+	 * cheapest choice when runs need not be reproducible.
+	 *
+	 * @return a generator backed by {@link ThreadLocalRandom}
+	 */
+	public static RandomGenerator threadLocal()
+	{
+		return THREAD_LOCAL;
+	}
+
+	/**
+	 * Get a fresh, unseeded stream statistically independent of all others
+	 * handed out so far.
+	 *
+	 * @return a new generator
+	 */
+	public static RandomGenerator independent()
+	{
+		synchronized (SEEDER)
+			{
+				return SEEDER.split();
+			}
+	}
+
+	private SwarmRandom()
+	{}
+
+	/** Root of all unseeded particle streams. */
+	private static final SplittableRandom	SEEDER	     = new SplittableRandom();
+
+	/** Shared by every particle using {@link #threadLocal()}. */
+	private static final RandomGenerator	THREAD_LOCAL	= new PerThread();
+
+	/**
+	 * Delegates each draw to the calling thread's own generator.
+	 */
+	private static final class PerThread implements RandomGenerator
+	{
+		@Override
+		public long nextLong()
+		{
+			return ThreadLocalRandom.current().nextLong();
+		}
+
+		@Override
+		public double nextDouble()
+		{
+			return ThreadLocalRandom.current().nextDouble();
+		}
+	}
+}
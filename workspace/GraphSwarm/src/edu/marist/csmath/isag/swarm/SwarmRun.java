@@ -0,0 +1,134 @@
+/**
+ * GraphSwarm: SwarmRun.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 3:02:44 PM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle on a swarm whose particles each run in their own thread, as returned
+ * by {@link Swarmable#beginSwarming(boolean)}. It lets the owner stop the run
+ * and wait for every particle to finish, either by joining or through a
+ * future completed when the last particle thread ends, be it stopped or the
+ * swarm having met its {@link StoppingCriteria}.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class SwarmRun
+{
+	/**
+	 * Start one thread per particle.
+	 *
+	 * @param builder
+	 *          makes the threads
+	 * @param particles
+	 *          the particles of the swarm
+	 */
+	SwarmRun(Thread.Builder builder, Swarmable[] particles)
+	{
+		this.threads = new Thread[particles.length];
+		this.remaining = new AtomicInteger(particles.length);
+		if (particles.length == 0) this.completion.complete(this);
+		for (int k = 0; k < particles.length; ++k)
+			{
+				final Swarmable p = particles[k];
+				this.threads[k] = builder.name(
+				    p.getClass().getSimpleName() + "-" + p.id()).start(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						try
+							{
+								p.run();
+							}
+						finally
+							{
+								if (remaining.decrementAndGet() == 0)
+								  completion.complete(SwarmRun.this);
+							}
+					}
+				});
+			}
+	}
+
+	/**
+	 * Get a future completed with this run once every particle has finished.
+	 *
+	 * @return the completion of the run
+	 */
+	public CompletableFuture<SwarmRun> completion()
+	{
+		return this.completion;
+	}
+
+	/**
+	 * Determines whether any particle of the swarm is still running.
+	 *
+	 * @return true until every particle thread has finished
+	 */
+	public boolean isRunning()
+	{
+		for (Thread t : this.threads)
+			if (t.isAlive()) return true;
+		return false;
+	}
+
+	/**
+	 * Wait for every particle to finish.
+	 *
+	 * @param millis
+	 *          maximum time to wait in total, or 0 to wait indefinitely
+	 * @return true if every particle has finished
+	 * @throws InterruptedException
+	 */
+	public boolean join(long millis) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + millis;
+		for (Thread t : this.threads)
+			{
+				if (millis == 0)
+					t.join();
+				else
+					{
+						long left = deadline - System.currentTimeMillis();
+						if (left <= 0) break;
+						t.join(left);
+					}
+			}
+		return !isRunning();
+	}
+
+	/**
+	 * Get the number of particle threads started for this run.
+	 *
+	 * @return number of threads
+	 */
+	public int size()
+	{
+		return this.threads.length;
+	}
+
+	/**
+	 * Ask every particle to stop after its current step. Returns immediately;
+	 * use {@link #join(long)} to wait.
+	 */
+	public void stop()
+	{
+		for (Thread t : this.threads)
+			t.interrupt();
+	}
+
+	/** One thread per particle. */
+	private final Thread[]	                      threads;
+
+	/** Number of particle threads yet to finish. */
+	private final AtomicInteger	                 remaining;
+
+	/** Completed when the last particle thread finishes. */
+	private final CompletableFuture<SwarmRun>	completion	= new CompletableFuture<SwarmRun>();
+}
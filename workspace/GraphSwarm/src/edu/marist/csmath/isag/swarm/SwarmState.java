@@ -0,0 +1,798 @@
+/**
+ * GraphSwarm: SwarmState.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 10:05:17 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+import edu.marist.csmath.isag.strategy.BatchObjective;
+
+/**
+ * Stores the numeric state of every particle in a swarm in contiguous columns
+ * rather than in separate objects per particle. Each particle occupies a slot;
+ * its coordinate {@code c} lives at index {@code c * capacity + slot} of the
+ * corresponding column, so a sweep over one coordinate of the whole swarm
+ * reads memory sequentially.
+ *
+ * Slots are kept dense: when a particle leaves, the particle in the last slot
+ * is moved into the hole. {@link Swarmable} instances are thin views holding
+ * their state and slot.
+ *
+ * The state also carries what the whole swarm shares: its best known solution,
+ * of which readers take consistent copies as {@link SwarmBest} records, and a
+ * publisher of changes to it.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public abstract class SwarmState
+{
+	/**
+	 * Allocate storage of the default kind (see {@link #setOffHeap(boolean)}).
+	 *
+	 * @param dimension
+	 *          number of variables in the problem space
+	 * @param capacity
+	 *          number of particles to reserve room for
+	 * @return empty swarm state
+	 */
+	public static SwarmState allocate(int dimension, int capacity)
+	{
+		return allocate(dimension, capacity, offHeap);
+	}
+
+	/**
+	 * Allocate storage of the specified kind.
+	 *
+	 * @param dimension
+	 *          number of variables in the problem space
+	 * @param capacity
+	 *          number of particles to reserve room for
+	 * @param direct
+	 *          whether to keep the columns outside the Java heap
+	 * @return empty swarm state
+	 */
+	public static SwarmState allocate(int dimension, int capacity, boolean direct)
+	{
+		capacity = Math.max(1, capacity);
+		if (direct) return new DirectSwarmState(dimension, capacity);
+		return new HeapSwarmState(dimension, capacity);
+	}
+
+	/**
+	 * Determines whether swarm states allocated from now on keep their columns
+	 * in direct buffers outside the Java heap. Off-heap storage spares the
+	 * garbage collector from scanning or copying very large swarms, at the cost
+	 * of slightly slower element access.
+	 *
+	 * @param direct
+	 *          true to allocate off-heap storage by default
+	 */
+	public static void setOffHeap(boolean direct)
+	{
+		offHeap = direct;
+	}
+
+	/**
+	 * Copy every value of one particle to another slot, possibly in a different
+	 * swarm. Nothing is copied unless both states have the same dimension.
+	 *
+	 * @param src
+	 *          state holding the particle
+	 * @param from
+	 *          slot of the particle in src
+	 * @param dst
+	 *          state receiving the values
+	 * @param to
+	 *          slot receiving the values in dst
+	 */
+	static void copy(SwarmState src, int from, SwarmState dst, int to)
+	{
+		if (src.dimension != dst.dimension) return;
+		for (int c = 0; c < src.dimension; ++c)
+			{
+				dst.setPosition(to, c, src.getPosition(from, c));
+				dst.setPositionBest(to, c, src.getPositionBest(from, c));
+				dst.setVelocity(to, c, src.getVelocity(from, c));
+			}
+		dst.setFitness(to, src.getFitness(from));
+		dst.setFitnessBest(to, src.getFitnessBest(from));
+	}
+
+	/**
+	 * @param dimension
+	 *          number of variables in the problem space
+	 * @param capacity
+	 *          number of particles to reserve room for
+	 */
+	protected SwarmState(int dimension, int capacity)
+	{
+		this.dimension = dimension;
+		this.capacity = capacity;
+		this.particles = new Swarmable[capacity];
+		this.origin = new double[dimension];
+	}
+
+	/**
+	 * Get the number of slots available before storage must grow.
+	 *
+	 * @return slot capacity
+	 */
+	public int capacity()
+	{
+		return this.capacity;
+	}
+
+	/**
+	 * Get the number of variables in the problem space.
+	 *
+	 * @return dimension of the search space
+	 */
+	public int dimension()
+	{
+		return this.dimension;
+	}
+
+	/**
+	 * Get the maximum distance between any two particles along one coordinate.
+	 *
+	 * @param coord
+	 * @return extent of the swarm
+	 */
+	public double getExtent(int coord)
+	{
+		double max = Double.NEGATIVE_INFINITY, min = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < this.size; ++i)
+			{
+				double x = getPosition(i, coord);
+				if (x > max) max = x;
+				if (x < min) min = x;
+			}
+		return max - min;
+	}
+
+	/**
+	 * @return number of evaluations of the objective made by the swarm's
+	 *         particles, over all the problems it has solved
+	 */
+	public long getEvaluations()
+	{
+		return this.evaluations.sum();
+	}
+
+	/**
+	 * Get a copy of the best solution known to the swarm. Safe to call from any
+	 * thread; a copy taken while the swarm rewrites its record is taken again.
+	 *
+	 * @return a new record, or null if no particle has led yet
+	 */
+	public SwarmBest getBest()
+	{
+		for (;;)
+			{
+				long stamp = this.rewriting.tryOptimisticRead();
+				SwarmBest b = this.best.get();
+				SwarmBest copy = (b == null ? null : b.copy());
+				if (this.rewriting.validate(stamp)) return copy;
+				Thread.onSpinWait();
+			}
+	}
+
+	/**
+	 * Copy the position of the best solution known to the swarm without
+	 * allocating. Safe to call from any thread, as {@link #getBest()}.
+	 *
+	 * @param position
+	 *          receives the solution; at least as long as the dimension
+	 * @return false, leaving position alone, if no particle has led yet
+	 */
+	public boolean getBest(double[] position)
+	{
+		for (;;)
+			{
+				long stamp = this.rewriting.tryOptimisticRead();
+				SwarmBest b = this.best.get();
+				if (b != null)
+				  System.arraycopy(b.position, 0, position, 0, b.position.length);
+				if (this.rewriting.validate(stamp)) return (b != null);
+				Thread.onSpinWait();
+			}
+	}
+
+	/**
+	 * Get the swarm's own record of its best solution, which
+	 * {@link #promote(int)} may rewrite in place. Only the thread that owns the
+	 * swarm, or one that reads it between the phases of a {@link SwarmEngine},
+	 * may call this.
+	 *
+	 * @return the current record, or null if no particle has led yet
+	 */
+	SwarmBest current()
+	{
+		return this.best.get();
+	}
+
+	/**
+	 * Get the particle occupying the specified slot.
+	 *
+	 * @param slot
+	 * @return a particle of this swarm
+	 */
+	public Swarmable getParticle(int slot)
+	{
+		return this.particles[slot];
+	}
+
+	/**
+	 * Get the number of occupied slots.
+	 *
+	 * @return number of particles in the swarm
+	 */
+	public int size()
+	{
+		return this.size;
+	}
+
+	/* --- Element access, by slot and coordinate --- */
+
+	public abstract double getFitness(int slot);
+
+	public abstract double getFitnessBest(int slot);
+
+	public abstract double getPosition(int slot, int coord);
+
+	public abstract double getPositionBest(int slot, int coord);
+
+	public abstract double getVelocity(int slot, int coord);
+
+	public abstract void setFitness(int slot, double value);
+
+	public abstract void setFitnessBest(int slot, double value);
+
+	public abstract void setPosition(int slot, int coord, double value);
+
+	public abstract void setPositionBest(int slot, int coord, double value);
+
+	public abstract void setVelocity(int slot, int coord, double value);
+
+	/**
+	 * Record the current position and fitness of a particle as its personal
+	 * best.
+	 *
+	 * @param slot
+	 */
+	public void keepBest(int slot)
+	{
+		for (int c = 0; c < this.dimension; ++c)
+			setPositionBest(slot, c, getPosition(slot, c));
+		setFitnessBest(slot, getFitness(slot));
+	}
+
+	/** Printable string */
+	@Override
+	public String toString()
+	{
+		return getClass().getSimpleName() + "[" + this.size + "/" + this.capacity
+		    + " x " + this.dimension + "]";
+	}
+
+	/**
+	 * Determines whether the swarm has met its stopping criteria.
+	 *
+	 * @return true once stopped
+	 */
+	boolean isStopped()
+	{
+		Convergence c = this.convergence;
+		return (c != null && c.getReason() != null);
+	}
+
+	/**
+	 * Report the swarm's progress to its stopping criteria, if any, once per
+	 * generation.
+	 *
+	 * @return true if the swarm has stopped, now or before
+	 */
+	boolean converged()
+	{
+		Convergence c = this.convergence;
+		if (c == null) return false;
+		SwarmBest b = current();
+		return c.check((b == null ? Double.POSITIVE_INFINITY : b.getFitness()), (c
+		    .needsExtent() ? spread() : 0), getEvaluations());
+	}
+
+	/**
+	 * @return the greatest extent of the swarm along any coordinate
+	 */
+	double spread()
+	{
+		double extent = 0;
+		for (int c = 0; c < this.dimension; ++c)
+			extent = Math.max(extent, getExtent(c));
+		return extent;
+	}
+
+	/**
+	 * Score every particle of this swarm with one call to a batch objective,
+	 * then record their fitness and personal bests as
+	 * {@link Swarmable#score()} does for one particle. Only the thread that
+	 * owns the swarm for the phase may call this.
+	 *
+	 * @param objective
+	 *          the objective shared by all the particles
+	 * @param promote
+	 *          true to promote each particle whose best improves on the swarm's,
+	 *          in slot order, as soon as it is scored
+	 */
+	void scoreAll(BatchObjective objective, boolean promote)
+	{
+		int n = this.size;
+		if (n == 0) return;
+		if (this.scores.length < n) this.scores = new double[this.capacity];
+		Swarmable first = this.particles[0];
+		SwarmEvents.ObjectiveCall call = SwarmEvents.objective();
+		SwarmMetrics m = this.metrics;
+		long start = (m == null ? 0 : System.nanoTime());
+		objective.computeFitness(first, positions(), this.capacity, n, this.scores);
+		this.evaluations.add(n);
+		if (m != null) m.evaluated(System.nanoTime() - start, n);
+		if (call != null) call.end(first, objective, this.scores, n);
+
+		for (int k = 0; k < n; ++k)
+			{
+				SwarmEvents.Evaluate event = SwarmEvents.evaluate();
+				double fitness = this.scores[k];
+				setFitness(k, fitness);
+				boolean improved = (fitness < getFitnessBest(k));
+				if (improved) keepBest(k);
+				if (event != null) event.end(this.particles[k], fitness, improved);
+				if (improved && promote && beats(k))
+					{
+						promote(k);
+						this.particles[k].notifySwarmObservers();
+					}
+			}
+	}
+
+	/**
+	 * Move every particle of this swarm as {@link Swarmable#update()} does,
+	 * in one sweep over the columns; see {@link UpdateKernels}. Each particle
+	 * draws its random weights from its own generator in the same order, so
+	 * the outcome is the same as updating the particles one by one, and while
+	 * the swarm has no best they are pulled only towards their own. Only the
+	 * thread that owns the swarm for the phase may call this.
+	 *
+	 * The sweep would bypass a subclass's rule, so while any particle of the
+	 * swarm is of a class that overrides {@link Swarmable#update()}, every
+	 * particle is moved by its own update() instead.
+	 */
+	void updateAll()
+	{
+		int n = this.size;
+		if (n == 0) return;
+		if (this.overriding > 0)
+			{
+				for (int k = 0; k < n; ++k)
+					this.particles[k].update();
+				return;
+			}
+		SwarmBest lead = current();
+		double social = (lead == null ? 0 : 1);
+		if (this.inertias.length != this.capacity)
+			{
+				this.inertias = new double[this.capacity];
+				this.selfWeights = new double[this.dimension * this.capacity];
+				this.swarmWeights = new double[this.dimension * this.capacity];
+			}
+		for (int k = 0; k < n; ++k)
+			{
+				Swarmable p = this.particles[k];
+				this.inertias[k] = p.inertia;
+				for (int c = 0, i = k; c < this.dimension; ++c, i += this.capacity)
+					{
+						this.selfWeights[i] = p.random.nextDouble() * p.learningFactor
+						    * social;
+						this.swarmWeights[i] = p.random.nextDouble() * p.learningFactor;
+					}
+			}
+		step(n, (lead == null ? this.origin : lead.position), this.inertias, this.selfWeights,
+		    this.swarmWeights);
+
+		for (int k = 0; k < n; ++k)
+			{
+				SwarmEvents.Update event = SwarmEvents.update();
+				this.particles[k].notifyObservers();
+				if (event != null) event.end(this.particles[k]);
+			}
+	}
+
+	/**
+	 * Make the specified particle the leader, whether or not its best is an
+	 * improvement.
+	 *
+	 * @param p
+	 *          a particle of this swarm
+	 * @return the record published
+	 */
+	SwarmBest lead(Swarmable p)
+	{
+		SwarmBest record = recordOf(p.slot);
+		published(this.best.getAndSet(record), record);
+		return record;
+	}
+
+	/**
+	 * Determines whether the personal best in the specified slot improves on the
+	 * swarm's best.
+	 *
+	 * @param slot
+	 * @return true if the particle should lead
+	 */
+	boolean beats(int slot)
+	{
+		SwarmBest current = this.best.get();
+		return (current == null || getFitnessBest(slot) < current.getFitness());
+	}
+
+	/**
+	 * Make the particle in the specified slot the leader, reusing the record
+	 * that was current before the last promotion. Only one thread may promote
+	 * at a time, as a {@link SwarmEngine} guarantees. The record is rewritten
+	 * under a write stamp, so that readers copying it meanwhile try again.
+	 *
+	 * @param slot
+	 * @return the record published
+	 */
+	SwarmBest promote(int slot)
+	{
+		SwarmBest record = this.spare;
+		if (record == null) record = new SwarmBest(this.dimension);
+		long stamp = this.rewriting.writeLock();
+		try
+			{
+				fill(record, slot);
+			}
+		finally
+			{
+				this.rewriting.unlockWrite(stamp);
+			}
+		this.spare = this.best.getAndSet(record);
+		published(this.spare, record);
+		return record;
+	}
+
+	/**
+	 * Make the specified particle the leader if its personal best improves on
+	 * the swarm's. Competing offers are settled by compare-and-set, so exactly
+	 * one winning offer publishes each improvement.
+	 *
+	 * @param p
+	 *          a particle of this swarm
+	 * @return the record published, or null if p's best is no improvement
+	 */
+	SwarmBest offer(Swarmable p)
+	{
+		double fitness = getFitnessBest(p.slot);
+		SwarmBest current = this.best.get();
+		SwarmBest record = null;
+		while (current == null || fitness < current.getFitness())
+			{
+				if (record == null) record = recordOf(p.slot);
+				if (this.best.compareAndSet(current, record))
+					{
+						published(current, record);
+						return record;
+					}
+				current = this.best.get();
+			}
+		return null;
+	}
+
+	/**
+	 * Make the particle with the lowest personal best the leader if it improves
+	 * on the swarm's best. Ties go to the lowest slot, so the outcome depends
+	 * only on the particles' values and never on the order in which they were
+	 * scored.
+	 *
+	 * @return the record published, or null if there was no improvement
+	 */
+	SwarmBest elect()
+	{
+		if (this.size == 0) return null;
+		SwarmBest current = this.best.get();
+		int winner = (current == null ? 0 : -1);
+		double fitness = (current == null ? getFitnessBest(0) : current
+		    .getFitness());
+		for (int k = 0; k < this.size; ++k)
+			if (getFitnessBest(k) < fitness)
+				{
+					fitness = getFitnessBest(k);
+					winner = k;
+				}
+		if (winner < 0) return null;
+		return promote(winner);
+	}
+
+	/**
+	 * Hand the lead to the particle with the lowest personal best, whether or
+	 * not it improves on the swarm's best, as when the leader leaves. A swarm
+	 * left empty has no leader.
+	 *
+	 * @return the record published, or null if the swarm is empty
+	 */
+	SwarmBest succeed()
+	{
+		this.best.set(null);
+		return elect();
+	}
+
+	/**
+	 * Take over the identity, leader, publisher and metrics of the state this
+	 * one replaces. The leader's fitness is forgotten, so any particle may claim
+	 * the lead.
+	 *
+	 * @param old
+	 *          previous state of the same swarm
+	 */
+	void inherit(SwarmState old)
+	{
+		this.id = old.id;
+		this.swarmPublisher = old.swarmPublisher;
+		this.metrics = old.metrics;
+		this.evaluations = old.evaluations;
+		Convergence c = old.convergence;
+		if (c != null)
+		  this.convergence = new Convergence(c.getCriteria(), getEvaluations());
+		SwarmBest b = old.best.get();
+		if (b != null)
+		  this.best.set(new SwarmBest(b.getLeader(), Double.POSITIVE_INFINITY,
+		      new double[this.dimension]));
+	}
+
+	/**
+	 * Give the specified particle a slot, with position and velocity at the
+	 * origin and no known fitness.
+	 *
+	 * @param p
+	 *          the particle joining
+	 * @return the slot assigned to p
+	 */
+	synchronized int add(Swarmable p)
+	{
+		if (this.size == this.capacity) grow(2 * this.capacity);
+		int slot = this.size++;
+		this.particles[slot] = p;
+		if (OVERRIDES_UPDATE.get(p.getClass())) ++this.overriding;
+		clear(slot);
+		return slot;
+	}
+
+	/**
+	 * Release the specified slot, filling it with the last particle so that
+	 * occupied slots remain contiguous.
+	 *
+	 * @param slot
+	 */
+	synchronized void remove(int slot)
+	{
+		if (OVERRIDES_UPDATE.get(this.particles[slot].getClass()))
+		  --this.overriding;
+		int last = --this.size;
+		if (slot != last)
+			{
+				move(last, slot);
+				this.particles[slot] = this.particles[last];
+				this.particles[slot].slot = slot;
+			}
+		this.particles[last] = null;
+	}
+
+	/**
+	 * Reset the values held in the specified slot.
+	 *
+	 * @param slot
+	 */
+	protected void clear(int slot)
+	{
+		for (int c = 0; c < this.dimension; ++c)
+			{
+				setPosition(slot, c, 0);
+				setPositionBest(slot, c, 0);
+				setVelocity(slot, c, 0);
+			}
+		setFitness(slot, Double.POSITIVE_INFINITY);
+		setFitnessBest(slot, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Copy all values of one slot into another.
+	 *
+	 * @param from
+	 * @param to
+	 */
+	protected void move(int from, int to)
+	{
+		copy(this, from, this, to);
+	}
+
+	/**
+	 * Replace the columns with larger ones, preserving the occupied slots.
+	 *
+	 * @param newCapacity
+	 */
+	protected abstract void reallocate(int newCapacity);
+
+	/**
+	 * Get the current positions of the occupied slots as one array, coordinate
+	 * {@code c} of slot {@code k} at index {@code c * capacity + k}. The array
+	 * may be the state's own or a copy; it is only valid until the next change.
+	 *
+	 * @return the position columns
+	 */
+	protected abstract double[] positions();
+
+	/**
+	 * Move the particles in the first slots; see {@link UpdateKernels} for the
+	 * parameters. This implementation goes through the accessors of the state,
+	 * one value at a time.
+	 *
+	 * @param count
+	 * @param lead
+	 * @param inertia
+	 * @param selfWeight
+	 * @param swarmWeight
+	 */
+	protected void step(int count, double[] lead, double[] inertia,
+	    double[] selfWeight, double[] swarmWeight)
+	{
+		for (int c = 0; c < this.dimension; ++c)
+			for (int k = 0; k < count; ++k)
+				{
+					int i = c * this.capacity + k;
+					double x = getPosition(k, c);
+					double v = (getVelocity(k, c) * inertia[k]) + selfWeight[i]
+					    * (lead[c] - x) + swarmWeight[i] * (getPositionBest(k, c) - x);
+					setVelocity(k, c, v);
+					setPosition(k, c, x + v);
+				}
+	}
+
+	/**
+	 * Snapshot the personal best of the particle in the specified slot.
+	 *
+	 * @param slot
+	 * @return an immutable record
+	 */
+	private SwarmBest recordOf(int slot)
+	{
+		return fill(new SwarmBest(this.dimension), slot);
+	}
+
+	/**
+	 * Copy the personal best of the particle in the specified slot into an
+	 * unpublished record.
+	 *
+	 * @param record
+	 * @param slot
+	 * @return the record
+	 */
+	private SwarmBest fill(SwarmBest record, int slot)
+	{
+		for (int c = 0; c < this.dimension; ++c)
+			record.position[c] = getPositionBest(slot, c);
+		record.assign(this.particles[slot], getFitnessBest(slot));
+		return record;
+	}
+
+	/**
+	 * Count a newly published record in the swarm's metrics and flight
+	 * recording, if enabled.
+	 *
+	 * @param previous
+	 *          the record replaced, or null
+	 * @param record
+	 *          the record now published
+	 */
+	private void published(SwarmBest previous, SwarmBest record)
+	{
+		SwarmMetrics m = this.metrics;
+		if (m != null)
+		  m.published(previous == null
+		      || previous.getLeader() != record.getLeader(), record.getFitness());
+		SwarmEvents.leader(this, previous, record);
+	}
+
+	/**
+	 * @param newCapacity
+	 */
+	private void grow(int newCapacity)
+	{
+		reallocate(newCapacity);
+		this.particles = Arrays.copyOf(this.particles, newCapacity);
+		this.capacity = newCapacity;
+	}
+
+	/** Last swarm identifier handed out. */
+	private static final AtomicInteger	IDS	= new AtomicInteger();
+
+	/** Whether a class of particle overrides {@link Swarmable#update()}. */
+	private static final ClassValue<Boolean>	OVERRIDES_UPDATE	= new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type)
+		{
+			for (Class<?> c = type; c != Swarmable.class; c = c.getSuperclass())
+				try
+					{
+						c.getDeclaredMethod("update");
+						return true;
+					}
+				catch (NoSuchMethodException exc)
+					{
+						continue;
+					}
+			return false;
+		}
+	};
+
+	/** Default storage kind for newly allocated states. */
+	private static volatile boolean	offHeap	= false;
+
+	/** Number of variables in the problem space. */
+	protected final int	            dimension;
+
+	/** Number of slots in each column. */
+	protected int	                  capacity;
+
+	/** Number of occupied slots. */
+	protected int	                  size;
+
+	/** The particle viewing each occupied slot. */
+	protected Swarmable[]	          particles;
+
+	/**
+	 * Best solution known to the swarm; replaced, and rewritten in place only
+	 * by {@link #promote(int)}.
+	 */
+	private final AtomicReference<SwarmBest>	best	= new AtomicReference<SwarmBest>();
+
+	/** Record to be overwritten by the next {@link #promote(int)}. */
+	private SwarmBest	                        spare;
+
+	/** Held while {@link #promote(int)} rewrites a record readers may hold. */
+	private final StampedLock	                rewriting	= new StampedLock();
+
+	/** Occupied slots whose particle overrides {@link Swarmable#update()}. */
+	private int	                                overriding;
+
+	/** Scores of the last {@link #scoreAll(BatchObjective, boolean)}. */
+	private double[]	                         scores	= new double[0];
+
+	/** Inertia and random weights of the last {@link #updateAll()}. */
+	private double[]	                         inertias	= new double[0];
+	private double[]	                         selfWeights, swarmWeights;
+
+	/** Stands in for the leader's position while the swarm has none. */
+	private final double[]	                   origin;
+
+	/** Identifies the swarm in flight recordings; kept when storage is replaced. */
+	int	                            id	           = IDS.incrementAndGet();
+
+	/** Publishes the leadership of this swarm to all objects interested in it. */
+	SnapshotPublisher<SwarmBest>	   swarmPublisher	= new SnapshotPublisher<SwarmBest>();
+
+	/** Run-time metrics of this swarm, or null while they are disabled. */
+	volatile SwarmMetrics	          metrics;
+
+	/** Evaluations of the objective; kept when storage is replaced. */
+	LongAdder	                      evaluations	  = new LongAdder();
+
+	/** Progress towards the swarm's stopping criteria, or null if it has none. */
+	volatile Convergence	           convergence;
+}
@@ -22,6 +22,8 @@
 package edu.marist.csmath.isag.swarm;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
 
 import edu.marist.csmath.isag.strategy.Objective;
 import edu.marist.csmath.isag.strategy.ProblemSpace;
@@ -43,6 +45,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	public Swarmable()
 	{
 		this.neighbors = new java.util.Vector<Swarmable>();
+		this.state = SwarmState.allocate(0, 1);
 		initialize();
 		join(this);
 	}
@@ -53,6 +56,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	public Swarmable(int swarmSize)
 	{
 		this.neighbors = new java.util.Vector<Swarmable>();
+		this.state = SwarmState.allocate(0, swarmSize);
 		initialize();
 		join(this);
 		for (int i = 1; i < swarmSize; ++i)
@@ -69,8 +73,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	{
 		this.objective = s.getObjective();
 		this.neighbors = new java.util.Vector<Swarmable>();
-		this.currState = new Solution(s.getDimension());
-		this.bestState = new Solution(s.getDimension());
+		this.state = SwarmState.allocate(s.getDimension(), 1);
 		initialize();
 		join(this);
 	}
@@ -87,8 +90,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	{
 		this.objective = s.getObjective();
 		this.neighbors = new java.util.Vector<Swarmable>();
-		this.currState = new Solution(s.getDimension());
-		this.bestState = new Solution(s.getDimension());
+		this.state = SwarmState.allocate(s.getDimension(), swarmSize);
 		initialize();
 		join(this);
 		for (int i = 1; i < swarmSize; ++i)
@@ -104,20 +106,39 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	public Swarmable(Swarmable agent)
 	{
 		this.objective = agent.objective;
-		this.currState = new Solution(agent.getDimension());
-		this.bestState = new Solution(agent.getDimension());
 		initialize();
 		join(agent);
 	}
 
 	/**
-	 * Launch separate threads for each particle in the swarm.
+	 * Launch separate threads for each particle in the swarm. For more than a
+	 * handful of swarms, prefer driving them with a {@link SwarmEngine}.
+	 * 
+	 * @return a handle for stopping the swarm
+	 */
+	public SwarmRun beginSwarming()
+	{
+		return beginSwarming(false);
+	}
+
+	/**
+	 * Launch each particle in the swarm as an independent agent in its own
+	 * thread. Virtual threads cost little more than the particle itself, so a
+	 * swarm of any size can keep this asynchronous model without exhausting
+	 * native threads.
+	 * 
+	 * @param virtual
+	 *          true to use virtual threads, false for platform threads
+	 * @return a handle for stopping the swarm
 	 */
-	public void beginSwarming()
+	public SwarmRun beginSwarming(boolean virtual)
 	{
-		for (Swarmable p : this)
-			new Thread(p, p.getClass().getSimpleName() + "-" + id())
-			    .start();
+		Thread.Builder builder = (virtual ? Thread.ofVirtual() : Thread
+		    .ofPlatform());
+		Swarmable[] particles = new Swarmable[this.state.size()];
+		for (int k = 0; k < particles.length; ++k)
+			particles[k] = this.state.getParticle(k);
+		return new SwarmRun(builder, particles);
 	}
 
 	/* --- Comparable implementation --- */
@@ -131,6 +152,38 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 		return (id() < agent.id() ? -1 : (id() > agent.id() ? 1 : 0));
 	}
 
+	/**
+	 * Stop collecting run-time metrics for this particle's swarm and withdraw
+	 * its MBean.
+	 */
+	public synchronized void disableMetrics()
+	{
+		SwarmMetrics m = this.state.metrics;
+		if (m == null) return;
+		this.state.metrics = null;
+		SwarmMetrics.unregister(SwarmMetrics.objectName("Swarm", m.getName()));
+	}
+
+	/**
+	 * Start collecting run-time metrics for this particle's swarm, and publish
+	 * them as an MBean named after this particle. Nothing changes if the swarm
+	 * is already collecting them.
+	 * 
+	 * @return the swarm's metrics
+	 */
+	public synchronized SwarmMetrics enableMetrics()
+	{
+		SwarmMetrics m = this.state.metrics;
+		if (m == null)
+			{
+				m = new SwarmMetrics(getClass().getSimpleName() + "-" + id());
+				SwarmMetrics.register(m, SwarmMetrics.objectName("Swarm", m
+				    .getName()));
+				this.state.metrics = m;
+			}
+		return m;
+	}
+
 	/**
 	 * Two particles are considered equal if they belong to the same swarm. Use
 	 * operator == to distinguish between individual particles in the same swarm.
@@ -142,15 +195,14 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	}
 
 	/**
-	 * Set the specified particle as the leader.
+	 * Set the specified particle as the leader of this particle's swarm.
 	 * 
 	 * @param agent
-	 *          a swarm particle
+	 *          a particle of the same swarm
 	 */
-	public synchronized void follow(Swarmable agent)
+	public void follow(Swarmable agent)
 	{
-		this.leader = agent;
-		notifySwarmObservers();
+		if (agent != null) agent.notifySwarm();
 	}
 
 	/**
@@ -160,8 +212,18 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public int getDimension()
 	{
-		if (this.currState == null) return 0;
-		return this.currState.position.length;
+		return this.state.dimension();
+	}
+
+	/**
+	 * Get the number of times the objective has been evaluated by the
+	 * particles of this swarm.
+	 * 
+	 * @return evaluation count
+	 */
+	public long getEvaluations()
+	{
+		return this.state.getEvaluations();
 	}
 
 	/**
@@ -172,13 +234,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public double getExtent(int coord)
 	{
-		double max = Double.NEGATIVE_INFINITY, min = Double.POSITIVE_INFINITY;
-		for (Swarmable p : this)
-			{
-				max = Math.max(p.currState.position[coord], max);
-				min = Math.min(p.currState.position[coord], min);
-			}
-		return max - min;
+		return this.state.getExtent(coord);
 	}
 
 	/**
@@ -188,7 +244,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public double getFitness()
 	{
-		return this.currState.fitness;
+		return this.state.getFitness(this.slot);
 	}
 
 	/* --- Observer/Neighbor pattern implementation --- */
@@ -200,7 +256,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public double getFitnessBest()
 	{
-		return this.bestState.fitness;
+		return this.state.getFitnessBest(this.slot);
 	}
 
 	/**
@@ -211,7 +267,64 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public Swarmable getLeader()
 	{
-		return this.leader;
+		SwarmBest best = this.state.current();
+		return (best == null ? null : best.getLeader());
+	}
+
+	/**
+	 * Get the run-time metrics of the swarm to which this instance belongs.
+	 * 
+	 * @return the swarm's metrics, or null unless {@link #enableMetrics()} has
+	 *         been called
+	 */
+	public SwarmMetrics getMetrics()
+	{
+		return this.state.metrics;
+	}
+
+	/**
+	 * Get the stream of snapshots taken each time this particle moves. Set its
+	 * decimation or maximum rate to thin the stream at the source.
+	 * 
+	 * @return publisher of this particle's state
+	 */
+	public SnapshotPublisher<ParticleSnapshot> getParticlePublisher()
+	{
+		return this.particlePublisher;
+	}
+
+	/**
+	 * Get the best solution known to the swarm to which this instance belongs.
+	 * 
+	 * @return a copy of the swarm's best record, or null if it has no leader yet
+	 */
+	public SwarmBest getSwarmBest()
+	{
+		return this.state.getBest();
+	}
+
+	/**
+	 * Copy the best position known to the swarm to which this instance belongs,
+	 * without allocating a record.
+	 * 
+	 * @param position
+	 *          receives the solution; at least as long as the dimension
+	 * @return false, leaving position alone, if the swarm has no leader yet
+	 */
+	public boolean getSwarmBest(double[] position)
+	{
+		return this.state.getBest(position);
+	}
+
+	/**
+	 * Get the stream of copies of the swarm's best, published each time it
+	 * improves. The stream is shared by every particle of the swarm.
+	 * 
+	 * @return publisher of this particle's swarm's state
+	 */
+	public SnapshotPublisher<SwarmBest> getSwarmPublisher()
+	{
+		return this.state.swarmPublisher;
 	}
 
 	/**
@@ -222,7 +335,7 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public double getPosition(int coord)
 	{
-		return this.currState.position[coord];
+		return this.state.getPosition(this.slot, coord);
 	}
 
 	/**
@@ -233,7 +346,18 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public double getPositionBest(int coord)
 	{
-		return this.bestState.position[coord];
+		return this.state.getPositionBest(this.slot, coord);
+	}
+
+	/**
+	 * Tell why this swarm stopped.
+	 * 
+	 * @return the criterion met, or null if the swarm has not stopped
+	 */
+	public StoppingCriteria.Reason getStopReason()
+	{
+		Convergence c = this.state.convergence;
+		return (c == null ? null : c.getReason());
 	}
 
 	/**
@@ -247,6 +371,19 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 		return this.neighbors.contains(agent);
 	}
 
+	/**
+	 * Determines whether this swarm has met its stopping criteria, see
+	 * {@link #setStoppingCriteria(StoppingCriteria)}. A stopped swarm keeps its
+	 * best but is no longer evaluated or moved, whether its particles run in
+	 * their own threads or on a {@link SwarmEngine}.
+	 * 
+	 * @return true once stopped
+	 */
+	public boolean isStopped()
+	{
+		return this.state.isStopped();
+	}
+
 	/* --- Iterator pattern implementation --- */
 
 	@Override
@@ -256,72 +393,89 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	}
 
 	/**
-	 * Add this instance to the specified particle's swarm.
+	 * Add this instance to the specified particle's swarm. The particle keeps
+	 * its position, velocity and best known solution, provided that both swarms
+	 * solve problems of the same dimension. The first particle of a swarm
+	 * becomes its leader, so that a swarm always has one.
 	 * 
 	 * @param agent
 	 *          a swarm particle
 	 */
 	public synchronized void join(Swarmable agent)
 	{
-		if (this.leader != null) leave();
+		if (this.neighbors != null && this.neighbors.contains(this)) leave();
+		SwarmState previous = this.state;
+		int from = this.slot;
 		this.neighbors = agent.neighbors;
 		this.neighbors.add(this);
-		follow(agent.getLeader());
+		this.state = agent.state;
+		this.slot = this.state.add(this);
+		if (previous != null && previous != this.state)
+		  SwarmState.copy(previous, from, this.state, this.slot);
+		if (this.state.current() == null) this.state.lead(this);
 		this.objective = agent.objective;
 	}
 
 	/**
-	 * Remove this particle from its current swarm.
+	 * Remove this particle from its current swarm. If it led the swarm, the
+	 * particle remaining with the lowest personal best takes over the lead.
 	 */
 	public synchronized void leave()
 	{
+		boolean leading = (getLeader() == this);
+		SwarmState detached = SwarmState.allocate(getDimension(), 1);
+		int at = detached.add(this);
+		SwarmState.copy(this.state, this.slot, detached, at);
+		SwarmState previous = this.state;
+		previous.remove(this.slot);
+		this.state = detached;
+		this.slot = at;
+
 		this.neighbors.remove(this);
-		if (this.leader == this)
-		  this.neighbors.iterator().next().notifySwarm();
+		if (leading || previous.size() == 0)
+			{
+				SwarmBest successor = previous.succeed();
+				if (successor != null)
+				  successor.getLeader().notifySwarmObservers();
+			}
 		this.neighbors = null;
-		this.leader = null;
-		this.currState.fitness = this.bestState.fitness = Double.POSITIVE_INFINITY;		
+		this.state.setFitness(at, Double.POSITIVE_INFINITY);
+		this.state.setFitnessBest(at, Double.POSITIVE_INFINITY);
 	}
 
 	/**
-	 * Inform all particles in the swarm that this instance is now the leader.
+	 * Inform all particles in the swarm that this instance is now the leader,
+	 * publishing its personal best as the swarm's best.
 	 */
 	public void notifySwarm()
 	{
-		for (Swarmable agent : this)
-			agent.follow(this);
+		this.state.lead(this);
+		notifySwarmObservers();
 	}
 
 	/**
-	 * Notify all observers of this particle. TODO See {@link #observers} for note
-	 * regarding separating swarm observers from particle observers.
+	 * Notify all observers of this particle by publishing a snapshot of it,
+	 * unless publication is decimated; see {@link #getParticlePublisher()}.
+	 * Never waits for the observers.
 	 */
 	public void notifyObservers()
 	{
-		synchronized (this.particleObservers)
-			{
-				for (SwarmObserver observer : this.particleObservers)
-					synchronized (observer)
-						{
-							observer.observe(this);
-						}
-			}
+		SnapshotPublisher<ParticleSnapshot> publisher = this.particlePublisher;
+		if (publisher.isDue()) publisher.publish(new ParticleSnapshot(this));
 	}
 
 	/**
-	 * Notify all observers of this particle. TODO See {@link #observers} for note
-	 * regarding separating swarm observers from particle observers.
+	 * Notify all observers of this particle's swarm by publishing a copy of the
+	 * swarm's best, unless publication is decimated; see
+	 * {@link #getSwarmPublisher()}. Observers are shared by the whole swarm, so
+	 * each is told once. Never waits for the observers.
 	 */
 	public void notifySwarmObservers()
 	{
-		synchronized (this.swarmObservers)
-			{
-				for (SwarmObserver observer : this.swarmObservers)
-					synchronized (observer)
-						{
-							observer.observe(this);
-						}
-			}
+		SwarmBest best = this.state.current();
+		if (best == null || best.getLeader() == null) return;
+		SnapshotPublisher<SwarmBest> publisher = this.state.swarmPublisher;
+		if (publisher.isDue()) publisher.publish(this.state.getBest());
 	}
 
 	/*
@@ -337,7 +491,8 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 
 	/**
 	 * Resets this particle to a random position in the problem space, forgetting
-	 * any prior best. TODO This implementation is useful for our current problem,
+	 * any prior best. A leader that has not been scored yet leads from its new
+	 * position. TODO This implementation is useful for our current problem,
 	 * but is not general enough to be useful for other conceivable applications.
 	 * 
 	 * @param lowerbound
@@ -347,49 +502,72 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	{
 		for (int i = 0; i < getDimension(); ++i)
 			{
-				this.bestState.position[i] = this.currState.position[i] = lowerbounds[i]
-				    + (upperbounds[i] - lowerbounds[i]) * Math.random();
-				this.velocity[i] = Math.random();
+				double x = lowerbounds[i] + (upperbounds[i] - lowerbounds[i])
+				    * this.random.nextDouble();
+				this.state.setPosition(this.slot, i, x);
+				this.state.setPositionBest(this.slot, i, x);
+				this.state.setVelocity(this.slot, i, this.random.nextDouble());
 			}
-		this.currState.fitness = this.bestState.fitness = Double.POSITIVE_INFINITY;
+		this.state.setFitness(this.slot, Double.POSITIVE_INFINITY);
+		this.state.setFitnessBest(this.slot, Double.POSITIVE_INFINITY);
+		SwarmBest lead = this.state.current();
+		if (lead != null && lead.getLeader() == this
+		    && !(lead.getFitness() < Double.POSITIVE_INFINITY))
+		  this.state.lead(this);
 	}
 
 	/**
-	 * Add the specified object to the list of observers.
+	 * Add the specified object to the list of observers. It is told about this
+	 * particle on a delivery thread, never on the thread moving the particle,
+	 * and may miss intermediate moves if it falls behind. Only a
+	 * {@link SnapshotObserver} is sure to see a consistent state; any other
+	 * observer reads the live particle while it moves.
 	 * 
 	 * @param observer
 	 *          an object watching changes to this particle
 	 */
-	public synchronized void registerObserver(SwarmObserver observer)
+	public void registerObserver(SwarmObserver observer)
 	{
-		this.particleObservers.listIterator(this.particleObservers.size()).add(
-		    observer);
+		this.particlePublisher.subscribe(ObserverSubscriber.ofParticle(observer));
 	}
 
 	/**
-	 * Add the specified object to the list of observers.
+	 * Add the specified object to the list of observers of this particle's
+	 * swarm. It is told about the leader whenever the swarm's best improves,
+	 * on a delivery thread, and may miss intermediate improvements if it falls
+	 * behind. A {@link SnapshotObserver} is handed a copy of the swarm's best.
 	 * 
 	 * @param observer
-	 *          an object watching changes to this particle
+	 *          an object watching changes to this swarm
 	 */
-	public synchronized void registerSwarmObserver(SwarmObserver observer)
+	public void registerSwarmObserver(SwarmObserver observer)
 	{
-		this.swarmObservers.listIterator(this.swarmObservers.size()).add(observer);
+		this.state.swarmPublisher.subscribe(ObserverSubscriber.ofSwarm(observer));
 	}
 
 	/* --- Runnable implementation --- */
 
 	/**
 	 * Main driver method of the swarm algorithm, allows for running each particle
-	 * in its own Thread for parallel computation.
+	 * in its own Thread for parallel computation. Runs until the thread is
+	 * interrupted, see {@link SwarmRun#stop()}, or the swarm stops. The
+	 * particle in the first slot checks the swarm's stopping criteria after
+	 * each of its evaluations, so that a generation is counted for every step
+	 * it takes.
 	 */
 	@Override
 	public void run()
 	{
-		while (true)
+		while (!Thread.currentThread().isInterrupted() && !this.state.isStopped())
 			{
+				SwarmMetrics m = this.state.metrics;
+				long allocated = (m == null ? 0 : SwarmMetrics.allocatedBytes());
 				evaluate();
+				if (this.slot == 0 && this.state.converged()) break;
 				update();
+				if (m != null)
+				  m.allocated(SwarmMetrics.allocatedBytes() - allocated,
+				      1.0 / this.state.size());
 				breathe(50);
 			}
 	}
@@ -397,37 +575,69 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	/**
 	 * Compute the current fitness and update recorded best known fitness values.
 	 */
-	private void evaluate()
+	protected void evaluate()
 	{
-		this.currState.fitness = this.objective.computeFitness(this);
+		if (score() && this.state.offer(this) != null) notifySwarmObservers();
+	}
 
-		if (this.currState.fitness < this.bestState.fitness)
+	/**
+	 * Compute the current fitness and update this particle's own best, without
+	 * telling the rest of the swarm.
+	 * 
+	 * @return true if the personal best improved
+	 */
+	boolean score()
+	{
+		SwarmEvents.Evaluate event = SwarmEvents.evaluate();
+		SwarmEvents.ObjectiveCall call = SwarmEvents.objective();
+		double fitness;
+		SwarmMetrics m = this.state.metrics;
+		if (m == null)
+			fitness = this.objective.computeFitness(this);
+		else
 			{
-				this.bestState.fitness = this.currState.fitness;
-				this.bestState.position = this.currState.position.clone();
-
-				if (this.currState.fitness < this.leader.bestState.fitness)
-				  notifySwarm();
+				long start = System.nanoTime();
+				fitness = this.objective.computeFitness(this);
+				m.evaluated(System.nanoTime() - start);
 			}
+		if (call != null) call.end(this, this.objective, fitness);
+		this.state.evaluations.increment();
+		this.state.setFitness(this.slot, fitness);
+
+		boolean improved = (fitness < this.state.getFitnessBest(this.slot));
+		if (improved) this.state.keepBest(this.slot);
+		if (event != null) event.end(this, fitness, improved);
+		return improved;
 	}
 
 	/**
-   * 
-   */
+	 * Move this particle towards the swarm's best and its own, or only its own
+	 * while the swarm has no best. A
+	 * {@link SwarmEngine} moves a whole swarm in one sweep that repeats this
+	 * rule, unless some particle of the swarm is of a subclass that overrides
+	 * this method; then it calls this on every particle of the swarm.
+	 */
 	protected void update()
 	{
-		for (int i = 0; i < getDimension(); i++)
+		SwarmEvents.Update event = SwarmEvents.update();
+		SwarmState s = this.state;
+		SwarmBest lead = s.current();
+		for (int i = 0; i < s.dimension(); i++)
 			{
-				double rself = Math.random(), rswarm = Math.random();
-				this.velocity[i] = (this.velocity[i] * this.inertia)
-				    + (rself * this.learningFactor)
-				    * (this.leader.bestState.position[i] - this.currState.position[i])
+				double rself = this.random.nextDouble();
+				double rswarm = this.random.nextDouble();
+				double x = s.getPosition(this.slot, i);
+				double social = (lead == null ? 0 : (rself * this.learningFactor)
+				    * (lead.getPosition(i) - x));
+				double v = (s.getVelocity(this.slot, i) * this.inertia) + social
 				    + (rswarm * this.learningFactor)
-				    * (this.bestState.position[i] - this.currState.position[i]);
-				this.currState.position[i] += this.velocity[i];
+				    * (s.getPositionBest(this.slot, i) - x);
+				s.setVelocity(this.slot, i, v);
+				s.setPosition(this.slot, i, x + v);
 			}
 
 		notifyObservers();
+		if (event != null) event.end(this);
 	}
 
 	/**
@@ -438,16 +648,56 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	public void setProblemSpace(ProblemSpace s)
 	{
+		SwarmState fresh = SwarmState.allocate(s.getDimension(), sizeOfSwarm());
+		fresh.inherit(this.state);
 		for (Swarmable p : this) // loop over all particles including self
 			{
 				p.objective = s.getObjective();
-				p.velocity = new double[s.getDimension()];
-				p.currState = new Solution(s.getDimension());
-				p.bestState = new Solution(s.getDimension());
-				p.bestState.fitness = p.currState.fitness = Double.POSITIVE_INFINITY;
+				p.state = fresh;
+				p.slot = fresh.add(p);
 			}
 	}
 
+	/**
+	 * Replace the random number stream steering this particle.
+	 * 
+	 * @param random
+	 *          a generator used by no other particle, or a thread-safe one such
+	 *          as {@link SwarmRandom#threadLocal()}
+	 */
+	public void setRandom(RandomGenerator random)
+	{
+		this.random = random;
+	}
+
+	/**
+	 * Give every particle in this swarm its own stream derived from the
+	 * specified master seed. Streams are handed out in slot order, so a swarm
+	 * built the same way and seeded the same way repeats the same run.
+	 * 
+	 * @param seed
+	 *          master seed for the whole swarm
+	 */
+	public void setSeed(long seed)
+	{
+		SplittableRandom master = new SplittableRandom(seed);
+		for (int k = 0; k < this.state.size(); ++k)
+			this.state.getParticle(k).random = master.split();
+	}
+
+	/**
+	 * Give this whole swarm criteria on which to stop, or remove them. Progress
+	 * towards them, such as elapsed time and evaluations, counts from now.
+	 * 
+	 * @param criteria
+	 *          when to stop, or null to run until stopped from outside
+	 */
+	public void setStoppingCriteria(StoppingCriteria criteria)
+	{
+		this.state.convergence = (criteria == null ? null : new Convergence(
+		    criteria, this.state.getEvaluations()));
+	}
+
 	/**
 	 * Gets the number of particles in the same swarm as this instance.
 	 * 
@@ -463,13 +713,18 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	public String toString()
 	{
 		String str = getClass().getSimpleName() + "[" + id()
-		    + (this.leader == this ? "*" : "") + "]: ";
-		str += "pcurr=" + ((float) this.currState.fitness) + this.currState;
-		str += "; pbest=" + ((float) this.bestState.fitness) + this.bestState;
-		str += "; vcurr=(" + ((float) this.velocity[0]);
-		for (int i = 1; i < this.velocity.length; i++)
-			str += "," + ((float) this.velocity[i]);
-		str += ")";
+		    + (getLeader() == this ? "*" : "") + "]: ";
+		String pcurr = "", pbest = "", vcurr = "";
+		for (int i = 0; i < getDimension(); i++)
+			{
+				String sep = (i == 0 ? "" : ",");
+				pcurr += sep + ((float) getPosition(i));
+				pbest += sep + ((float) getPositionBest(i));
+				vcurr += sep + ((float) this.state.getVelocity(this.slot, i));
+			}
+		str += "pcurr=" + ((float) getFitness()) + "(" + pcurr + ")";
+		str += "; pbest=" + ((float) getFitnessBest()) + "(" + pbest + ")";
+		str += "; vcurr=(" + vcurr + ")";
 		return str;
 	}
 
@@ -479,42 +734,33 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 * @param observer
 	 *          an object formerly interesting in watching this particle
 	 */
-	public synchronized void unregisterObserver(SwarmObserver observer)
+	public void unregisterObserver(SwarmObserver observer)
 	{
-		int pos = this.particleObservers.indexOf(observer);
-		if (pos >= 0)
-			{
-				ListIterator<SwarmObserver> itr = this.particleObservers.listIterator(pos);
-				itr.next();
-				itr.remove();
-			}
+		this.particlePublisher.unsubscribe(ObserverSubscriber.ofParticle(observer));
 	}
 
 	/**
-	 * Remove the specified object from the list of observers.
+	 * Remove the specified object from the list of observers of this particle's
+	 * swarm.
 	 * 
 	 * @param observer
-	 *          an object formerly interesting in watching this particle
+	 *          an object formerly interesting in watching this swarm
 	 */
-	public synchronized void unregisterSwarmObserver(SwarmObserver observer)
+	public void unregisterSwarmObserver(SwarmObserver observer)
 	{
-		int pos = this.swarmObservers.indexOf(observer);
-		if (pos >= 0)
-			{
-				ListIterator<SwarmObserver> itr = this.swarmObservers.listIterator(pos);
-				itr.next();
-				itr.remove();
-			}
+		this.state.swarmPublisher.unsubscribe(ObserverSubscriber.ofSwarm(observer));
 	}
 
 	/**
-	 * Returns a unique identifier for this Swarmable instance.
+	 * Returns a unique identifier for this Swarmable instance. Identifiers are
+	 * handed out in order of construction, so they are the same from one run to
+	 * the next when swarms are built the same way.
 	 * 
 	 * @return an integral code that uniquely identifies this object
 	 */
 	protected int id()
 	{
-		return hashCode();
+		return this.serial;
 	}
 
 	/**
@@ -522,27 +768,34 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	 */
 	protected void initialize()
 	{
-		this.velocity = new double[getDimension()];
+		this.random = SwarmRandom.independent();
 		this.inertia = 0.86; // 0.95; // 0.95; //0.8;
 		this.learningFactor = 0.45; // 0.6; // 2; //0.4;
-		this.particleObservers = new java.util.Vector<SwarmObserver>();
-		this.swarmObservers = new java.util.Vector<SwarmObserver>();
+		this.particlePublisher = new SnapshotPublisher<ParticleSnapshot>();
 	}
 
 	/**
-	 * Used to introduce dynamic delays into the parallel swarm algorithm.
+	 * Used to introduce dynamic delays into the parallel swarm algorithm. On a
+	 * virtual thread, sleeping parks the particle and frees its carrier thread
+	 * for other particles; with no delay, the particle merely yields. An
+	 * interrupt cuts the delay short and is kept, so that {@link #run()} stops.
 	 * 
 	 * @param millis
 	 */
 	private void breathe(long millis)
 	{
+		if (millis <= 0)
+			{
+				Thread.yield();
+				return;
+			}
 		try
 			{
 				Thread.sleep(millis);
 			}
 		catch (InterruptedException exc)
 			{
-				exc.printStackTrace();
+				Thread.currentThread().interrupt();
 			}
 	}
 
@@ -552,41 +805,33 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	private void printTestDiagnostics()
 	{
 		// System.err.println(this);
-		if (this.leader == this)
+		if (getLeader() == this)
 			{
 				System.err.print("Scores[" + this.neighbors.hashCode() + "]: "
-				    + this.currState.fitness + "*");
+				    + getFitness() + "*");
 				for (Swarmable p : this.neighbors)
 					if (p != this)
-					  System.err.print(" " + p.currState.fitness);
+					  System.err.print(" " + p.getFitness());
 				System.err.println();
 			}
 	}
 
-	/** Always refers to the particle that has achieved the best fitness so far. */
-	protected Swarmable	          leader = null;
-
 	/** List of all particles (including this one!) in the same swarm. */
 	protected List<Swarmable>	    neighbors;
 
 	/**
-	 * List of all objects interested in the current state of this particle.
+	 * Publishes the state of this particle to all objects interested in it.
 	 */
-	protected List<SwarmObserver>	particleObservers;
-
-	/**
-	 * List of all objects interested in the current state of this swarm.
-	 */
-	protected List<SwarmObserver>	swarmObservers;
+	protected SnapshotPublisher<ParticleSnapshot>	particlePublisher;
 
 	/** Refers to the objective function that governs this swarm. */
 	protected Objective	          objective = null;
 
-	/** Encapsulates the essential solution state represented by this particle. */
-	protected Solution	          currState = null;
+	/** Holds the numeric state of this particle alongside the rest of its swarm. */
+	protected SwarmState	        state	    = null;
 
-	/** Encapsulates the best known solution state achieved by this particle. */
-	protected Solution	          bestState = null;
+	/** Index of this particle's values within {@link #state}. */
+	protected int	                slot;
 
 	/** Dampening factor to short-term memory of this particle. */
 	protected double	            inertia;
@@ -594,7 +839,13 @@ public class Swarmable implements Comparable<Swarmable>, Iterable<Swarmable>,
 	/** Dampening factor to control the long-term memory of this particle. */
 	protected double	            learningFactor;
 
-	/** Current search velocity for this particle. */
-	protected double[]	          velocity	= null;
+	/** Source of the random numbers steering this particle. */
+	protected RandomGenerator	    random;
+
+	/** Order in which this particle was constructed, see {@link #id()}. */
+	private final int	            serial	  = SERIALS.incrementAndGet();
+
+	/** Last serial number handed out. */
+	private static final AtomicInteger	SERIALS	= new AtomicInteger();
 
 }
@@ -0,0 +1,73 @@
+/**
+ * GraphSwarm: UpdateKernels.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 5:06:55 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * The particle update of {@link Swarmable#update()} over a whole swarm held
+ * in columns, as a {@link SwarmEngine} runs it. The random weights are drawn
+ * beforehand, by each particle from its own generator in the order the
+ * per-particle update draws them, so that what remains is straight-line
+ * arithmetic over contiguous doubles. It runs on the vector kernels when
+ * {@link Vectorization#isEnabled()}, and otherwise on the scalar loop here.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class UpdateKernels
+{
+	private UpdateKernels()
+	{}
+
+	/**
+	 * Move every particle: its velocity becomes the inertia times the old
+	 * velocity plus the weighted pulls towards the swarm's leader and towards
+	 * its own best, and its position moves by the new velocity.
+	 *
+	 * @param position
+	 * @param velocity
+	 * @param positionBest
+	 *          columns of the swarm, coordinate c of slot k at
+	 *          {@code c * capacity + k}
+	 * @param capacity
+	 * @param dimension
+	 * @param count
+	 *          number of occupied slots
+	 * @param lead
+	 *          the leader's position
+	 * @param inertia
+	 *          inertia of each slot
+	 * @param selfWeight
+	 *          weight of the pull towards the leader, by coordinate and slot
+	 * @param swarmWeight
+	 *          weight of the pull towards the particle's best, likewise
+	 */
+	static void step(double[] position, double[] velocity,
+	    double[] positionBest, int capacity, int dimension, int count,
+	    double[] lead, double[] inertia, double[] selfWeight,
+	    double[] swarmWeight)
+	{
+		if (Vectorization.isEnabled())
+			{
+				VectorUpdateKernels.step(position, velocity, positionBest, capacity,
+				    dimension, count, lead, inertia, selfWeight, swarmWeight);
+				return;
+			}
+		for (int c = 0; c < dimension; ++c)
+			{
+				int column = c * capacity;
+				double target = lead[c];
+				for (int k = 0; k < count; ++k)
+					{
+						int i = column + k;
+						double x = position[i];
+						double v = (velocity[i] * inertia[k]) + selfWeight[i]
+						    * (target - x) + swarmWeight[i] * (positionBest[i] - x);
+						velocity[i] = v;
+						position[i] = x + v;
+					}
+			}
+	}
+}
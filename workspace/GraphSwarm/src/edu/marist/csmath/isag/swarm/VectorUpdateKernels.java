@@ -0,0 +1,73 @@
+/**
+ * GraphSwarm: VectorUpdateKernels.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 5:09:40 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The particle update of {@link UpdateKernels} on the Vector API, a vector of
+ * slots at a time, with the slots left over handled one by one. Only ever
+ * loaded once {@link Vectorization} has found the API's module.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+final class VectorUpdateKernels
+{
+	private VectorUpdateKernels()
+	{}
+
+	/**
+	 * @return number of doubles in the preferred vector
+	 */
+	static int lanes()
+	{
+		return SPECIES.length();
+	}
+
+	/**
+	 * See {@link UpdateKernels#step}.
+	 */
+	static void step(double[] position, double[] velocity,
+	    double[] positionBest, int capacity, int dimension, int count,
+	    double[] lead, double[] inertia, double[] selfWeight,
+	    double[] swarmWeight)
+	{
+		int bound = SPECIES.loopBound(count);
+		for (int c = 0; c < dimension; ++c)
+			{
+				int column = c * capacity;
+				double target = lead[c];
+				DoubleVector leader = DoubleVector.broadcast(SPECIES, target);
+				int k = 0;
+				for (; k < bound; k += SPECIES.length())
+					{
+						int i = column + k;
+						DoubleVector x = DoubleVector.fromArray(SPECIES, position, i);
+						DoubleVector v = DoubleVector.fromArray(SPECIES, velocity, i)
+						    .mul(DoubleVector.fromArray(SPECIES, inertia, k))
+						    .add(DoubleVector.fromArray(SPECIES, selfWeight, i).mul(
+						        leader.sub(x)))
+						    .add(DoubleVector.fromArray(SPECIES, swarmWeight, i).mul(
+						        DoubleVector.fromArray(SPECIES, positionBest, i).sub(x)));
+						v.intoArray(velocity, i);
+						x.add(v).intoArray(position, i);
+					}
+				for (; k < count; ++k)
+					{
+						int i = column + k;
+						double x = position[i];
+						double v = (velocity[i] * inertia[k]) + selfWeight[i]
+						    * (target - x) + swarmWeight[i] * (positionBest[i] - x);
+						velocity[i] = v;
+						position[i] = x + v;
+					}
+			}
+	}
+
+	private static final VectorSpecies<Double>	SPECIES	= DoubleVector.SPECIES_PREFERRED;
+}
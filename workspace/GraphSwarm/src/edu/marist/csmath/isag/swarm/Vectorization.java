@@ -0,0 +1,93 @@
+/**
+ * GraphSwarm: Vectorization.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 19, 2026 5:02:18 AM
+ */
+package edu.marist.csmath.isag.swarm;
+
+/**
+ * Decides whether the loops over whole swarms, the particle update of a
+ * {@link SwarmEngine} and the distance computations of the batch objectives,
+ * run on explicit SIMD kernels written with the incubating Vector API or on
+ * their plain scalar equivalents. Both compute every lane with the same
+ * operations in the same order, so they give the same results to the last
+ * bit; only the speed differs.
+ *
+ * The Vector API lives in the {@code jdk.incubator.vector} module, which the
+ * JVM only resolves when asked to, with
+ * {@code --add-modules jdk.incubator.vector}. Without it the vector kernels
+ * are never loaded and the scalar ones are used throughout.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public final class Vectorization
+{
+	private Vectorization()
+	{}
+
+	/**
+	 * Determines whether the Vector API can be used in this JVM: its module is
+	 * resolved, and the preferred vector holds more than one double.
+	 *
+	 * @return true if vector kernels are available
+	 */
+	public static boolean isAvailable()
+	{
+		return AVAILABLE;
+	}
+
+	/**
+	 * @return true if swarms are currently updated and scored by the vector
+	 *         kernels
+	 */
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Choose between the vector and scalar kernels, for instance to compare
+	 * them. Vector kernels are enabled by default whenever they are available,
+	 * and cannot be enabled otherwise.
+	 *
+	 * @param vector
+	 *          true to use vector kernels if available
+	 */
+	public static void setEnabled(boolean vector)
+	{
+		enabled = (vector && AVAILABLE);
+	}
+
+	/**
+	 * @return number of doubles in the vectors used, or 1 if unavailable
+	 */
+	public static int lanes()
+	{
+		return (AVAILABLE ? VectorUpdateKernels.lanes() : 1);
+	}
+
+	/**
+	 * Probe for the Vector API without loading any class that refers to it
+	 * unless its module is resolved.
+	 */
+	private static boolean probe()
+	{
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+		  return false;
+		try
+			{
+				return VectorUpdateKernels.lanes() > 1;
+			}
+		catch (LinkageError exc)
+			{
+				return false;
+			}
+	}
+
+	/** Whether the Vector API is usable at all. */
+	private static final boolean	AVAILABLE	= probe();
+
+	/** Whether the vector kernels are in use. */
+	private static volatile boolean	enabled	  = AVAILABLE;
+}
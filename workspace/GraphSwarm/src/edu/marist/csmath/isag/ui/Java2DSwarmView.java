@@ -0,0 +1,779 @@
+/**
+ * GraphSwarm: Java2DSwarmView.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 8:56:03 PM
+ */
+package edu.marist.csmath.isag.ui;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import edu.marist.csmath.isag.swarm.Swarmable;
+
+/**
+ * Draws the swarms in immediate mode. Nothing observes the particles: once per
+ * frame a background thread reads every particle's position and fitness and
+ * every swarm's best straight from the swarm state, and draws them into an
+ * off-screen image that is then shown by the event dispatch thread. The cost
+ * of a frame is thus independent of how often the particles move, and large
+ * runs (10^5 particles) can be watched interactively.
+ *
+ * The level of detail adapts to the load. Particles are kept per swarm, and a
+ * swarm whose bounds lay outside the viewport when last drawn is skipped,
+ * being looked at again only every few frames. While more particles than the
+ * density threshold are visible, or the view is zoomed out beyond the density
+ * zoom, particles are no longer drawn one by one but counted into a coarse
+ * grid of screen cells shown as a density heatmap; each visible particle then
+ * costs a single increment, and the rest of the frame is proportional to the
+ * number of pixels. Nodes and edges are always drawn individually.
+ *
+ * Particles are written directly into the image's pixels, since there are far
+ * too many for even the simplest shapes; nodes and edges are few and are drawn
+ * with {@link Graphics2D}. Positions are read without any locking, so a frame
+ * may show some particles a generation ahead of others.
+ *
+ * The mouse wheel zooms about the pointer, dragging pans, and a double click
+ * restores the initial view.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class Java2DSwarmView extends JComponent implements SwarmView
+{
+	Java2DSwarmView()
+	{
+		this.setOpaque(true);
+
+		MouseAdapter navigator = new MouseAdapter() {
+			public void mouseClicked(MouseEvent e)
+			{
+				if (e.getClickCount() == 2) camera = HOME;
+			}
+
+			public void mousePressed(MouseEvent e)
+			{
+				lastX = e.getX();
+				lastY = e.getY();
+			}
+
+			public void mouseDragged(MouseEvent e)
+			{
+				double[] cam = camera;
+				camera = new double[] { cam[0] - (e.getX() - lastX) / cam[2],
+				    cam[1] - (e.getY() - lastY) / cam[2], cam[2] };
+				lastX = e.getX();
+				lastY = e.getY();
+			}
+
+			public void mouseWheelMoved(MouseWheelEvent e)
+			{
+				double[] cam = camera;
+				double zoom = cam[2] * Math.pow(1.1, -e.getPreciseWheelRotation());
+				zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+				// keep the point under the pointer where it is
+				double x = cam[0] + e.getX() / cam[2], y = cam[1] + e.getY() / cam[2];
+				camera = new double[] { x - e.getX() / zoom, y - e.getY() / zoom,
+				    zoom };
+			}
+
+			private int	lastX, lastY;
+		};
+		this.addMouseListener(navigator);
+		this.addMouseMotionListener(navigator);
+		this.addMouseWheelListener(navigator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.marist.csmath.isag.ui.SwarmView#addEdge(edu.marist.csmath.isag.swarm.Swarmable, edu.marist.csmath.isag.swarm.Swarmable)
+	 */
+	@Override
+	public void addEdge(Swarmable from, Swarmable to)
+	{
+		synchronized (this.edgeList)
+			{
+				this.edgeList.add(from);
+				this.edgeList.add(to);
+			}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.marist.csmath.isag.ui.SwarmView#addNode(edu.marist.csmath.isag.swarm.Swarmable)
+	 */
+	@Override
+	public void addNode(Swarmable swarm)
+	{
+		synchronized (this.nodeList)
+			{
+				this.nodeList.add(swarm);
+			}
+	}
+
+	/**
+	 * Draw the specified particle with the others of its swarm. Particles of a
+	 * swarm are usually added one after the other, which is the fast case.
+	 *
+	 * @see edu.marist.csmath.isag.ui.SwarmView#addParticle(edu.marist.csmath.isag.swarm.Swarmable)
+	 */
+	@Override
+	public void addParticle(Swarmable particle)
+	{
+		synchronized (this.groupList)
+			{
+				Group group = this.lastGroup;
+				if (group == null || !group.members[0].equals(particle))
+					{
+						group = null;
+						for (Group g : this.groupList)
+							if (g.members[0].equals(particle))
+								{
+									group = g;
+									break;
+								}
+						if (group == null)
+							{
+								group = new Group();
+								this.groupList.add(group);
+							}
+						this.lastGroup = group;
+					}
+				group.add(particle);
+			}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.marist.csmath.isag.ui.SwarmView#getComponent()
+	 */
+	@Override
+	public JComponent getComponent()
+	{
+		return this;
+	}
+
+	/**
+	 * Get the number of frames drawn so far.
+	 *
+	 * @return frame count
+	 */
+	public long getFrames()
+	{
+		return this.frames;
+	}
+
+	/**
+	 * Get the target number of frames per second.
+	 *
+	 * @return frame rate
+	 */
+	public double getFrameRate()
+	{
+		return this.fps;
+	}
+
+	/**
+	 * Get the current magnification, 1 being the initial view.
+	 *
+	 * @return zoom factor
+	 */
+	public double getZoom()
+	{
+		return this.camera[2];
+	}
+
+	/**
+	 * Determine whether the last frame showed particle density rather than
+	 * individual particles.
+	 *
+	 * @return true if density was shown
+	 */
+	public boolean isDensityShown()
+	{
+		return this.densityShown;
+	}
+
+	/**
+	 * Change the number of visible particles beyond which density is shown
+	 * instead of individual particles.
+	 *
+	 * @param particles
+	 *          density threshold
+	 */
+	public void setDensityThreshold(int particles)
+	{
+		this.densityThreshold = particles;
+	}
+
+	/**
+	 * Change the magnification below which density is shown instead of
+	 * individual particles, however few are visible.
+	 *
+	 * @param zoom
+	 *          density zoom factor
+	 */
+	public void setDensityZoom(double zoom)
+	{
+		this.densityZoom = zoom;
+	}
+
+	/**
+	 * Change the target frame rate, taking effect immediately if the view is
+	 * displayed.
+	 *
+	 * @param fps
+	 *          frames per second
+	 */
+	public synchronized void setFrameRate(double fps)
+	{
+		if (fps <= 0)
+		  throw new IllegalArgumentException("frame rate must be positive: "
+		      + fps);
+		this.fps = fps;
+		if (this.ticks != null)
+			{
+				stop();
+				start();
+			}
+	}
+
+	/**
+	 * Run the action on the event dispatch thread once the view is showing.
+	 *
+	 * @see edu.marist.csmath.isag.ui.SwarmView#whenReady(java.lang.Runnable)
+	 */
+	@Override
+	public void whenReady(final Runnable action)
+	{
+		addHierarchyListener(new HierarchyListener() {
+			public void hierarchyChanged(HierarchyEvent e)
+			{
+				if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0
+				    || !isShowing()) return;
+				removeHierarchyListener(this);
+				SwingUtilities.invokeLater(action);
+			}
+		});
+		if (isShowing()) SwingUtilities.invokeLater(action);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.swing.JComponent#addNotify()
+	 */
+	@Override
+	public void addNotify()
+	{
+		super.addNotify();
+		start();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.swing.JComponent#removeNotify()
+	 */
+	@Override
+	public void removeNotify()
+	{
+		stop();
+		super.removeNotify();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.swing.JComponent#paintComponent(java.awt.Graphics)
+	 */
+	@Override
+	protected void paintComponent(Graphics g)
+	{
+		synchronized (this.buffers)
+			{
+				BufferedImage image = this.front;
+				if (image != null)
+					g.drawImage(image, 0, 0, null);
+				else
+					{
+						g.setColor(BACKGROUND);
+						g.fillRect(0, 0, getWidth(), getHeight());
+					}
+			}
+	}
+
+	/**
+	 * Start drawing frames on a background timer.
+	 */
+	private synchronized void start()
+	{
+		if (this.ticks != null) return;
+		long period = (long) (1e9 / this.fps);
+		this.ticks = TIMER.scheduleAtFixedRate(new Runnable() {
+			public void run()
+			{
+				render();
+			}
+		}, 0, period, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Stop drawing frames.
+	 */
+	private synchronized void stop()
+	{
+		if (this.ticks == null) return;
+		this.ticks.cancel(false);
+		this.ticks = null;
+	}
+
+	/**
+	 * Draw a frame into the back buffer, then make it the front buffer and ask
+	 * for it to be shown. The back buffer is the previous front buffer, which
+	 * cannot still be being shown once the swap has taken place.
+	 */
+	private void render()
+	{
+		int w = getWidth(), h = getHeight();
+		if (w <= 0 || h <= 0) return;
+		BufferedImage image = this.back;
+		if (image == null || image.getWidth() != w || image.getHeight() != h)
+		  image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+		double[] cam = this.camera;
+
+		Group[] visible = cull(w, h, cam);
+		int count = 0;
+		for (Group group : visible)
+			count += group.count;
+		boolean density = (count > this.densityThreshold || cam[2] < this.densityZoom);
+
+		Graphics2D g = image.createGraphics();
+		try
+			{
+				g.setColor(BACKGROUND);
+				g.fillRect(0, 0, w, h);
+				if (density) drawDensity(image, visible, cam);
+				drawIndicators(g, w, h, cam);
+				drawEdges(g, cam);
+				if (!density) drawParticles(image, visible, cam);
+				drawNodes(g, cam);
+			}
+		finally
+			{
+				g.dispose();
+			}
+
+		synchronized (this.buffers)
+			{
+				this.back = this.front;
+				this.front = image;
+			}
+		this.densityShown = density;
+		++this.frames;
+		repaint();
+	}
+
+	/**
+	 * Select the swarms to be drawn in this frame: those whose bounds, when last
+	 * drawn, overlapped the viewport, and those that have been skipped for long
+	 * enough that their bounds need to be brought up to date.
+	 *
+	 * @return swarms to draw
+	 */
+	private Group[] cull(int w, int h, double[] cam)
+	{
+		Group[] all;
+		synchronized (this.groupList)
+			{
+				if (this.groups.length != this.groupList.size())
+				  this.groups = this.groupList.toArray(this.groups);
+				all = this.groups;
+			}
+		double left = cam[0], top = cam[1];
+		double right = left + w / cam[2], bottom = top + h / cam[2];
+		Group[] visible = new Group[all.length];
+		int n = 0;
+		for (Group group : all)
+			{
+				if (group.maxX < left || group.minX > right || group.maxY < top
+				    || group.minY > bottom)
+				  if (++group.skipped < CULL_REFRESH) continue;
+				group.skipped = 0;
+				visible[n++] = group;
+			}
+		return Arrays.copyOf(visible, n);
+	}
+
+	/**
+	 * Draw the bounds and center of the initial view, as {@link SVGSwarmView}
+	 * does.
+	 */
+	private static void drawIndicators(Graphics2D g, int w, int h, double[] cam)
+	{
+		g.setColor(INDICATOR);
+		int x1 = screenX(0.02 * w, cam), y1 = screenY(0.02 * h, cam);
+		int x2 = screenX(0.98 * w, cam), y2 = screenY(0.98 * h, cam);
+		g.drawRect(x1, y1, x2 - x1, y2 - y1);
+		g.drawRect(screenX(w / 2 - 2, cam), screenY(h / 2 - 2, cam), 5, 5);
+	}
+
+	private void drawEdges(Graphics2D g, double[] cam)
+	{
+		Swarmable[] ends;
+		synchronized (this.edgeList)
+			{
+				if (this.edges.length != this.edgeList.size())
+				  this.edges = this.edgeList.toArray(this.edges);
+				ends = this.edges;
+			}
+		double[] from = this.from, to = this.to;
+		g.setColor(INDICATOR);
+		for (int i = 0; i + 1 < ends.length; i += 2)
+			{
+				if (!ends[i].getSwarmBest(from) || !ends[i + 1].getSwarmBest(to))
+				  continue;
+				g.drawLine(screenX(from[0], cam), screenY(from[1], cam), screenX(
+				    to[0], cam), screenY(to[1], cam));
+			}
+	}
+
+	private void drawNodes(Graphics2D g, double[] cam)
+	{
+		Swarmable[] swarms;
+		synchronized (this.nodeList)
+			{
+				if (this.nodes.length != this.nodeList.size())
+				  this.nodes = this.nodeList.toArray(this.nodes);
+				swarms = this.nodes;
+			}
+		int w = getWidth(), h = getHeight();
+		double[] best = this.from;
+		for (Swarmable swarm : swarms)
+			{
+				if (!swarm.getSwarmBest(best)) continue;
+				int x = screenX(best[0], cam) - NODE_RADIUS;
+				int y = screenY(best[1], cam) - NODE_RADIUS;
+				if (x >= w || y >= h || x + NODE_SIZE <= 0 || y + NODE_SIZE <= 0)
+				  continue;
+				g.drawImage(NODE_SPRITE, x, y, null);
+			}
+	}
+
+	/**
+	 * Draw a node once, antialiased, so that it can be copied into each frame
+	 * as many times as there are nodes.
+	 *
+	 * @return image of a node
+	 */
+	private static BufferedImage createNodeSprite()
+	{
+		BufferedImage sprite = new BufferedImage(NODE_SIZE, NODE_SIZE,
+		    BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = sprite.createGraphics();
+		try
+			{
+				g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				    RenderingHints.VALUE_ANTIALIAS_ON);
+				g.setStroke(new BasicStroke(1));
+				g.setColor(NODE);
+				g.fillOval(1, 1, NODE_SIZE - 2, NODE_SIZE - 2);
+				g.setColor(Color.BLACK);
+				g.drawOval(1, 1, NODE_SIZE - 2, NODE_SIZE - 2);
+			}
+		finally
+			{
+				g.dispose();
+			}
+		return sprite;
+	}
+
+	/**
+	 * Count the particles of the visible swarms into cells of the screen, then
+	 * shade each occupied cell by the logarithm of its count relative to the
+	 * fullest cell. Each row of cells is shaded once and copied, so
+	 * nothing but the background may have been drawn beforehand.
+	 */
+	private void drawDensity(BufferedImage image, Group[] visible, double[] cam)
+	{
+		int w = image.getWidth(), h = image.getHeight();
+		int cw = (w + DENSITY_CELL - 1) / DENSITY_CELL;
+		int ch = (h + DENSITY_CELL - 1) / DENSITY_CELL;
+		int[] counts = this.densityCounts;
+		if (counts.length < cw * ch)
+			counts = this.densityCounts = new int[cw * ch];
+		else
+			Arrays.fill(counts, 0, cw * ch, 0);
+
+		double scale = cam[2] / DENSITY_CELL;
+		int max = 0;
+		for (Group group : visible)
+			{
+				int n = group.count;
+				Swarmable[] members = group.members;
+				double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+				double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+				for (int k = 0; k < n; ++k)
+					{
+						Swarmable p = members[k];
+						double x = p.getPosition(0), y = p.getPosition(1);
+						if (x < minX) minX = x;
+						if (x > maxX) maxX = x;
+						if (y < minY) minY = y;
+						if (y > maxY) maxY = y;
+						double cx = (x - cam[0]) * scale, cy = (y - cam[1]) * scale;
+						if (!(cx >= 0 && cy >= 0 && cx < cw && cy < ch)) continue;
+						int c = ++counts[(int) cy * cw + (int) cx];
+						if (c > max) max = c;
+					}
+				group.bound(minX, minY, maxX, maxY);
+			}
+		if (max == 0) return;
+
+		int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+		    .getData();
+		int[] palette = new int[max + 1];
+		double norm = 1.0 / Math.log1p(max);
+		for (int c = 1; c <= max; ++c)
+			palette[c] = densityColor(Math.log1p(c) * norm);
+		for (int cy = 0; cy < ch; ++cy)
+			{
+				// shade the first row of pixels of this row of cells, then copy it
+				int y0 = cy * DENSITY_CELL, row = y0 * w;
+				for (int x = 0; x < w; ++x)
+					{
+						int c = counts[cy * cw + x / DENSITY_CELL];
+						if (c != 0) pixels[row + x] = palette[c];
+					}
+				for (int y = y0 + 1, y1 = Math.min(y0 + DENSITY_CELL, h); y < y1; ++y)
+					System.arraycopy(pixels, row, pixels, y * w, w);
+			}
+	}
+
+	/**
+	 * Plot every particle of the visible swarms as a 2x2 dot straight into the
+	 * image's pixels.
+	 */
+	private void drawParticles(BufferedImage image, Group[] visible,
+	    double[] cam)
+	{
+		int w = image.getWidth(), h = image.getHeight();
+		int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+		    .getData();
+		for (Group group : visible)
+			{
+				int n = group.count;
+				Swarmable[] members = group.members;
+				double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+				double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+				for (int k = 0; k < n; ++k)
+					{
+						Swarmable p = members[k];
+						double px = p.getPosition(0), py = p.getPosition(1);
+						if (px < minX) minX = px;
+						if (px > maxX) maxX = px;
+						if (py < minY) minY = py;
+						if (py > maxY) maxY = py;
+						int x = screenX(px, cam) - 1, y = screenY(py, cam) - 1;
+						if (x < 0 || y < 0 || x + 1 >= w || y + 1 >= h) continue;
+						int rgb = fitnessColor(p.getFitness());
+						int i = y * w + x;
+						pixels[i] = pixels[i + 1] = rgb;
+						pixels[i + w] = pixels[i + w + 1] = rgb;
+					}
+				group.bound(minX, minY, maxX, maxY);
+			}
+	}
+
+	private static int screenX(double x, double[] cam)
+	{
+		return (int) ((x - cam[0]) * cam[2]);
+	}
+
+	private static int screenY(double y, double[] cam)
+	{
+		return (int) ((y - cam[1]) * cam[2]);
+	}
+
+	/**
+	 * Map a density, from 0 (sparsest) to 1 (densest), to a colour from pale to
+	 * dark blue.
+	 *
+	 * @param t
+	 * @return the colour as packed RGB
+	 */
+	static int densityColor(double t)
+	{
+		int r = (int) (0xc6 + (0x08 - 0xc6) * t);
+		int g = (int) (0xdb + (0x30 - 0xdb) * t);
+		int b = (int) (0xef + (0x6b - 0xef) * t);
+		return (r << 16) | (g << 8) | b;
+	}
+
+	/**
+	 * Map a fitness to a colour, from blue (fitness 1) through magenta and red
+	 * to yellow (fitness 0), as {@link edu.marist.csmath.isag.ui.avatar.Particle2DAvatar}
+	 * does.
+	 *
+	 * @param fitness
+	 * @return the colour as packed RGB
+	 */
+	static int fitnessColor(double fitness)
+	{
+		int z = (int) (255 * 3 * (1.0 - fitness));
+		if (!(z > 0))
+			z = 0;
+		else if (z > 765) z = 765;
+		if (z <= 255)
+			return (z << 16) | 255;
+		else if (z <= 510)
+			return (255 << 16) | (510 - z);
+		else
+			return (255 << 16) | ((z - 510) << 8);
+	}
+
+	/**
+	 * The particles of one swarm, with their bounds when last drawn. Particles
+	 * are only ever appended, under the view's lock; the count is published
+	 * after the array holding the new particle, so the drawing thread can read
+	 * both without locking.
+	 */
+	private static final class Group
+	{
+		void add(Swarmable particle)
+		{
+			Swarmable[] m = this.members;
+			if (this.count == m.length) m = Arrays.copyOf(m, 2 * m.length);
+			m[this.count] = particle;
+			this.members = m;
+			++this.count;
+		}
+
+		void bound(double minX, double minY, double maxX, double maxY)
+		{
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+		}
+
+		volatile Swarmable[]	members	= new Swarmable[8];
+		volatile int	       count;
+
+		/** Bounds when last drawn; infinite until then, so never culled. */
+		double	             minX	   = Double.NEGATIVE_INFINITY,
+		    minY = Double.NEGATIVE_INFINITY, maxX = Double.POSITIVE_INFINITY,
+		    maxY = Double.POSITIVE_INFINITY;
+
+		/** Consecutive frames in which this swarm has been culled. */
+		int	                 skipped;
+	}
+
+	/** Shared by every view; its one thread draws the frames. */
+	private static final ScheduledExecutorService	TIMER;
+
+	static
+		{
+			ThreadFactory daemon = Thread.ofPlatform().daemon().name(
+			    Java2DSwarmView.class.getSimpleName()).factory();
+			TIMER = Executors.newSingleThreadScheduledExecutor(daemon);
+		}
+
+	private static final Color	                  BACKGROUND	 = Color.WHITE;
+	private static final Color	                  INDICATOR	  = new Color(0xcccccc);
+	private static final Color	                  NODE	       = new Color(0x00ff00);
+
+	/** Radius of a node, in pixels, and the side of its sprite. */
+	private static final int	                    NODE_RADIUS	= 4, NODE_SIZE = 2 * NODE_RADIUS + 1;
+
+	/** A node, drawn once. */
+	private static final BufferedImage	          NODE_SPRITE	= createNodeSprite();
+
+	/** Side of a density cell, in pixels. */
+	private static final int	                    DENSITY_CELL	= 3;
+
+	/** A culled swarm is drawn anyway once in this many frames. */
+	private static final int	                    CULL_REFRESH	= 8;
+
+	private static final double	                 MIN_ZOOM	   = 0.05, MAX_ZOOM = 50;
+
+	/** Initial camera: no offset, no magnification. */
+	private static final double[]	               HOME	       = { 0, 0, 1 };
+
+	/** Particles to draw, grouped by swarm, and a copy taken when it last grew. */
+	private final List<Group>	                   groupList	  = new ArrayList<Group>();
+	private Group[]	                             groups	     = new Group[0];
+
+	/** Group to which a particle was last added. */
+	private Group	                               lastGroup;
+
+	/** Swarms whose leaders are drawn, and a copy taken when the list last grew. */
+	private final List<Swarmable>	               nodeList	   = new ArrayList<Swarmable>();
+	private Swarmable[]	                         nodes	      = new Swarmable[0];
+
+	/** Ends of the edges to draw, in pairs, and a copy taken when it last grew. */
+	private final List<Swarmable>	               edgeList	   = new ArrayList<Swarmable>();
+	private Swarmable[]	                         edges	      = new Swarmable[0];
+
+	/**
+	 * World coordinates of the top left corner of the view, and magnification;
+	 * replaced as a whole so that each frame sees a consistent camera.
+	 */
+	private volatile double[]	                   camera	     = HOME;
+
+	/** Visible particles beyond which density is shown. */
+	private volatile int	                        densityThreshold	= 20000;
+
+	/** Magnification below which density is shown. */
+	private volatile double	                     densityZoom	= 0.5;
+
+	/** Whether the last frame showed density. */
+	private volatile boolean	                    densityShown;
+
+	/** Particle count per density cell, reused from frame to frame. */
+	private int[]	                               densityCounts	= new int[0];
+
+	/** Best positions of the ends of an edge, or of a node, being drawn. */
+	private final double[]	                      from	       = new double[2],
+	    to = new double[2];
+
+	/** Guards swapping the buffers against showing the front buffer. */
+	private final Object	                        buffers	    = new Object();
+
+	/** Last complete frame, shown on the event dispatch thread. */
+	private BufferedImage	                       front;
+
+	/** Image the next frame is drawn into, owned by the timer thread. */
+	private BufferedImage	                       back;
+
+	/** Timer task drawing frames, while displayed. */
+	private ScheduledFuture<?>	                  ticks;
+
+	/** Target frames per second. */
+	private double	                              fps	        = 30;
+
+	/** Number of frames drawn. */
+	private volatile long	                       frames;
+
+	/**
+	 *
+	 */
+	private static final long	                  serialVersionUID	= 5349286630928815712L;
+}
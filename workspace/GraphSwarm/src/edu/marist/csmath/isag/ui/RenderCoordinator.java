@@ -0,0 +1,205 @@
+/**
+ * GraphSwarm: RenderCoordinator.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 7:52:08 PM
+ */
+package edu.marist.csmath.isag.ui;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.batik.bridge.UpdateManager;
+
+/**
+ * Batches avatar updates into display frames. Each avatar has a mailbox
+ * holding only its latest update; posting a newer update replaces one not yet
+ * applied. Once per frame, every avatar with a pending update is flushed by a
+ * single runnable on Batik's update queue, and no new frame is queued until
+ * the last one has run.
+ *
+ * The queue therefore never holds more than one frame, pending updates never
+ * number more than the avatars, and the document is changed at most once per
+ * avatar per frame however fast the particles move.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class RenderCoordinator
+{
+	/**
+	 * Create a coordinator for the specified view at the default frame rate.
+	 * Frames are only produced once {@link #start()} has been called.
+	 *
+	 * @param view
+	 *          the canvas whose document the avatars belong to
+	 */
+	public RenderCoordinator(SVGSwarmView view)
+	{
+		this.view = view;
+	}
+
+	/**
+	 * Get the number of frames flushed so far.
+	 *
+	 * @return frame count
+	 */
+	public long getFrames()
+	{
+		return this.frames;
+	}
+
+	/**
+	 * Get the target number of frames per second.
+	 *
+	 * @return frame rate
+	 */
+	public double getFrameRate()
+	{
+		return this.fps;
+	}
+
+	/**
+	 * Replace an avatar's pending update, scheduling the avatar to be flushed
+	 * in the next frame if it was not already. Never blocks.
+	 *
+	 * @param avatar
+	 * @param update
+	 *          changes to the avatar's document, applying its complete latest
+	 *          state
+	 */
+	public void post(SwarmAvatar avatar, Runnable update)
+	{
+		if (avatar.pending.getAndSet(update) == null) this.dirty.add(avatar);
+	}
+
+	/**
+	 * Change the target frame rate, taking effect immediately if frames are
+	 * being produced.
+	 *
+	 * @param fps
+	 *          frames per second
+	 */
+	public synchronized void setFrameRate(double fps)
+	{
+		if (fps <= 0)
+		  throw new IllegalArgumentException("frame rate must be positive: "
+		      + fps);
+		this.fps = fps;
+		if (this.ticks != null)
+			{
+				stop();
+				start();
+			}
+	}
+
+	/**
+	 * Start producing frames on a background timer.
+	 */
+	public synchronized void start()
+	{
+		if (this.ticks != null) return;
+		long period = (long) (1e9 / this.fps);
+		this.ticks = TIMER.scheduleAtFixedRate(new Runnable() {
+			public void run()
+			{
+				tick();
+			}
+		}, period, period, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Stop producing frames; pending updates are kept until the next start.
+	 */
+	public synchronized void stop()
+	{
+		if (this.ticks == null) return;
+		this.ticks.cancel(false);
+		this.ticks = null;
+	}
+
+	/**
+	 * Queue a frame, unless one is still waiting to run or there is nothing to
+	 * draw.
+	 */
+	private void tick()
+	{
+		if (this.dirty.isEmpty()) return;
+		UpdateManager manager = this.view.getUpdateManager();
+		if (manager == null || !this.framePending.compareAndSet(false, true))
+		  return;
+		final UpdateQueueEvent event = UpdateQueueEvent.queued();
+		manager.getUpdateRunnableQueue().invokeLater(new Runnable() {
+			public void run()
+			{
+				if (event != null) event.started();
+				int n = flush();
+				if (event != null) event.end(n);
+			}
+		});
+	}
+
+	/**
+	 * Apply the pending update of every avatar that was dirty when the frame
+	 * started. Avatars posting again while the frame runs wait for the next.
+	 *
+	 * @return number of avatars updated
+	 */
+	private int flush()
+	{
+		int updated = 0;
+		try
+			{
+				for (int n = this.dirty.size(); n > 0; --n)
+					{
+						SwarmAvatar avatar = this.dirty.poll();
+						if (avatar == null) break;
+						Runnable update = avatar.pending.getAndSet(null);
+						if (update != null)
+							{
+								update.run();
+								++updated;
+							}
+					}
+			}
+		finally
+			{
+				++this.frames;
+				this.framePending.set(false);
+			}
+		return updated;
+	}
+
+	/** Shared by every coordinator; its one thread only queues frames. */
+	private static final ScheduledExecutorService	TIMER;
+
+	static
+		{
+			ThreadFactory daemon = Thread.ofPlatform().daemon().name(
+			    RenderCoordinator.class.getSimpleName()).factory();
+			TIMER = Executors.newSingleThreadScheduledExecutor(daemon);
+		}
+
+	/** The canvas being drawn. */
+	private final SVGSwarmView	                      view;
+
+	/** Avatars with a pending update, each at most once. */
+	private final Queue<SwarmAvatar>	             dirty	       = new ConcurrentLinkedQueue<SwarmAvatar>();
+
+	/** Set from the moment a frame is queued until it has run. */
+	private final AtomicBoolean	                  framePending	= new AtomicBoolean();
+
+	/** Timer task queuing frames, while started. */
+	private ScheduledFuture<?>	                    ticks;
+
+	/** Target frames per second. */
+	private volatile double	                      fps	         = 30;
+
+	/** Number of frames flushed; written only on Batik's update thread. */
+	private volatile long	                        frames;
+}
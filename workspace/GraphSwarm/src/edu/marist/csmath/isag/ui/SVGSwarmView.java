@@ -0,0 +1,176 @@
+/**
+ * InterSAG: SVGSwarmView.java
+ * Created: Mar 14, 2010 4:39:45 PM
+ *
+ * Copyright 2010 Matthew Johnson, Sanjeev Khanal, Sivaraman Sampath
+ *
+ * This file is part of InterSAG.
+ *
+ * InterSAG is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * InterSAG is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with InterSAG.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package edu.marist.csmath.isag.ui;
+
+import javax.swing.JComponent;
+
+import org.apache.batik.dom.svg.SVGDOMImplementation;
+import org.apache.batik.swing.JSVGCanvas;
+import org.apache.batik.swing.gvt.GVTTreeRendererAdapter;
+import org.apache.batik.swing.gvt.GVTTreeRendererEvent;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import edu.marist.csmath.isag.swarm.Swarmable;
+import edu.marist.csmath.isag.ui.avatar.NeighborEdge;
+import edu.marist.csmath.isag.ui.avatar.Node2DAvatar;
+import edu.marist.csmath.isag.ui.avatar.Particle2DAvatar;
+
+/**
+ * Draws the swarms as a dynamic SVG document, each particle, node and edge
+ * being an avatar element that observes its agent.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+public class SVGSwarmView extends JSVGCanvas implements SwarmView
+{
+	/**
+	 *
+	 */
+	private static final long	serialVersionUID	= -4834894214478518646L;
+
+	SVGSwarmView()
+	{
+		this.setDocumentState(JSVGCanvas.ALWAYS_DYNAMIC);
+
+		// We are using a constant available on the SVGDOMImplementation,
+		// but we could have used "http://www.w3.org/2000/svg".
+		String svgNS = SVGDOMImplementation.SVG_NAMESPACE_URI;
+		DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
+		Document doc = impl.createDocument(svgNS, "svg", null);
+		this.setDocument(doc);
+
+		// this.getInteractors().add(new SwarmInteractor());
+
+		this.renderer = new RenderCoordinator(this);
+		this.renderer.start();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.marist.csmath.isag.ui.SwarmView#addEdge(edu.marist.csmath.isag.swarm.Swarmable, edu.marist.csmath.isag.swarm.Swarmable)
+	 */
+	@Override
+	public void addEdge(Swarmable from, Swarmable to)
+	{
+		getSVGDocument().getDocumentElement().appendChild(
+		    new NeighborEdge(from, to, this));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.marist.csmath.isag.ui.SwarmView#addNode(edu.marist.csmath.isag.swarm.Swarmable)
+	 */
+	@Override
+	public void addNode(Swarmable swarm)
+	{
+		getSVGDocument().getDocumentElement().appendChild(
+		    new Node2DAvatar(swarm, this));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.marist.csmath.isag.ui.SwarmView#addParticle(edu.marist.csmath.isag.swarm.Swarmable)
+	 */
+	@Override
+	public void addParticle(Swarmable particle)
+	{
+		getSVGDocument().getDocumentElement().appendChild(
+		    new Particle2DAvatar(particle, this));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see edu.marist.csmath.isag.ui.SwarmView#getComponent()
+	 */
+	@Override
+	public JComponent getComponent()
+	{
+		return this;
+	}
+
+	/**
+	 * Get the coordinator batching avatar updates into frames.
+	 *
+	 * @return the view's render coordinator
+	 */
+	public RenderCoordinator getRenderCoordinator()
+	{
+		return this.renderer;
+	}
+
+	/**
+	 * Run the action once the document has first been rendered, from Batik's
+	 * rendering thread; the view's bounds and center are drawn first.
+	 *
+	 * @see edu.marist.csmath.isag.ui.SwarmView#whenReady(java.lang.Runnable)
+	 */
+	@Override
+	public void whenReady(final Runnable action)
+	{
+		addGVTTreeRendererListener(new GVTTreeRendererAdapter() {
+			public void gvtRenderingCompleted(GVTTreeRendererEvent e)
+			{
+				removeGVTTreeRendererListener(this);
+				drawIndicators();
+				action.run();
+			}
+		});
+	}
+
+	void drawIndicators()
+	{
+		final String SVGNS = SVGDOMImplementation.SVG_NAMESPACE_URI;
+		Document doc = getSVGDocument();
+
+		final Element bounds = doc.createElementNS(SVGNS, "rect");
+		final Element center = doc.createElementNS(SVGNS, "rect");
+
+		bounds.setAttribute("fill", "none");
+		center.setAttribute("fill", "none");
+		bounds.setAttribute("stroke", "#ccc");
+		center.setAttribute("stroke", "#ccc");
+		bounds.setAttribute("x", Integer.toString((int) (0.02 * getWidth())));
+		bounds.setAttribute("y", Integer.toString((int) (0.02 * getHeight())));
+		center.setAttribute("x", Integer.toString(getWidth() / 2 - 2));
+		center.setAttribute("y", Integer.toString(getHeight() / 2 - 2));
+		bounds.setAttribute("height", Integer.toString((int) (0.96 * getHeight())));
+		bounds.setAttribute("width", Integer.toString((int) (0.96 * getWidth())));
+		center.setAttribute("height", "5");
+		center.setAttribute("width", "5");
+
+		final Element root = doc.getDocumentElement();
+
+		getUpdateManager().getUpdateRunnableQueue().invokeLater(new Runnable() {
+			public void run()
+			{
+				root.appendChild(bounds);
+				root.appendChild(center);
+			}
+		});
+	}
+
+	/** Batches updates to the avatars drawn on this view. */
+	private final RenderCoordinator	renderer;
+
+}
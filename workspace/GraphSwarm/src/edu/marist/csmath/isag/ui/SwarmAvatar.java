@@ -21,25 +21,48 @@
  */
 package edu.marist.csmath.isag.ui;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.apache.batik.dom.AbstractDocument;
 import org.apache.batik.dom.svg.SVGOMGElement;
-import edu.marist.csmath.isag.swarm.SwarmObserver;
+import edu.marist.csmath.isag.swarm.ParticleSnapshot;
+import edu.marist.csmath.isag.swarm.SnapshotObserver;
+import edu.marist.csmath.isag.swarm.SwarmBest;
 import edu.marist.csmath.isag.swarm.Swarmable;
 
 /**
  * @author M Johnson, S Khanal, S Sampath
  */
 public abstract class SwarmAvatar extends SVGOMGElement implements
-    SwarmObserver
+    SnapshotObserver
 {
+	/**
+	 * Never called: avatars are handed snapshots, so that they do not read the
+	 * particles while they move.
+	 */
+	@Override
+	public final void observe(Swarmable agent)
+	{}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * edu.marist.csmath.isag.swarm.SnapshotObserver#observe(edu.marist.csmath
+	 * .isag.swarm.ParticleSnapshot)
+	 */
+	@Override
+	public void observe(ParticleSnapshot snapshot)
+	{}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
-	 * edu.marist.csmath.isag.swarm.SwarmObserver#observe(edu.marist.csmath.isag
-	 * .swarm.Swarmable)
+	 * edu.marist.csmath.isag.swarm.SnapshotObserver#observe(edu.marist.csmath
+	 * .isag.swarm.SwarmBest)
 	 */
 	@Override
-	public abstract void observe(Swarmable agent);
+	public void observe(SwarmBest best)
+	{}
 
 	/**
 	 * 
@@ -49,14 +72,29 @@ public abstract class SwarmAvatar extends SVGOMGElement implements
 	/**
 	 * 
 	 */
-	protected SwarmAvatar(Swarmable agent, SwarmView world)
+	protected SwarmAvatar(Swarmable agent, SVGSwarmView world)
 	{
 		super("", (AbstractDocument) world.getSVGDocument());
 		this.world = world;
 		buildInternalRepresentation();
 	}
 
-	protected SwarmView	      world;
+	/**
+	 * Apply changes to this avatar's document in the next frame drawn by the
+	 * view's {@link RenderCoordinator}. Only the latest update posted before a
+	 * frame is applied, so each update must set the avatar's complete state.
+	 * 
+	 * @param update
+	 */
+	protected void invokeLater(Runnable update)
+	{
+		this.world.getRenderCoordinator().post(this, update);
+	}
+
+	protected SVGSwarmView	      world;
+
+	/** Latest update not yet applied, see {@link RenderCoordinator}. */
+	final transient AtomicReference<Runnable>	pending	= new AtomicReference<Runnable>();
 
 	/**
 	 * 
@@ -8,13 +8,12 @@ package edu.marist.csmath.isag.ui;
 
 import java.util.HashSet;
 
-import org.w3c.dom.Element;
-
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.strategy.GraphLayoutProblem;
+import edu.marist.csmath.isag.strategy.LeaderSnapshot;
 import edu.marist.csmath.isag.strategy.PlanarGraphLayoutProblem;
+import edu.marist.csmath.isag.swarm.SwarmEngine;
 import edu.marist.csmath.isag.swarm.Swarmable;
-import edu.marist.csmath.isag.ui.avatar.NeighborEdge;
-import edu.marist.csmath.isag.ui.avatar.Node2DAvatar;
-import edu.marist.csmath.isag.ui.avatar.Particle2DAvatar;
 
 /**
  * @author M Johnson, S Khanal, S Sampath
@@ -23,6 +22,87 @@ public class SwarmTestCases
 {
 	static double[]	lowerbounds	= { 0, 0 };
 
+	/** Pause between generations (ms), so that the swarms can be watched. */
+	static long	    generationDelay	= 50;
+
+	/**
+	 * Drive the specified swarms on a shared engine in the background.
+	 * 
+	 * @param swarms
+	 *          one particle from each swarm to be driven
+	 * @return the running engine
+	 */
+	static SwarmEngine beginSwarming(Swarmable... swarms)
+	{
+		SwarmEngine engine = new SwarmEngine();
+		for (Swarmable swarm : swarms)
+			engine.add(swarm);
+		engine.setDelay(generationDelay);
+		engine.start();
+		return engine;
+	}
+
+	/**
+	 * Drive the specified swarms on a shared engine in the background,
+	 * refreshing a snapshot of their best positions before every generation.
+	 * 
+	 * @param snapshot
+	 *          read by the swarms' objectives
+	 * @param swarms
+	 *          one particle from each swarm to be driven
+	 * @return the running engine
+	 */
+	static SwarmEngine beginSwarming(LeaderSnapshot snapshot,
+	    Swarmable... swarms)
+	{
+		SwarmEngine engine = new SwarmEngine();
+		for (Swarmable swarm : swarms)
+			engine.add(swarm);
+		engine.addGenerationListener(snapshot);
+		engine.setDelay(generationDelay);
+		engine.start();
+		return engine;
+	}
+
+	/**
+	 * Lay out the specified graph, with one swarm per node.
+	 * 
+	 * @param view
+	 * @param graph
+	 */
+	public static void createGraphSwarms(SwarmView view, Graph graph)
+	{
+		final double[] upperbounds = { view.getWidth(), view.getHeight() };
+		final int swarmSize = 50;
+
+		Swarmable[] swarms = new Swarmable[graph.getNodeCount()];
+		for (int i = 0; i < swarms.length; ++i)
+			swarms[i] = new Swarmable(swarmSize);
+		LeaderSnapshot snapshot = new LeaderSnapshot(graph, swarms);
+		GraphLayoutProblem.assign(graph, swarms,
+		    PlanarGraphLayoutProblem.EQUIDISTANT, snapshot);
+
+		for (int u = 0; u < swarms.length; ++u)
+			for (int e = graph.getOffset(u); e < graph.getOffset(u + 1); ++e)
+				{
+					int v = graph.getTarget(e);
+					if (u < v) view.addEdge(swarms[u], swarms[v]);
+				}
+		for (Swarmable swarm : swarms)
+			{
+				for (Swarmable p : swarm)
+					{
+						p.randomize(lowerbounds, upperbounds);
+						view.addParticle(p);
+						p.notifyObservers();
+					}
+				view.addNode(swarm);
+				swarm.notifySwarm();
+				swarm.notifyObservers();
+			}
+		beginSwarming(snapshot, swarms);
+	}
+
 	public static void createFullyConnectedSwarms(SwarmView view, int n)
 	{
 		final double[] upperbounds = { view.getWidth(), view.getHeight() };
@@ -31,8 +111,8 @@ public class SwarmTestCases
 		Swarmable[] swarms = new Swarmable[graphSize];
 		for (int i = 0; i < graphSize; ++i)
 			swarms[i] = new Swarmable(swarmSize);
+		LeaderSnapshot snapshot = new LeaderSnapshot(swarms);
 
-		Element root = view.getSVGDocument().getDocumentElement();
 		for (Swarmable swarm : swarms)
 			{
 				HashSet<Swarmable> adjacentSwarms = new HashSet<Swarmable>();
@@ -40,22 +120,22 @@ public class SwarmTestCases
 					if (s != swarm)
 						{
 							adjacentSwarms.add(s);
-							root.appendChild(new NeighborEdge(swarm, s, view));
+							view.addEdge(swarm, s);
 						}
-				swarm.setProblemSpace(new PlanarGraphLayoutProblem(adjacentSwarms));
+				swarm.setProblemSpace(new PlanarGraphLayoutProblem(adjacentSwarms,
+				    PlanarGraphLayoutProblem.EQUIDISTANT, snapshot));
 
-				root.appendChild(new Node2DAvatar(swarm, view));
+				view.addNode(swarm);
 				for (Swarmable p : swarm)
 					{
 						p.randomize(lowerbounds, upperbounds);
-						root.appendChild(new Particle2DAvatar(p, view));
+						view.addParticle(p);
 						p.notifyObservers();
 					}
 				swarm.notifySwarm();
 				swarm.notifyObservers();
 			}
-		for (Swarmable swarm : swarms)
-			swarm.beginSwarming();
+		beginSwarming(snapshot, swarms);
 	}
 
 	public static void createWebOfSwarms(SwarmView view, int n)
@@ -66,17 +146,17 @@ public class SwarmTestCases
 		Swarmable[] swarms = new Swarmable[graphSize];
 		for (int i = 0; i < graphSize; ++i)
 			swarms[i] = new Swarmable(swarmSize);
+		LeaderSnapshot snapshot = new LeaderSnapshot(swarms);
 
-		Element root = view.getSVGDocument().getDocumentElement();
 			{
 				HashSet<Swarmable> adjacentSwarms = new HashSet<Swarmable>();
 				for (int i = 1; i < graphSize; ++i)
 					{
 						adjacentSwarms.add(swarms[i]);
-						root.appendChild(new NeighborEdge(swarms[0], swarms[i], view));
+						view.addEdge(swarms[0], swarms[i]);
 					}
 				swarms[0].setProblemSpace(new PlanarGraphLayoutProblem(adjacentSwarms,
-				    PlanarGraphLayoutProblem.CENTERVIEWCENTER));
+				    PlanarGraphLayoutProblem.CENTERVIEWCENTER, snapshot));
 			}
 		for (int i = 1; i < graphSize; ++i)
 			{
@@ -92,9 +172,9 @@ public class SwarmTestCases
 					adjacentSwarms.add(swarms[i - 1]);
 
 				for (Swarmable p : adjacentSwarms)
-					root.appendChild(new NeighborEdge(swarms[i], p, view));
+					view.addEdge(swarms[i], p);
 				swarms[i].setProblemSpace(new PlanarGraphLayoutProblem(adjacentSwarms,
-				    PlanarGraphLayoutProblem.ADJACENT));
+				    PlanarGraphLayoutProblem.ADJACENT, snapshot));
 			}
 
 		for (int i = 0; i < graphSize; ++i)
@@ -102,15 +182,14 @@ public class SwarmTestCases
 				for (Swarmable p : swarms[i])
 					{
 						p.randomize(lowerbounds, upperbounds);
-						root.appendChild(new Particle2DAvatar(p, view));
+						view.addParticle(p);
 						p.notifyObservers();
 					}
-				root.appendChild(new Node2DAvatar(swarms[i], view));
+				view.addNode(swarms[i]);
 				swarms[i].notifySwarm();
 				swarms[i].notifyObservers();
 			}
-		for (Swarmable swarm : swarms)
-			swarm.beginSwarming();
+		beginSwarming(snapshot, swarms);
 	}
 
 	public static void createNewSwarm04_01(SwarmView view)
@@ -122,7 +201,6 @@ public class SwarmTestCases
 		for (int i = 0; i < graphSize; ++i)
 			swarms[i] = new Swarmable();
 
-		Element root = view.getSVGDocument().getDocumentElement();
 		for (Swarmable swarm : swarms)
 			{
 				HashSet<Swarmable> adjacentSwarms = new HashSet<Swarmable>();
@@ -130,8 +208,8 @@ public class SwarmTestCases
 					if (p != swarm) adjacentSwarms.add(p);
 				swarm.setProblemSpace(new PlanarGraphLayoutProblem(adjacentSwarms));
 				swarm.randomize(lowerbounds, upperbounds);
-				root.appendChild(new Particle2DAvatar(swarm, view));
-				root.appendChild(new Node2DAvatar(swarm, view));
+				view.addParticle(swarm);
+				view.addNode(swarm);
 				swarm.notifyObservers();
 			}
 
@@ -139,16 +217,16 @@ public class SwarmTestCases
 			{
 				Swarmable p = new Swarmable(swarms[0]);
 				p.randomize(lowerbounds, upperbounds);
-				root.appendChild(new Particle2DAvatar(p, view));
+				view.addParticle(p);
 				p.notifyObservers();
 			}
 		for (Swarmable p : swarms)
 			if (p != swarms[0])
 				{
-					root.appendChild(new NeighborEdge(p, swarms[0], view));
+					view.addEdge(p, swarms[0]);
 					p.notifyObservers();
 				}
-		swarms[0].beginSwarming();
+		beginSwarming(swarms[0]);
 	}
 
 }
@@ -1,39 +1,66 @@
 /**
- * InterSAG: SwarmView.java
- * Created: Mar 14, 2010 4:39:45 PM
+ * GraphSwarm: SwarmView.java
  *
- * Copyright 2010 Matthew Johnson, Sanjeev Khanal, Sivaraman Sampath
- *
- * This file is part of InterSAG.
- *
- * InterSAG is free software: you can redistribute it and/or modify
- * it under the terms of the GNU General Public License as published by
- * the Free Software Foundation, either version 3 of the License, or
- * (at your option) any later version.
- *
- * InterSAG is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
- * GNU General Public License for more details.
- * 
- * You should have received a copy of the GNU General Public License
- * along with InterSAG.  If not, see <http://www.gnu.org/licenses/>.
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 8:41:17 PM
  */
 package edu.marist.csmath.isag.ui;
 
-import org.apache.batik.swing.JSVGCanvas;
+import javax.swing.JComponent;
+
+import edu.marist.csmath.isag.swarm.Swarmable;
 
 /**
+ * A component drawing particles, the leader of each node's swarm and the edges
+ * between nodes. Implementations are chosen when the viewer starts; see
+ * {@link SwarmViewer#main(String[])}.
+ *
  * @author M Johnson, S Khanal, S Sampath
  */
-public class SwarmView extends JSVGCanvas
+public interface SwarmView
 {
 	/**
-	 * 
+	 * Draw an edge between the leaders of two swarms.
+	 *
+	 * @param from
+	 * @param to
 	 */
-	private static final long	serialVersionUID	= -4834894214478518646L;
+	public void addEdge(Swarmable from, Swarmable to);
 
-	SwarmView()
-	{}
+	/**
+	 * Draw the leader of the specified swarm.
+	 *
+	 * @param swarm
+	 */
+	public void addNode(Swarmable swarm);
 
+	/**
+	 * Draw the specified particle, coloured by its fitness.
+	 *
+	 * @param particle
+	 */
+	public void addParticle(Swarmable particle);
+
+	/**
+	 * @return the Swing component displaying this view
+	 */
+	public JComponent getComponent();
+
+	/**
+	 * @return width of the view, in the swarms' coordinates
+	 */
+	public int getWidth();
+
+	/**
+	 * @return height of the view, in the swarms' coordinates
+	 */
+	public int getHeight();
+
+	/**
+	 * Run the specified action once, as soon as the view is displayed and has
+	 * its final size, so that swarms can be placed within it.
+	 *
+	 * @param action
+	 */
+	public void whenReady(Runnable action);
 }
@@ -22,15 +22,11 @@
 package edu.marist.csmath.isag.ui;
 
 import java.awt.event.*;
+import java.nio.file.Paths;
 import javax.swing.*;
 
-import org.apache.batik.dom.svg.SVGDOMImplementation;
-import org.apache.batik.swing.JSVGCanvas;
-import org.apache.batik.swing.gvt.GVTTreeRendererAdapter;
-import org.apache.batik.swing.gvt.GVTTreeRendererEvent;
-import org.w3c.dom.DOMImplementation;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
+import edu.marist.csmath.isag.graph.Graph;
+import edu.marist.csmath.isag.graph.GraphLoader;
 
 /**
  * @author M Johnson, S Khanal, S Sampath
@@ -43,42 +39,28 @@ public class SwarmViewer extends JFrame
 	SwarmView	swarmHabitat;
 
 	/**
-	 * @param swarm
+	 * @param view
+	 *          the view in which to draw the swarms
+	 * @param graphSize
+	 *          number of nodes in the test graph
+	 * @param graph
+	 *          graph to lay out instead of the test graph, or null
 	 */
-	SwarmViewer()
+	SwarmViewer(SwarmView view, final int graphSize, final Graph graph)
 	{
-		this.swarmHabitat = new SwarmView();
-		this.swarmHabitat.setDocumentState(JSVGCanvas.ALWAYS_DYNAMIC);
-
-		// We are using a constant available on the SVGDOMImplementation,
-		// but we could have used "http://www.w3.org/2000/svg".
-		String svgNS = SVGDOMImplementation.SVG_NAMESPACE_URI;
-		DOMImplementation impl = SVGDOMImplementation.getDOMImplementation();
-		Document doc = impl.createDocument(svgNS, "svg", null);
-		this.swarmHabitat.setDocument(doc);
-
-		// this.swarmHabitat.getInteractors().add(new SwarmInteractor());
+		this.swarmHabitat = view;
 
 		this.getContentPane().add(this.createComponents());
 
-		swarmHabitat.addGVTTreeRendererListener(new GVTTreeRendererAdapter() {
-			public void gvtRenderingPrepare(GVTTreeRendererEvent e)
-			{
-				; // do nothing?
-			}
-
-			public void gvtRenderingCompleted(GVTTreeRendererEvent e)
+		swarmHabitat.whenReady(new Runnable() {
+			public void run()
 			{
-				// swarmHabitat.swarm = new SwarmManager(new
-				// GlobalObjective(swarmHabitat));
-				// swarmHabitat2.swarm = new SwarmManager(swarmHabitat2);
-				drawIndicators();
-				// new Thread(swarmHabitat.swarm).start();
 				// SwarmTestCases.createTestSwarm00(swarmHabitat);
 				// SwarmTestCases.createFullyConnectedSwarms(swarmHabitat, 7);
-				SwarmTestCases.createWebOfSwarms(swarmHabitat, 8);
-				// createDummySwarm(swarmHabitat.swarm);
-				// new Thread(swarmHabitat.swarm).start();
+				if (graph != null)
+					SwarmTestCases.createGraphSwarms(swarmHabitat, graph);
+				else
+					SwarmTestCases.createWebOfSwarms(swarmHabitat, graphSize);
 			}
 		});
 
@@ -95,53 +77,49 @@ public class SwarmViewer extends JFrame
 
 	JComponent createComponents()
 	{
-		return swarmHabitat; // TODO do we need anything else here?
-	}
-
-	void drawIndicators()
-	{
-		final String SVGNS = SVGDOMImplementation.SVG_NAMESPACE_URI;
-		Document doc = swarmHabitat.getSVGDocument();
-
-		final Element bounds = doc.createElementNS(SVGNS, "rect");
-		final Element center = doc.createElementNS(SVGNS, "rect");
-
-		bounds.setAttribute("fill", "none");
-		center.setAttribute("fill", "none");
-		bounds.setAttribute("stroke", "#ccc");
-		center.setAttribute("stroke", "#ccc");
-		bounds.setAttribute("x", Integer.toString((int) (0.02 * swarmHabitat
-		    .getWidth())));
-		bounds.setAttribute("y", Integer.toString((int) (0.02 * swarmHabitat
-		    .getHeight())));
-		center.setAttribute("x", Integer.toString(swarmHabitat.getWidth() / 2 - 2));
-		center
-		    .setAttribute("y", Integer.toString(swarmHabitat.getHeight() / 2 - 2));
-		bounds.setAttribute("height", Integer.toString((int) (0.96 * swarmHabitat
-		    .getHeight())));
-		bounds.setAttribute("width", Integer.toString((int) (0.96 * swarmHabitat
-		    .getWidth())));
-		center.setAttribute("height", "5");
-		center.setAttribute("width", "5");
-
-		final Element root = doc.getDocumentElement();
-
-		swarmHabitat.getUpdateManager().getUpdateRunnableQueue().invokeLater(
-		    new Runnable() {
-			    public void run()
-			    {
-				    root.appendChild(bounds);
-				    root.appendChild(center);
-			    }
-		    });
+		return swarmHabitat.getComponent(); // TODO do we need anything else here?
 	}
 
 	/**
+	 * Show a web of swarms, or lay out a graph read from a file (an edge list,
+	 * DOT or GraphML, see {@link GraphLoader}). The view is chosen with --view: svg (the default)
+	 * builds an SVG document with one element per particle, and java2d draws
+	 * each frame directly from the swarm state, for runs too large for SVG.
+	 * 
 	 * @param args
+	 *          [--view svg|java2d] [--nodes N | --graph FILE]
 	 */
 	public static void main(String[] args) throws InterruptedException
 	{
-		new SwarmViewer();
+		String kind = "svg";
+		int graphSize = 8;
+		Graph graph = null;
+		try
+			{
+				for (int i = 0; i < args.length; ++i)
+					{
+						if (args[i].equals("--view"))
+							kind = args[++i];
+						else if (args[i].equals("--nodes"))
+							graphSize = Integer.parseInt(args[++i]);
+						else if (args[i].equals("--graph"))
+							graph = GraphLoader.load(Paths.get(args[++i]));
+						else
+							throw new IllegalArgumentException(args[i]);
+					}
+				if (!kind.equals("svg") && !kind.equals("java2d"))
+				  throw new IllegalArgumentException(kind);
+			}
+		catch (Exception exc)
+			{
+				System.err.println("error: " + exc.getMessage());
+				System.err.println("usage: SwarmViewer [--view svg|java2d] [--nodes N | --graph FILE]");
+				System.exit(2);
+			}
+
+		SwarmView view = (kind.equals("java2d") ? new Java2DSwarmView()
+		    : new SVGSwarmView());
+		new SwarmViewer(view, graphSize, graph);
 		while (true)
 			{
 				Thread.sleep(5000);
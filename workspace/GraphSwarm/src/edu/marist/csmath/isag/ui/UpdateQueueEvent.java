@@ -0,0 +1,85 @@
+/**
+ * GraphSwarm: UpdateQueueEvent.java
+ *
+ * Copyright (c) 2010 M Johnson, S Khanal, S Sampath.
+ * Created: Oct 18, 2026 6:21:03 PM
+ */
+package edu.marist.csmath.isag.ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event spanning one frame of avatar updates from the moment
+ * it is queued for Batik's update thread until it has been applied, so that a
+ * backlog on the queue shows up next to the swarm events of the same
+ * recording.
+ *
+ * @author M Johnson, S Khanal, S Sampath
+ */
+@Name("edu.marist.csmath.isag.UpdateQueue")
+@Label("Avatar Frame")
+@Description("A frame of avatar updates waiting for and running on Batik's update queue")
+@Category("GraphSwarm")
+@Threshold("1 ms")
+@StackTrace(false)
+final class UpdateQueueEvent extends Event
+{
+	/**
+	 * Begin an event for a frame about to be queued.
+	 *
+	 * @return a begun event, or null if no recording wants one
+	 */
+	static UpdateQueueEvent queued()
+	{
+		if (!PROBE.isEnabled()) return null;
+		UpdateQueueEvent event = new UpdateQueueEvent();
+		event.begin();
+		event.enqueued = System.nanoTime();
+		return event;
+	}
+
+	/**
+	 * Note that the frame has reached the head of the queue.
+	 */
+	void started()
+	{
+		this.queueDelay = System.nanoTime() - this.enqueued;
+	}
+
+	/**
+	 * Finish the event once the frame has been applied.
+	 *
+	 * @param avatars
+	 *          number of avatars updated
+	 */
+	void end(int avatars)
+	{
+		end();
+		if (shouldCommit())
+			{
+				this.avatars = avatars;
+				commit();
+			}
+	}
+
+	/** Never committed; only asked whether this kind of event is enabled. */
+	private static final UpdateQueueEvent	PROBE	= new UpdateQueueEvent();
+
+	@Label("Avatars")
+	int	            avatars;
+
+	@Label("Queue Delay")
+	@Description("Time spent waiting before the frame started to run")
+	@Timespan(Timespan.NANOSECONDS)
+	long	           queueDelay;
+
+	/** Time the frame was queued; not recorded. */
+	transient long	enqueued;
+}
@@ -25,9 +25,10 @@ import org.apache.batik.dom.svg.SVGDOMImplementation;
 import org.w3c.dom.Element; //import org.w3c.dom.Node;
 //import org.w3c.dom.Text;
 
+import edu.marist.csmath.isag.swarm.SwarmBest;
 import edu.marist.csmath.isag.swarm.Swarmable;
 import edu.marist.csmath.isag.ui.SwarmAvatar;
-import edu.marist.csmath.isag.ui.SwarmView;
+import edu.marist.csmath.isag.ui.SVGSwarmView;
 
 /**
  * @author M Johnson, S Khanal, S Sampath
@@ -38,11 +39,14 @@ public class NeighborEdge extends SwarmAvatar
 	Swarmable	to;
 	String	  edgeLabel	= null;
 
+	/** Latest known position of each end of the edge. */
+	String	  x1	     = "0", y1 = "0", x2 = "0", y2 = "0";
+
 	/**
 	 * @param agent
 	 * @param world
 	 */
-	public NeighborEdge(Swarmable f, Swarmable t, SwarmView g)
+	public NeighborEdge(Swarmable f, Swarmable t, SVGSwarmView g)
 	{
 		super(f, g);
 		f.registerSwarmObserver(this);
@@ -76,60 +80,54 @@ public class NeighborEdge extends SwarmAvatar
 	}
 
 	/* (non-Javadoc)
-	 * @see edu.marist.csmath.isag.ui.SwarmAvatar#observe(edu.marist.csmath.isag.swarm.Swarmable)
+	 * @see edu.marist.csmath.isag.ui.SwarmAvatar#observe(edu.marist.csmath.isag.swarm.SwarmBest)
 	 */
 	@Override
-	public void observe(final Swarmable agent)
+	public void observe(SwarmBest best)
 	{
 		SwarmAvatar self = this;
 		final Element line = self.getFirstElementChild();
 		// final Element text = ((Element) line.getNextSibling());
-		final String xattr, yattr;
 
-		Swarmable leader = agent.getLeader();
-		final String x = Integer.toString((int) leader.getPositionBest(0));
-		final String y = Integer.toString((int) leader.getPositionBest(1));
+		String x = Integer.toString((int) best.getPosition(0));
+		String y = Integer.toString((int) best.getPosition(1));
 
-		// final String dist;
-		// final String xmid, ymid;
-		if (agent == from)
+		// Remember both ends: only the latest update is drawn, so each must move
+		// the whole line.
+		if (from.equals(best.getLeader())) // the best of from's swarm moved
 			{
-				xattr = "x1";
-				yattr = "y1";
-				/* * /
-				int dx = (Integer.parseInt(line.getAttribute("x2")) - (int) leader.getPositionBest(0));
-				int dy = (Integer.parseInt(line.getAttribute("y2")) - (int) leader.getPositionBest(1));
-				dist = Integer.toString((int) Math.sqrt(dx * dx + dy * dy));
-				xmid = Integer.toString((int) (leader.getPositionBest(0) + dx/2.0));
-				ymid = Integer.toString((int) (leader.getPositionBest(1) + dy/2.0));
-				/**/
+				x1 = x;
+				y1 = y;
 			}
 		else
 			{
-				xattr = "x2";
-				yattr = "y2";
-				/* * /
-				int dx = ((int) leader.getPositionBest(0)) - Integer.parseInt(line.getAttribute("x1"));
-				int dy = ((int) leader.getPositionBest(1)) - Integer.parseInt(line.getAttribute("y1"));
-				dist = Integer.toString((int) Math.sqrt(dx * dx + dy * dy));
-				xmid = Integer.toString((int) (leader.getPositionBest(0) - dx/2.0));
-				ymid = Integer.toString((int) (leader.getPositionBest(1) - dy/2.0));
-				/**/
+				x2 = x;
+				y2 = y;
 			}
+		final String fx = x1, fy = y1, tx = x2, ty = y2;
+
+		/* * /
+		int dx = Integer.parseInt(tx) - Integer.parseInt(fx);
+		int dy = Integer.parseInt(ty) - Integer.parseInt(fy);
+		final String dist = Integer.toString((int) Math.sqrt(dx * dx + dy * dy));
+		final String xmid = Integer.toString(Integer.parseInt(fx) + dx / 2);
+		final String ymid = Integer.toString(Integer.parseInt(fy) + dy / 2);
+		/**/
 
-		world.getUpdateManager().getUpdateRunnableQueue().invokeLater(
-		    new Runnable() {
-			    public void run()
-			    {
-				    line.setAttribute(xattr, x);
-				    line.setAttribute(yattr, y);
-				    /*
-				    text.setAttribute("x", xmid);
-				    text.setAttribute("y", ymid);
-				    ((Text)text.getFirstChild()).setData(dist+"px");
-				    */
-			    }
-		    });
+		invokeLater(new Runnable() {
+			public void run()
+			{
+				line.setAttribute("x1", fx);
+				line.setAttribute("y1", fy);
+				line.setAttribute("x2", tx);
+				line.setAttribute("y2", ty);
+				/*
+				text.setAttribute("x", xmid);
+				text.setAttribute("y", ymid);
+				((Text)text.getFirstChild()).setData(dist+"px");
+				*/
+			}
+		});
 	}
 
 	/**
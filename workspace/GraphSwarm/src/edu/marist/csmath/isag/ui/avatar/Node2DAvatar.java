@@ -9,9 +9,10 @@ package edu.marist.csmath.isag.ui.avatar;
 import org.apache.batik.dom.svg.SVGDOMImplementation;
 import org.w3c.dom.Element;
 
+import edu.marist.csmath.isag.swarm.SwarmBest;
 import edu.marist.csmath.isag.swarm.Swarmable;
 import edu.marist.csmath.isag.ui.SwarmAvatar;
-import edu.marist.csmath.isag.ui.SwarmView;
+import edu.marist.csmath.isag.ui.SVGSwarmView;
 
 /**
  * @author M Johnson, S Khanal, S Sampath
@@ -22,7 +23,7 @@ public class Node2DAvatar extends SwarmAvatar
 	 * @param agent
 	 * @param world
 	 */
-	public Node2DAvatar(Swarmable agent, SwarmView world)
+	public Node2DAvatar(Swarmable agent, SVGSwarmView world)
 	{
 		super(agent, world);
 		agent.registerSwarmObserver(this);
@@ -44,23 +45,21 @@ public class Node2DAvatar extends SwarmAvatar
 	}
 
 	/* (non-Javadoc)
-	 * @see edu.marist.csmath.isag.ui.SwarmAvatar#observe(edu.marist.csmath.isag.swarm.Swarmable)
+	 * @see edu.marist.csmath.isag.ui.SwarmAvatar#observe(edu.marist.csmath.isag.swarm.SwarmBest)
 	 */
 	@Override
-	public void observe(Swarmable agent)
+	public void observe(SwarmBest best)
 	{
 		final SwarmAvatar self = this;
 
-		Swarmable leader = agent.getLeader();
-		final String x = Integer.toString((int) leader.getPositionBest(0));
-		final String y = Integer.toString((int) leader.getPositionBest(1));
-		world.getUpdateManager().getUpdateRunnableQueue().invokeLater(
-		    new Runnable() {
-			    public void run()
-			    {
-				    self.setAttribute("transform", "translate(" + x + "," + y + ")");
-			    }
-		    });
+		final String x = Integer.toString((int) best.getPosition(0));
+		final String y = Integer.toString((int) best.getPosition(1));
+		invokeLater(new Runnable() {
+			public void run()
+			{
+				self.setAttribute("transform", "translate(" + x + "," + y + ")");
+			}
+		});
 	}
 
 	/**
@@ -24,9 +24,10 @@ package edu.marist.csmath.isag.ui.avatar;
 import org.apache.batik.dom.svg.SVGDOMImplementation;
 import org.w3c.dom.Element;
 
+import edu.marist.csmath.isag.swarm.ParticleSnapshot;
 import edu.marist.csmath.isag.swarm.Swarmable;
 import edu.marist.csmath.isag.ui.SwarmAvatar;
-import edu.marist.csmath.isag.ui.SwarmView;
+import edu.marist.csmath.isag.ui.SVGSwarmView;
 
 /**
  * @author M Johnson, S Khanal, S Sampath
@@ -36,7 +37,7 @@ public class Particle2DAvatar extends SwarmAvatar
 	/**
 	 * @param agent
 	 */
-	public Particle2DAvatar(Swarmable agent, SwarmView world)
+	public Particle2DAvatar(Swarmable agent, SVGSwarmView world)
 	{
 		super(agent, world);
 		agent.registerObserver(this);
@@ -46,14 +47,14 @@ public class Particle2DAvatar extends SwarmAvatar
 	 * (non-Javadoc)
 	 * @see
 	 * edu.marist.csmath.isag.ui.SwarmAvatar#observe(edu.marist.csmath.isag.swarm
-	 * .Particle)
+	 * .ParticleSnapshot)
 	 */
 	@Override
-	public void observe(Swarmable agent)
+	public void observe(ParticleSnapshot snapshot)
 	{
-		final String x = Integer.toString((int) agent.getPosition(0));
-		final String y = Integer.toString((int) agent.getPosition(1));
-		int zscaled = (int)(255 * 3 * (1.0 - agent.getFitness()));
+		final String x = Integer.toString((int) snapshot.getPosition(0));
+		final String y = Integer.toString((int) snapshot.getPosition(1));
+		int zscaled = (int)(255 * 3 * (1.0 - snapshot.getFitness()));
 		final String z;
 		if (zscaled <= 255)
 			z = "rgb("+zscaled+",0,255)";
@@ -65,14 +66,13 @@ public class Particle2DAvatar extends SwarmAvatar
 		//	z = "rgb(255,"+(1020-zscaled)+",0)";
 
 		final SwarmAvatar self = this;
-		world.getUpdateManager().getUpdateRunnableQueue().invokeLater(
-		    new Runnable() {
-			    public void run()
-			    {
-				    self.setAttribute("transform", "translate(" + x + "," + y + ")");
-				    self.getFirstElementChild().setAttribute("fill", z);
-			    }
-		    });
+		invokeLater(new Runnable() {
+			public void run()
+			{
+				self.setAttribute("transform", "translate(" + x + "," + y + ")");
+				self.getFirstElementChild().setAttribute("fill", z);
+			}
+		});
 	}
 
 	/*